@@ -0,0 +1,95 @@
+package model;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A MoveGenerator that uses the Vector API to process as many longs at once as the widest vector
+ * registers of the machine hold. The words at either end of a bitset that do not fill a whole
+ * vector are processed one at a time.
+ *
+ * <p>The Vector API is an incubator module, so this class lives in its own source root,
+ * src-vector, and is only compiled and loaded when javac and the JVM run with
+ * {@code --add-modules jdk.incubator.vector}. Nothing in src refers to it: {@link BitsetBoard}
+ * loads it by name and falls back to a {@link ScalarMoveGenerator} when it is missing or cannot
+ * load.
+ */
+final class VectorMoveGenerator implements MoveGenerator {
+
+  private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+  @Override
+  public void step(int offset, long[] board, long[] src, long[] dst) {
+    int words = dst.length;
+    int q = Math.abs(offset) >>> 6;
+    int r = Math.abs(offset) & 63;
+    // word w of the result takes the bits of src[w + main], carrying in the bits of src[w + carry]
+    int main = offset > 0 ? -q : q;
+    int carry = r == 0 ? main : offset > 0 ? main - 1 : main + 1;
+    int from = Math.max(0, -Math.min(main, carry));
+    int to = words - Math.max(0, Math.max(main, carry));
+    int w = from;
+    for (; w + SPECIES.length() <= to; w += SPECIES.length()) {
+      LongVector bits = LongVector.fromArray(SPECIES, src, w + main);
+      if (r != 0) {
+        LongVector carried = LongVector.fromArray(SPECIES, src, w + carry);
+        if (offset > 0) {
+          bits = bits.lanewise(VectorOperators.LSHL, r)
+                  .or(carried.lanewise(VectorOperators.LSHR, 64 - r));
+        } else {
+          bits = bits.lanewise(VectorOperators.LSHR, r)
+                  .or(carried.lanewise(VectorOperators.LSHL, 64 - r));
+        }
+      }
+      bits.and(LongVector.fromArray(SPECIES, board, w)).intoArray(dst, w);
+    }
+    for (int k = 0; k < from && k < words; k++) {
+      dst[k] = ScalarMoveGenerator.word(offset, src, k) & board[k];
+    }
+    for (; w < words; w++) {
+      dst[w] = ScalarMoveGenerator.word(offset, src, w) & board[w];
+    }
+  }
+
+  @Override
+  public boolean and(long[] a, long[] b) {
+    int bound = SPECIES.loopBound(a.length);
+    LongVector any = LongVector.zero(SPECIES);
+    int w = 0;
+    for (; w < bound; w += SPECIES.length()) {
+      LongVector v = LongVector.fromArray(SPECIES, a, w).and(LongVector.fromArray(SPECIES, b, w));
+      v.intoArray(a, w);
+      any = any.or(v);
+    }
+    long rest = 0;
+    for (; w < a.length; w++) {
+      a[w] &= b[w];
+      rest |= a[w];
+    }
+    return (any.reduceLanes(VectorOperators.OR) | rest) != 0;
+  }
+
+  @Override
+  public boolean propagate(long[] next, long[] own, long[] opp, long[] moves, long[] frontier) {
+    int bound = SPECIES.loopBound(next.length);
+    LongVector live = LongVector.zero(SPECIES);
+    int w = 0;
+    for (; w < bound; w += SPECIES.length()) {
+      LongVector n = LongVector.fromArray(SPECIES, next, w);
+      LongVector o = LongVector.fromArray(SPECIES, opp, w);
+      LongVector empty = LongVector.fromArray(SPECIES, own, w).or(o).not();
+      LongVector.fromArray(SPECIES, moves, w).or(n.and(empty)).intoArray(moves, w);
+      LongVector f = n.and(o);
+      f.intoArray(frontier, w);
+      live = live.or(f);
+    }
+    long rest = 0;
+    for (; w < next.length; w++) {
+      moves[w] |= next[w] & ~(own[w] | opp[w]);
+      frontier[w] = next[w] & opp[w];
+      rest |= frontier[w];
+    }
+    return (live.reduceLanes(VectorOperators.OR) | rest) != 0;
+  }
+}
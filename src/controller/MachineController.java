@@ -1,6 +1,6 @@
 package controller;
 
-import java.util.List;
+import model.Move;
 import model.Player;
 import model.Reversi;
 import model.ReversiPlayer;
@@ -62,13 +62,23 @@ public class MachineController implements ReversiController, PlayerActions, Mode
    * minimizing the amount of tiles the opponent can capture,
    * and combining all the strategies into one strategy. If the
    * machine player makes an invalid move the players will be
-   * notified via a popup message.
+   * notified via a popup message. A player with no legal moves
+   * passes without asking the strategy.
    */
   @Override
   public void playerMove() {
+    if (model.legalMoves(model.getPlayer()).isEmpty()) {
+      this.playerPass();
+      return;
+    }
     try {
-      List<Integer> toMove = player.play(this.model);
-      model.makeMove(model.getPlayer(), model.getHex(toMove.get(0), toMove.get(1)));
+      int toMove = player.play(this.model);
+      if (Move.isPass(toMove)) {
+        this.playerPass();
+      }
+      else {
+        model.makeMove(model.getPlayer(), toMove);
+      }
     }
     catch (IllegalArgumentException | IllegalStateException e) {
       view.showMessageInvalidMoves("Invalid move");
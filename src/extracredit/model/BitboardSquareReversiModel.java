@@ -0,0 +1,582 @@
+package extracredit.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import controller.ModelStatusObservers;
+import model.AbstractHexagon;
+import model.Disc;
+import model.EmptyHexagon;
+import model.Move;
+import model.MoveResult;
+import model.NoDiscHexagon;
+import model.Player;
+import model.Reversi;
+import model.UndoRecord;
+import model.Zobrist;
+
+/**
+ * A bitboard representation of a SquareReversiModel game on the classic 8x8 board. The same rules
+ * apply as in SquareReversiModel, but the discs of each player are stored in a single long where the
+ * tile with x coordinate i and y coordinate j is bit (j * 8 + i).
+ *
+ * <p>Legal moves are generated for all tiles at once with Kogge-Stone fills: in each of the 8
+ * directions the discs of the player are flooded over the opponent's discs in three doubling
+ * shifts, and the empty tiles just past the flood are the moves. The discs flipped by a move are
+ * found with precomputed ray masks and scores are counted with {@link Long#bitCount(long)}.
+ *
+ * <p>The tile based methods of the Reversi interface are supported by building a linked snapshot
+ * of the board the first time it is requested for a given position.
+ */
+public class BitboardSquareReversiModel implements Reversi {
+
+  // the number of tiles along each side of the board
+  private static final int SIZE = 8;
+
+  // the bits of every tile except those with x coordinate 0 and 7 respectively
+  private static final long NOT_LEFT_EDGE = 0xFEFEFEFEFEFEFEFEL;
+  private static final long NOT_RIGHT_EDGE = 0x7F7F7F7F7F7F7F7FL;
+
+  // the bit offset of the neighbor in each direction, in the order of the neighbors of a
+  // NoDiscSquare
+  private static final int[] SHIFTS = new int[8];
+
+  // for each direction, the tiles a single shift may land on without wrapping around a row
+  private static final long[] MASKS = new long[8];
+
+  // the tiles along the ray from each tile in each direction, indexed by [direction][bit]
+  private static final long[][] RAYS = new long[8][SIZE * SIZE];
+
+  static {
+    for (int d = 0; d < 8; d++) {
+      int di = NoDiscSquare.DIAGONAL_STEP[d];
+      int dj = NoDiscSquare.ROW_STEP[d];
+      SHIFTS[d] = dj * SIZE + di;
+      MASKS[d] = di > 0 ? NOT_LEFT_EDGE : di < 0 ? NOT_RIGHT_EDGE : -1L;
+      for (int bit = 0; bit < SIZE * SIZE; bit++) {
+        long ray = 0;
+        for (int i = bit % SIZE + di, j = bit / SIZE + dj;
+             i >= 0 && j >= 0 && i < SIZE && j < SIZE; i += di, j += dj) {
+          ray |= 1L << (j * SIZE + i);
+        }
+        RAYS[d][bit] = ray;
+      }
+    }
+  }
+
+  // current state of the game
+  private boolean gameStarted;
+
+  // represents the player whose turn it is
+  private Player turn;
+
+  // the tiles with a black disc and a white disc respectively
+  private long black;
+  private long white;
+
+  // the Zobrist keys of a black disc and a white disc in each tile, indexed by bit, using the
+  // position of the tile in the grid so that keys match the keys of a SquareReversiModel
+  private final long[] blackKeys = new long[SIZE * SIZE];
+  private final long[] whiteKeys = new long[SIZE * SIZE];
+
+  // the XOR of the Zobrist keys of every disc on the board. Kept up to date by every move.
+  private long key;
+
+  // the linked tiles of the current position, or null if they have not been built yet
+  private List<NoDiscSquare> snapshot;
+
+  private final List<ModelStatusObservers> controllers = new ArrayList<>();
+
+  /**
+   * Constructs an 8x8 square Reversi game with the 4 starting discs in the center. The first turn
+   * belongs to Player A.
+   */
+  public BitboardSquareReversiModel() {
+    this.gameStarted = false;
+    this.turn = Player.A;
+    int half = SIZE / 2;
+    this.white = bit(half - 1, half) | bit(half, half - 1);
+    this.black = bit(half, half) | bit(half - 1, half - 1);
+    for (int b = 0; b < SIZE * SIZE; b++) {
+      this.blackKeys[b] = Zobrist.key(Player.A, position(b));
+      this.whiteKeys[b] = Zobrist.key(Player.B, position(b));
+    }
+    this.key = this.computeKey();
+  }
+
+  // returns the bit of the tile with the given coordinates
+  private static long bit(int i, int j) {
+    return 1L << (j * SIZE + i);
+  }
+
+  // returns the position in the grid of the tile stored at the given bit index
+  private static int position(int bit) {
+    return bit % SIZE * SIZE + bit / SIZE;
+  }
+
+  // determines whether the given coordinates are a tile of the board
+  private static boolean onBoard(int i, int j) {
+    return i >= 0 && j >= 0 && i < SIZE && j < SIZE;
+  }
+
+  // shifts every bit of the given board by the given offset, up for positive offsets and down for
+  // negative ones
+  private static long shift(long bits, int offset) {
+    return offset > 0 ? bits << offset : bits >>> -offset;
+  }
+
+  /**
+   * Returns the tiles in which a disc of own would sandwich a line of discs of opp.
+   *
+   * @param own the tiles with a disc of the player to move
+   * @param opp the tiles with a disc of the opponent
+   * @return the legal moves of the player to move
+   */
+  static long generateMoves(long own, long opp) {
+    long empty = ~(own | opp);
+    long moves = 0;
+    for (int d = 0; d < 8; d++) {
+      int s = SHIFTS[d];
+      long pro = opp & MASKS[d];
+      long gen = own;
+      gen |= pro & shift(gen, s);
+      pro &= shift(pro, s);
+      gen |= pro & shift(gen, 2 * s);
+      pro &= shift(pro, 2 * s);
+      gen |= pro & shift(gen, 4 * s);
+      moves |= shift(gen & opp, s) & MASKS[d] & empty;
+    }
+    return moves;
+  }
+
+  /**
+   * Returns the discs of opp that a disc of own placed in the tile at the given bit would flip.
+   *
+   * @param bit the bit index of the tile
+   * @param own the tiles with a disc of the player to move
+   * @param opp the tiles with a disc of the opponent
+   * @return the flipped discs
+   */
+  static long generateFlips(int bit, long own, long opp) {
+    long flips = 0;
+    for (int d = 0; d < 8; d++) {
+      long ray = RAYS[d][bit];
+      long blockers = ray & ~opp;
+      if (blockers == 0) {
+        continue;
+      }
+      // the first tile along the ray without a disc of opp closes the line if it holds a disc of own
+      long first = SHIFTS[d] > 0 ? Long.lowestOneBit(blockers) : Long.highestOneBit(blockers);
+      if ((first & own) != 0) {
+        flips |= ray & (SHIFTS[d] > 0 ? first - 1 : -(first << 1));
+      }
+    }
+    return flips;
+  }
+
+  private long discs(Player who) {
+    return who == Player.A ? this.black : this.white;
+  }
+
+  private long opponentDiscs(Player who) {
+    return who == Player.A ? this.white : this.black;
+  }
+
+  // computes the key of the discs on the board from the bits of both colors
+  private long computeKey() {
+    long key = 0;
+    for (long bits = this.black; bits != 0; bits &= bits - 1) {
+      key ^= this.blackKeys[Long.numberOfTrailingZeros(bits)];
+    }
+    for (long bits = this.white; bits != 0; bits &= bits - 1) {
+      key ^= this.whiteKeys[Long.numberOfTrailingZeros(bits)];
+    }
+    return key;
+  }
+
+  // sets the discs of the given player and their opponent, keeping the key up to date with the
+  // tiles that changed
+  private void setDiscs(Player who, long own, long opp) {
+    long black = who == Player.A ? own : opp;
+    long white = who == Player.A ? opp : own;
+    for (long bits = black ^ this.black; bits != 0; bits &= bits - 1) {
+      this.key ^= this.blackKeys[Long.numberOfTrailingZeros(bits)];
+    }
+    for (long bits = white ^ this.white; bits != 0; bits &= bits - 1) {
+      this.key ^= this.whiteKeys[Long.numberOfTrailingZeros(bits)];
+    }
+    this.black = black;
+    this.white = white;
+    this.snapshot = null;
+  }
+
+  // returns the bit indices of the given tiles
+  private static int[] bits(long tiles) {
+    int[] bits = new int[Long.bitCount(tiles)];
+    int k = 0;
+    for (long rest = tiles; rest != 0; rest &= rest - 1) {
+      bits[k++] = Long.numberOfTrailingZeros(rest);
+    }
+    return bits;
+  }
+
+  @Override
+  public boolean gameState() {
+    return this.gameStarted;
+  }
+
+  /**
+   * Starts the game by setting the current state of the game to started and notifying the
+   * observers that it is the first player's turn.
+   */
+  @Override
+  public void startGame() {
+    this.gameStarted = true;
+    for (ModelStatusObservers ms : controllers) {
+      ms.changePlayer();
+    }
+  }
+
+  @Override
+  public void nextPlayer(Player player) {
+    if (player.equals(Player.A)) {
+      this.turn = Player.B;
+    } else {
+      this.turn = Player.A;
+    }
+    for (ModelStatusObservers ms : controllers) {
+      ms.changePlayer();
+    }
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
+    long flips = this.place(who, where);
+    return this.moved(who, where.getDiagonal(), where.getRow(), flips);
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      throw new IllegalArgumentException("Cannot place a disc with a pass");
+    } else if (move < 0 || move >= SIZE * SIZE) {
+      throw new IllegalStateException();
+    }
+    return this.moved(who, move / SIZE, move % SIZE, this.place(who, move / SIZE, move % SIZE));
+  }
+
+  // describes the move the given player just made in the tile with the given coordinates, which
+  // flipped the given discs, notifies the observers and passes the turn on to the next player
+  private MoveResult moved(Player who, int diagonal, int row, long flips) {
+    int cell = position(row * SIZE + diagonal);
+    int[] flipped = bits(flips);
+    for (int k = 0; k < flipped.length; k++) {
+      flipped[k] = position(flipped[k]);
+    }
+    MoveResult result = new MoveResult(cell, flipped, Long.bitCount(this.black),
+            Long.bitCount(this.white), !this.hasLegalMove(who == Player.A ? Player.B : Player.A));
+    for (ModelStatusObservers ms : controllers) {
+      ms.refreshView();
+    }
+    this.nextPlayer(who);
+    return result;
+  }
+
+  // checks that the given player can move in the given tile and places their disc there, flipping
+  // the discs it sandwiches. Returns the flipped discs.
+  private long place(Player who, AbstractHexagon where) {
+    if (!gameStarted) {
+      throw new IllegalArgumentException("Game has not been started");
+    }
+    if (who == null || where == null) {
+      throw new IllegalArgumentException();
+    }
+    // cannot put a disc in a tile that is empty or already has a disc in it
+    else if (where instanceof EmptyHexagon || where instanceof FilledSquare
+            || !onBoard(where.getDiagonal(), where.getRow())) {
+      throw new IllegalStateException();
+    }
+    return this.place(who, where.getDiagonal(), where.getRow());
+  }
+
+  // checks that the given player can move in the tile with the given coordinates and places their
+  // disc there, in the same way as placing it in a tile
+  private long place(Player who, int diagonal, int row) {
+    if (!gameStarted) {
+      throw new IllegalArgumentException("Game has not been started");
+    }
+    if (who == null) {
+      throw new IllegalArgumentException();
+    }
+    long tile = bit(diagonal, row);
+    if (((this.black | this.white) & tile) != 0) {
+      throw new IllegalStateException();
+    }
+    // throw an illegal argument when the player is incorrect
+    else if (who != this.turn) {
+      throw new IllegalArgumentException();
+    }
+    long own = this.discs(who);
+    long opp = this.opponentDiscs(who);
+    long flips = generateFlips(Long.numberOfTrailingZeros(tile), own, opp);
+    if (flips == 0) {
+      throw new IllegalArgumentException();
+    }
+    this.setDiscs(who, own | flips | tile, opp & ~flips);
+    return flips;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    UndoRecord record;
+    if (where == null) {
+      if (!gameStarted) {
+        throw new IllegalArgumentException("Game has not been started");
+      } else if (who == null || who != this.turn) {
+        throw new IllegalArgumentException();
+      }
+      record = new UndoRecord(who, -1, new int[0]);
+    } else {
+      long flips = this.place(who, where);
+      record = new UndoRecord(who, where.getRow() * SIZE + where.getDiagonal(), bits(flips));
+    }
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      return this.doMove(who, (AbstractHexagon) null);
+    } else if (move < 0 || move >= SIZE * SIZE) {
+      throw new IllegalStateException();
+    }
+    long flips = this.place(who, move / SIZE, move % SIZE);
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return new UndoRecord(who, move % SIZE * SIZE + move / SIZE, bits(flips));
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException();
+    }
+    Player who = record.getPlayer();
+    if (this.turn == who) {
+      throw new IllegalStateException("Move is not the last move made");
+    }
+    if (!record.isPass()) {
+      long own = this.discs(who);
+      int cell = record.getCell();
+      if (cell >= SIZE * SIZE || (own & (1L << cell)) == 0) {
+        throw new IllegalStateException("Move is not the last move made");
+      }
+      long flips = 0;
+      for (int k = 0; k < record.getFlipCount(); k++) {
+        flips |= 1L << record.getFlipped(k);
+      }
+      this.setDiscs(who, own & ~flips & ~(1L << cell), this.opponentDiscs(who) | flips);
+    }
+    this.turn = who;
+  }
+
+  @Override
+  public Reversi copy() {
+    BitboardSquareReversiModel copy = new BitboardSquareReversiModel();
+    copy.gameStarted = this.gameStarted;
+    copy.turn = this.turn;
+    copy.black = this.black;
+    copy.white = this.white;
+    copy.key = this.key;
+    return copy;
+  }
+
+  @Override
+  public boolean gameOver() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return generateMoves(this.black, this.white) == 0
+            && generateMoves(this.white, this.black) == 0;
+  }
+
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return generateMoves(this.discs(who), this.opponentDiscs(who)) != 0;
+  }
+
+  @Override
+  public int[] getFlipCounts(Player who) {
+    int[] counts = new int[SIZE * SIZE];
+    long own = this.discs(who);
+    long opp = this.opponentDiscs(who);
+    for (long moves = generateMoves(own, opp); moves != 0; moves &= moves - 1) {
+      int bit = Long.numberOfTrailingZeros(moves);
+      counts[position(bit)] = Long.bitCount(generateFlips(bit, own, opp));
+    }
+    return counts;
+  }
+
+  @Override
+  public BitSet legalMoves(Player who) {
+    BitSet moves = new BitSet(SIZE * SIZE);
+    for (long bits = generateMoves(this.discs(who), this.opponentDiscs(who)); bits != 0;
+         bits &= bits - 1) {
+      moves.set(position(Long.numberOfTrailingZeros(bits)));
+    }
+    return moves;
+  }
+
+  @Override
+  public int legalMoveCount(Player who) {
+    return Long.bitCount(generateMoves(this.discs(who), this.opponentDiscs(who)));
+  }
+
+  @Override
+  public int getScore(Player who) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return Long.bitCount(this.discs(who));
+  }
+
+  @Override
+  public long getZobristKey() {
+    assert this.key == this.computeKey() : "key does not match the board";
+    return this.turn == Player.B ? this.key ^ Zobrist.SIDE : this.key;
+  }
+
+  /**
+   * Returns the number of discs the current player would flip by moving in the tile with the given
+   * coordinates, or 0 if that tile is not an empty tile of the board.
+   */
+  @Override
+  public int getPotentialTiles(int x, int y) {
+    if (!onBoard(x, y) || ((this.black | this.white) & bit(x, y)) != 0) {
+      return 0;
+    }
+    return Long.bitCount(generateFlips(y * SIZE + x, this.discs(this.turn),
+            this.opponentDiscs(this.turn)));
+  }
+
+  @Override
+  public AbstractHexagon getHex(int i, int j) {
+    if (!onBoard(i, j)) {
+      return EmptyHexagon.OFF_BOARD;
+    }
+    return this.getBoard().get(i * SIZE + j);
+  }
+
+  @Override
+  public int getBoardSize() {
+    return SIZE;
+  }
+
+  @Override
+  public int getCellCount() {
+    return SIZE * SIZE;
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return onBoard(i, j) ? i * SIZE + j : -1;
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return checkPosition(position) / SIZE;
+  }
+
+  @Override
+  public int getRow(int position) {
+    return checkPosition(position) % SIZE;
+  }
+
+  // returns the given position if it is a tile of the board
+  private static int checkPosition(int position) {
+    if (position < 0 || position >= SIZE * SIZE) {
+      throw new IllegalArgumentException("No tile at position " + position);
+    }
+    return position;
+  }
+
+  /**
+   * Returns an empty list, since a square board has no hexagonal tiles. Its tiles are the tiles of
+   * getBoard.
+   *
+   * @return an empty, unmodifiable list
+   */
+  @Override
+  public List<NoDiscHexagon> getGrid() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Returns the linked tiles of the current position, in the same order as the grid of a
+   * SquareReversiModel. The tiles are a snapshot: moves made afterwards are not reflected in them.
+   *
+   * @return the square grid that the game is being played on.
+   */
+  @Override
+  public List<NoDiscSquare> getBoard() {
+    if (this.snapshot == null) {
+      List<NoDiscSquare> grid = new ArrayList<>();
+      for (int i = 0; i < SIZE; i++) {
+        for (int j = 0; j < SIZE; j++) {
+          if ((this.black & bit(i, j)) != 0) {
+            grid.add(new FilledSquare(i, j, Disc.BLACK));
+          } else if ((this.white & bit(i, j)) != 0) {
+            grid.add(new FilledSquare(i, j, Disc.WHITE));
+          } else {
+            grid.add(new NoDiscSquare(i, j));
+          }
+        }
+      }
+      for (NoDiscSquare hex : grid) {
+        int i = hex.getDiagonal();
+        int j = hex.getRow();
+        hex.setLeft(tile(grid, i - 1, j));
+        hex.setRight(tile(grid, i + 1, j));
+        hex.setTopRight(tile(grid, i + 1, j - 1));
+        hex.setTopLeft(tile(grid, i - 1, j - 1));
+        hex.setTop(tile(grid, i, j - 1));
+        hex.setBottom(tile(grid, i, j + 1));
+        hex.setBottomRight(tile(grid, i + 1, j + 1));
+        hex.setBottomLeft(tile(grid, i - 1, j + 1));
+      }
+      this.snapshot = grid;
+    }
+    return this.snapshot;
+  }
+
+  // returns the tile of the given snapshot with the given coordinates, or the off-board tile if
+  // they are off the board
+  private static AbstractHexagon tile(List<NoDiscSquare> grid, int i, int j) {
+    if (!onBoard(i, j)) {
+      return EmptyHexagon.OFF_BOARD;
+    }
+    return grid.get(i * SIZE + j);
+  }
+
+  @Override
+  public AbstractHexagon getHexagon2(int i, int i1, List<NoDiscSquare> board) {
+    return this.getHex(i, i1);
+  }
+
+  @Override
+  public Player getPlayer() {
+    return this.turn;
+  }
+
+  @Override
+  public List<AbstractHexagon> getBoardGame() {
+    return new ArrayList<>(this.getBoard());
+  }
+
+  @Override
+  public void addObservers(ModelStatusObservers rc) {
+    controllers.add(rc);
+  }
+}
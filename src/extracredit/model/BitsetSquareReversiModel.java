@@ -0,0 +1,533 @@
+package extracredit.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import controller.ModelStatusObservers;
+import model.AbstractHexagon;
+import model.BitsetBoard;
+import model.Disc;
+import model.EmptyHexagon;
+import model.Move;
+import model.MoveResult;
+import model.NoDiscHexagon;
+import model.Player;
+import model.Reversi;
+import model.UndoRecord;
+import model.Zobrist;
+
+/**
+ * A bitset representation of a SquareReversiModel game on a board of any even size. The same rules
+ * apply as in SquareReversiModel, but the discs of each player are stored as multi-word bitsets
+ * laid out by a {@link BitsetBoard}, with padding at the end of every row. Legal moves are generated
+ * for all tiles at once by shifting whole bitsets in each of the 8 directions, so boards with
+ * hundreds of tiles along each side are played without a graph of linked tiles.
+ *
+ * <p>For the classic 8x8 board, {@link BitboardSquareReversiModel} keeps each color in a single
+ * long and is faster.
+ *
+ * <p>The tile based methods of the Reversi interface are supported by building a linked snapshot
+ * of the board the first time it is requested for a given position.
+ */
+public class BitsetSquareReversiModel implements Reversi {
+
+  // current state of the game
+  private boolean gameStarted;
+
+  // represents the player whose turn it is
+  private Player turn;
+
+  // the number of tiles along each side of the board
+  // INVARIANT: the size is even and at least 4
+  private final int size;
+
+  // the layout of the tiles of the board in the bitsets
+  private final BitsetBoard layout;
+
+  // the tiles with a black disc and a white disc respectively
+  private final long[] black;
+  private final long[] white;
+
+  // scratch bitsets holding the legal moves and the discs flipped by the move being made
+  private final long[] moves;
+  private final long[] flips;
+
+  // the Zobrist keys of a black disc and a white disc in each tile, indexed by bit, using the
+  // position of the tile in the grid so that keys match the keys of a SquareReversiModel
+  private final long[] blackKeys;
+  private final long[] whiteKeys;
+
+  // the XOR of the Zobrist keys of every disc on the board. Kept up to date by every move.
+  private long key;
+
+  // the linked tiles of the current position, or null if they have not been built yet
+  private List<NoDiscSquare> snapshot;
+
+  private final List<ModelStatusObservers> controllers = new ArrayList<>();
+
+  /**
+   * Constructs a square Reversi game with the given number of tiles along each side and the 4
+   * starting discs in the center. The first turn belongs to Player A.
+   *
+   * @param size the number of tiles along each side of the board
+   * @throws IllegalArgumentException if the size is not an even number greater than 2
+   */
+  public BitsetSquareReversiModel(int size) {
+    if (size % 2 != 0 || size < 4) {
+      throw new IllegalArgumentException("Board size must be an even number greater than 2");
+    }
+    this.gameStarted = false;
+    this.turn = Player.A;
+    this.size = size;
+    this.layout = new BitsetBoard(size, size, NoDiscSquare.DIAGONAL_STEP, NoDiscSquare.ROW_STEP,
+            (i, j) -> true);
+    this.black = this.layout.bitset();
+    this.white = this.layout.bitset();
+    this.moves = this.layout.bitset();
+    this.flips = this.layout.bitset();
+    this.blackKeys = new long[this.layout.capacity()];
+    this.whiteKeys = new long[this.layout.capacity()];
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        this.blackKeys[this.layout.bit(i, j)] = Zobrist.key(Player.A, i * size + j);
+        this.whiteKeys[this.layout.bit(i, j)] = Zobrist.key(Player.B, i * size + j);
+      }
+    }
+    int half = size / 2;
+    this.fill(Player.B, this.layout.bit(half - 1, half));
+    this.fill(Player.B, this.layout.bit(half, half - 1));
+    this.fill(Player.A, this.layout.bit(half, half));
+    this.fill(Player.A, this.layout.bit(half - 1, half - 1));
+  }
+
+  /**
+   * Chooses whether this model generates legal moves with the Vector API or with scalar loops over
+   * one long at a time. The Vector API pays off on large boards and is only used if the JVM was
+   * started with {@code --add-modules jdk.incubator.vector}.
+   *
+   * @param vectorized true to use the Vector API when it is available, false to use scalar loops
+   * @return true if this model now uses the Vector API
+   */
+  public boolean setVectorized(boolean vectorized) {
+    return this.layout.setVectorized(vectorized);
+  }
+
+  // returns the position in the grid of the tile stored at the given bit index
+  private int position(int bit) {
+    return this.layout.diagonal(bit) * this.size + this.layout.row(bit);
+  }
+
+  // determines whether the given coordinates are a tile of the board
+  private boolean onBoard(int i, int j) {
+    return i >= 0 && j >= 0 && i < this.size && j < this.size;
+  }
+
+  private long[] discs(Player who) {
+    return who == Player.A ? this.black : this.white;
+  }
+
+  private long[] opponentDiscs(Player who) {
+    return who == Player.A ? this.white : this.black;
+  }
+
+  // places a disc of the given player in the empty tile at the given bit
+  private void fill(Player who, int bit) {
+    BitsetBoard.set(this.discs(who), bit);
+    this.key ^= who == Player.A ? this.blackKeys[bit] : this.whiteKeys[bit];
+  }
+
+  // removes the disc of the given player from the tile at the given bit
+  private void clear(Player who, int bit) {
+    BitsetBoard.clear(this.discs(who), bit);
+    this.key ^= who == Player.A ? this.blackKeys[bit] : this.whiteKeys[bit];
+  }
+
+  // turns the disc at the given bit over, to the color of the given player
+  private void flip(Player who, int bit) {
+    BitsetBoard.set(this.discs(who), bit);
+    BitsetBoard.clear(this.opponentDiscs(who), bit);
+    this.key ^= this.blackKeys[bit] ^ this.whiteKeys[bit];
+  }
+
+  // computes the key of the discs on the board from the bits of both colors
+  private long computeKey() {
+    long key = 0;
+    for (int bit : BitsetBoard.toArray(this.black)) {
+      key ^= this.blackKeys[bit];
+    }
+    for (int bit : BitsetBoard.toArray(this.white)) {
+      key ^= this.whiteKeys[bit];
+    }
+    return key;
+  }
+
+  @Override
+  public boolean gameState() {
+    return this.gameStarted;
+  }
+
+  /**
+   * Starts the game by setting the current state of the game to started and notifying the
+   * observers that it is the first player's turn.
+   */
+  @Override
+  public void startGame() {
+    this.gameStarted = true;
+    for (ModelStatusObservers ms : controllers) {
+      ms.changePlayer();
+    }
+  }
+
+  @Override
+  public void nextPlayer(Player player) {
+    if (player.equals(Player.A)) {
+      this.turn = Player.B;
+    } else {
+      this.turn = Player.A;
+    }
+    for (ModelStatusObservers ms : controllers) {
+      ms.changePlayer();
+    }
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
+    return this.moved(who, this.place(who, where));
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      throw new IllegalArgumentException("Cannot place a disc with a pass");
+    } else if (move < 0 || move >= this.size * this.size) {
+      throw new IllegalStateException();
+    }
+    return this.moved(who, this.place(who, move / this.size, move % this.size));
+  }
+
+  // describes the move the given player just made in the given cell, leaving the flipped discs in
+  // the flips scratch bitset, notifies the observers and passes the turn on to the next player
+  private MoveResult moved(Player who, int cell) {
+    int[] flipped = BitsetBoard.toArray(this.flips);
+    for (int k = 0; k < flipped.length; k++) {
+      flipped[k] = this.position(flipped[k]);
+    }
+    MoveResult result = new MoveResult(this.position(cell), flipped,
+            BitsetBoard.count(this.black), BitsetBoard.count(this.white),
+            !this.hasLegalMove(who == Player.A ? Player.B : Player.A));
+    for (ModelStatusObservers ms : controllers) {
+      ms.refreshView();
+    }
+    this.nextPlayer(who);
+    return result;
+  }
+
+  // checks that the given player can move in the given tile and places their disc there, flipping
+  // the discs it sandwiches and leaving them in the flips scratch bitset. Returns the bit of the
+  // tile.
+  private int place(Player who, AbstractHexagon where) {
+    if (!gameStarted) {
+      throw new IllegalArgumentException("Game has not been started");
+    }
+    if (who == null || where == null) {
+      throw new IllegalArgumentException();
+    }
+    // cannot put a disc in a tile that is empty or already has a disc in it
+    else if (where instanceof EmptyHexagon || where instanceof FilledSquare
+            || !this.onBoard(where.getDiagonal(), where.getRow())) {
+      throw new IllegalStateException();
+    }
+    return this.place(who, where.getDiagonal(), where.getRow());
+  }
+
+  // checks that the given player can move in the tile with the given coordinates and places their
+  // disc there, in the same way as placing it in a tile
+  private int place(Player who, int diagonal, int row) {
+    if (!gameStarted) {
+      throw new IllegalArgumentException("Game has not been started");
+    }
+    if (who == null) {
+      throw new IllegalArgumentException();
+    }
+    int cell = this.layout.bit(diagonal, row);
+    if (BitsetBoard.isSet(this.black, cell) || BitsetBoard.isSet(this.white, cell)) {
+      throw new IllegalStateException();
+    }
+    // throw an illegal argument when the player is incorrect
+    else if (who != this.turn) {
+      throw new IllegalArgumentException();
+    }
+    if (this.layout.generateFlips(cell, this.discs(who), this.opponentDiscs(who),
+            this.flips) == 0) {
+      throw new IllegalArgumentException();
+    }
+    for (int bit : BitsetBoard.toArray(this.flips)) {
+      this.flip(who, bit);
+    }
+    this.fill(who, cell);
+    this.snapshot = null;
+    return cell;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    UndoRecord record;
+    if (where == null) {
+      if (!gameStarted) {
+        throw new IllegalArgumentException("Game has not been started");
+      } else if (who == null || who != this.turn) {
+        throw new IllegalArgumentException();
+      }
+      record = new UndoRecord(who, -1, new int[0]);
+    } else {
+      int cell = this.place(who, where);
+      record = new UndoRecord(who, cell, BitsetBoard.toArray(this.flips));
+    }
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      return this.doMove(who, (AbstractHexagon) null);
+    } else if (move < 0 || move >= this.size * this.size) {
+      throw new IllegalStateException();
+    }
+    int cell = this.place(who, move / this.size, move % this.size);
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return new UndoRecord(who, cell, BitsetBoard.toArray(this.flips));
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException();
+    }
+    Player who = record.getPlayer();
+    if (this.turn == who) {
+      throw new IllegalStateException("Move is not the last move made");
+    }
+    if (!record.isPass()) {
+      int cell = record.getCell();
+      if (cell < 0 || cell >= this.layout.capacity()
+              || !BitsetBoard.isSet(this.discs(who), cell)) {
+        throw new IllegalStateException("Move is not the last move made");
+      }
+      this.clear(who, cell);
+      Player opponent = who == Player.A ? Player.B : Player.A;
+      for (int k = 0; k < record.getFlipCount(); k++) {
+        this.flip(opponent, record.getFlipped(k));
+      }
+      this.snapshot = null;
+    }
+    this.turn = who;
+  }
+
+  @Override
+  public Reversi copy() {
+    BitsetSquareReversiModel copy = new BitsetSquareReversiModel(this.size);
+    copy.gameStarted = this.gameStarted;
+    copy.turn = this.turn;
+    System.arraycopy(this.black, 0, copy.black, 0, this.black.length);
+    System.arraycopy(this.white, 0, copy.white, 0, this.white.length);
+    copy.key = this.key;
+    copy.setVectorized(this.layout.isVectorized());
+    return copy;
+  }
+
+  @Override
+  public boolean gameOver() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return !this.layout.generateMoves(this.black, this.white, this.moves)
+            && !this.layout.generateMoves(this.white, this.black, this.moves);
+  }
+
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return this.layout.generateMoves(this.discs(who), this.opponentDiscs(who), this.moves);
+  }
+
+  @Override
+  public int[] getFlipCounts(Player who) {
+    int[] counts = new int[this.size * this.size];
+    long[] own = this.discs(who);
+    long[] opp = this.opponentDiscs(who);
+    this.layout.generateMoves(own, opp, this.moves);
+    for (int cell : BitsetBoard.toArray(this.moves)) {
+      counts[this.position(cell)] = this.layout.generateFlips(cell, own, opp, this.flips);
+    }
+    return counts;
+  }
+
+  @Override
+  public BitSet legalMoves(Player who) {
+    BitSet moves = new BitSet(this.size * this.size);
+    this.layout.generateMoves(this.discs(who), this.opponentDiscs(who), this.moves);
+    for (int cell : BitsetBoard.toArray(this.moves)) {
+      moves.set(this.position(cell));
+    }
+    return moves;
+  }
+
+  @Override
+  public int legalMoveCount(Player who) {
+    this.layout.generateMoves(this.discs(who), this.opponentDiscs(who), this.moves);
+    return BitsetBoard.count(this.moves);
+  }
+
+  @Override
+  public int getScore(Player who) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return BitsetBoard.count(this.discs(who));
+  }
+
+  @Override
+  public long getZobristKey() {
+    assert this.key == this.computeKey() : "key does not match the board";
+    return this.turn == Player.B ? this.key ^ Zobrist.SIDE : this.key;
+  }
+
+  /**
+   * Returns the number of discs the current player would flip by moving in the tile with the given
+   * coordinates, or 0 if that tile is not an empty tile of the board.
+   */
+  @Override
+  public int getPotentialTiles(int x, int y) {
+    if (!this.onBoard(x, y)) {
+      return 0;
+    }
+    int cell = this.layout.bit(x, y);
+    if (BitsetBoard.isSet(this.black, cell) || BitsetBoard.isSet(this.white, cell)) {
+      return 0;
+    }
+    return this.layout.generateFlips(cell, this.discs(this.turn), this.opponentDiscs(this.turn),
+            this.flips);
+  }
+
+  @Override
+  public AbstractHexagon getHex(int i, int j) {
+    if (!this.onBoard(i, j)) {
+      return EmptyHexagon.OFF_BOARD;
+    }
+    return this.getBoard().get(i * this.size + j);
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.size;
+  }
+
+  @Override
+  public int getCellCount() {
+    return this.size * this.size;
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return this.onBoard(i, j) ? i * this.size + j : -1;
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return this.checkPosition(position) / this.size;
+  }
+
+  @Override
+  public int getRow(int position) {
+    return this.checkPosition(position) % this.size;
+  }
+
+  // returns the given position if it is a tile of this board
+  private int checkPosition(int position) {
+    if (position < 0 || position >= this.size * this.size) {
+      throw new IllegalArgumentException("No tile at position " + position);
+    }
+    return position;
+  }
+
+  /**
+   * Returns an empty list, since a square board has no hexagonal tiles. Its tiles are the tiles of
+   * getBoard.
+   *
+   * @return an empty, unmodifiable list
+   */
+  @Override
+  public List<NoDiscHexagon> getGrid() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Returns the linked tiles of the current position, in the same order as the grid of a
+   * SquareReversiModel. The tiles are a snapshot: moves made afterwards are not reflected in them.
+   *
+   * @return the square grid that the game is being played on.
+   */
+  @Override
+  public List<NoDiscSquare> getBoard() {
+    if (this.snapshot == null) {
+      List<NoDiscSquare> grid = new ArrayList<>();
+      for (int i = 0; i < this.size; i++) {
+        for (int j = 0; j < this.size; j++) {
+          int cell = this.layout.bit(i, j);
+          if (BitsetBoard.isSet(this.black, cell)) {
+            grid.add(new FilledSquare(i, j, Disc.BLACK));
+          } else if (BitsetBoard.isSet(this.white, cell)) {
+            grid.add(new FilledSquare(i, j, Disc.WHITE));
+          } else {
+            grid.add(new NoDiscSquare(i, j));
+          }
+        }
+      }
+      for (NoDiscSquare hex : grid) {
+        int i = hex.getDiagonal();
+        int j = hex.getRow();
+        hex.setLeft(this.tile(grid, i - 1, j));
+        hex.setRight(this.tile(grid, i + 1, j));
+        hex.setTopRight(this.tile(grid, i + 1, j - 1));
+        hex.setTopLeft(this.tile(grid, i - 1, j - 1));
+        hex.setTop(this.tile(grid, i, j - 1));
+        hex.setBottom(this.tile(grid, i, j + 1));
+        hex.setBottomRight(this.tile(grid, i + 1, j + 1));
+        hex.setBottomLeft(this.tile(grid, i - 1, j + 1));
+      }
+      this.snapshot = grid;
+    }
+    return this.snapshot;
+  }
+
+  // returns the tile of the given snapshot with the given coordinates, or the off-board tile if
+  // they are off the board
+  private AbstractHexagon tile(List<NoDiscSquare> grid, int i, int j) {
+    if (!this.onBoard(i, j)) {
+      return EmptyHexagon.OFF_BOARD;
+    }
+    return grid.get(i * this.size + j);
+  }
+
+  @Override
+  public AbstractHexagon getHexagon2(int i, int i1, List<NoDiscSquare> board) {
+    return this.getHex(i, i1);
+  }
+
+  @Override
+  public Player getPlayer() {
+    return this.turn;
+  }
+
+  @Override
+  public List<AbstractHexagon> getBoardGame() {
+    return new ArrayList<>(this.getBoard());
+  }
+
+  @Override
+  public void addObservers(ModelStatusObservers rc) {
+    controllers.add(rc);
+  }
+}
@@ -1,8 +1,7 @@
 package extracredit.model;
 
-import java.awt.Color;
-
 import model.AbstractHexagon;
+import model.Disc;
 
 /**
  * A class to represent a tile that has a disc placed in it
@@ -10,17 +9,17 @@ import model.AbstractHexagon;
  */
 public class FilledSquare extends NoDiscSquare {
 
-  private final Color col;
+  private final Disc disc;
 
   /**
    * Constructs a FilledSquare.
    * @param diagonal The x coordinate of the square grid.
    * @param row The y coordinate of the square grid.
-   * @param col The color of the disc placed inside the tile.
+   * @param disc The disc placed inside the tile.
    */
-  public FilledSquare(int diagonal, int row, Color col) {
+  public FilledSquare(int diagonal, int row, Disc disc) {
     super(diagonal, row);
-    this.col = col;
+    this.disc = checkDisc(disc);
   }
 
   /**
@@ -34,24 +33,31 @@ public class FilledSquare extends NoDiscSquare {
    * @param topLeft     the tile's top left neighbor.
    * @param bottomRight the tile's bottom right neighbor
    * @param bottomLeft  the tile's bottom left neighbor
-   * @param col         the color of the tile (black or white)
+   * @param disc        the disc in the tile (black or white)
    */
   public FilledSquare(int diagonal, int row, AbstractHexagon right, AbstractHexagon left,
                        AbstractHexagon topRight, AbstractHexagon topLeft,
                        AbstractHexagon bottomRight, AbstractHexagon bottomLeft, AbstractHexagon top,
-                      AbstractHexagon bottom, Color col) {
+                      AbstractHexagon bottom, Disc disc) {
     super(diagonal, row, right, left, topRight, topLeft, bottomRight, bottomLeft, top,
             bottom);
-    this.col = col;
+    this.disc = checkDisc(disc);
+  }
 
+  // returns the given disc if it is black or white, since a filled tile cannot be empty
+  private static Disc checkDisc(Disc disc) {
+    if (disc == null || disc == Disc.EMPTY) {
+      throw new IllegalArgumentException("A filled tile holds a black or white disc");
+    }
+    return disc;
   }
 
   /**
-   * Access the color of the tile.
+   * Access the disc in the tile.
    *
-   * @return the color of the given tile.
+   * @return the disc in the given tile.
    */
-  public Color getColor() {
-    return this.col;
+  public Disc getDisc() {
+    return this.disc;
   }
 }
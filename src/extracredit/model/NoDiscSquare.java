@@ -1,11 +1,11 @@
 package extracredit.model;
 
 import model.AbstractHexagon;
+import model.Disc;
 import model.EmptyHexagon;
 import model.Player;
 
 import java.util.List;
-import java.awt.Color;
 import java.util.ArrayList;
 
 /**
@@ -15,6 +15,24 @@ import java.util.ArrayList;
  */
 public class NoDiscSquare extends AbstractHexagon {
 
+  // the directions of the 8 neighbors of a tile
+  static final int RIGHT = 0;
+  static final int LEFT = 1;
+  static final int TOP_RIGHT = 2;
+  static final int TOP_LEFT = 3;
+  static final int BOTTOM_RIGHT = 4;
+  static final int BOTTOM_LEFT = 5;
+  static final int TOP = 6;
+  static final int BOTTOM = 7;
+
+  // the change in the x and y coordinates when moving to the neighbor in each direction
+  static final int[] DIAGONAL_STEP = {1, -1, 1, -1, 1, -1, 0, 0};
+  static final int[] ROW_STEP = {0, 0, -1, -1, 1, 1, -1, 1};
+
+  // the directions in the order getFilledHexagons lists the neighbors in
+  private static final int[] LISTED = {TOP_LEFT, TOP_RIGHT, RIGHT, LEFT, BOTTOM_LEFT, BOTTOM_RIGHT,
+      TOP, BOTTOM};
+
   //the 0-based index (from the left) diagonal coordinate of this tile
   //x coordinate
   private final int diagonal;
@@ -47,6 +65,13 @@ public class NoDiscSquare extends AbstractHexagon {
   //top neighbor tile of this tile
   private AbstractHexagon bottom;
 
+  // the board this tile belongs to, or null if the neighbors of this tile are the linked tiles
+  // above
+  private SquareReversiModel board;
+
+  // the position of this tile in the grid of the board it belongs to
+  private int position;
+
   /**
    * Constructs a NoDiscSquare.
    * @param diagonal The x coordinate of the square grid.
@@ -59,14 +84,14 @@ public class NoDiscSquare extends AbstractHexagon {
     }
     this.diagonal = diagonal;
     this.row = row;
-    this.left = new EmptyHexagon(-1, -1);
-    this.topLeft = new EmptyHexagon(-1, -1);
-    this.right = new EmptyHexagon(-1, -1);
-    this.topRight = new EmptyHexagon(-1, -1);
-    this.bottomLeft = new EmptyHexagon(-1, -1);
-    this.bottomRight = new EmptyHexagon(-1, -1);
-    this.top = new EmptyHexagon(-1, -1);
-    this.bottom = new EmptyHexagon(-1, -1);
+    this.left = EmptyHexagon.OFF_BOARD;
+    this.topLeft = EmptyHexagon.OFF_BOARD;
+    this.right = EmptyHexagon.OFF_BOARD;
+    this.topRight = EmptyHexagon.OFF_BOARD;
+    this.bottomLeft = EmptyHexagon.OFF_BOARD;
+    this.bottomRight = EmptyHexagon.OFF_BOARD;
+    this.top = EmptyHexagon.OFF_BOARD;
+    this.bottom = EmptyHexagon.OFF_BOARD;
   }
 
   /**
@@ -101,6 +126,29 @@ public class NoDiscSquare extends AbstractHexagon {
     this.bottom = bottom;
   }
 
+  /**
+   * Makes this tile one of the tiles of the given board. From then on the neighbors of this tile
+   * are the tiles that currently surround its position on that board, and the discs it would flip
+   * are found through the rays of that board.
+   *
+   * @param board    the board this tile belongs to
+   * @param position the position of this tile in the grid of the board
+   */
+  void attach(SquareReversiModel board, int position) {
+    this.board = board;
+    this.position = position;
+  }
+
+  // returns the current neighbor in the given direction on the board this tile belongs to, or the
+  // given linked neighbor if this tile does not belong to a board or the neighbor is off the board
+  private AbstractHexagon neighbor(int direction, AbstractHexagon linked) {
+    if (this.board == null) {
+      return linked;
+    }
+    AbstractHexagon hex = this.board.neighbor(this.position, direction);
+    return hex == null ? linked : hex;
+  }
+
   /**
    * Gets the 0-based index (from the left) diagonal (x) coordinate of this tile.
    * @return the diagonal coordinate of this tile.
@@ -183,71 +231,60 @@ public class NoDiscSquare extends AbstractHexagon {
    *         EmptyHexagon,false if even one of the neighbor tiles have a disc inside it
    */
   protected boolean allNeighborsEmpty() {
-    return (!(this.topLeft instanceof FilledSquare)
-            && !(this.left instanceof FilledSquare)
-            && !(this.bottomLeft instanceof FilledSquare)
-            && !(this.topRight instanceof FilledSquare)
-            && !(this.right instanceof FilledSquare)
-            && !(this.bottomRight instanceof FilledSquare));
+    return this.getDiscNeighbors() == 0;
   }
 
-
   /**
-   * Finds and returns a list of tiles that directly neighbor this tile and contain a disc of the
-   * opposite player.
-   * @param col the given color to of the player who is currently playing.
-   * @return a list of filled hexagons of neighboring tiles of the opposite player's color.
+   * Finds the directions in which this tile has a neighbor with a disc, without allocating. Bit
+   * (1 << d) of the mask is set when the neighbor in direction d has a disc, with the directions
+   * numbered right, left, top right, top left, bottom right, bottom left, top and bottom from 0.
+   * @return the 8-bit mask of directions whose neighbor has a disc.
    */
-  public List<FilledSquare> getFilledHexagons(Color col) {
-    List<FilledSquare> filledHexagons = new ArrayList<>();
-
-    if (this.topLeft instanceof FilledSquare) {
-      FilledSquare topLeft = (FilledSquare) this.topLeft;
-      if (topLeft.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.topLeft);
-      }
-    }
-    if (this.topRight instanceof FilledSquare) {
-      FilledSquare topRight = (FilledSquare) this.topRight;
-      if (topRight.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.topRight);
-
-      }
-    }
-    if (right instanceof FilledSquare) {
-      FilledSquare right = (FilledSquare) this.right;
-      if (right.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.right);
-      }
-    }
-    if (this.left instanceof FilledSquare) {
-      FilledSquare left = (FilledSquare) this.left;
-      if (left.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.left);
-      }
+  public int getDiscNeighbors() {
+    if (this.board != null) {
+      return this.board.discNeighbors(this.position);
     }
-    if (this.bottomLeft instanceof FilledSquare) {
-      FilledSquare bottomLeft = (FilledSquare) this.bottomLeft;
-      if (bottomLeft.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.bottomLeft);
+    int mask = 0;
+    for (int direction = RIGHT; direction <= BOTTOM; direction++) {
+      if (this.neighbor(direction) instanceof FilledSquare) {
+        mask |= 1 << direction;
       }
     }
-    if (this.bottomRight instanceof FilledSquare) {
-      FilledSquare bottomRight = (FilledSquare) this.bottomRight;
-      if (bottomRight.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.bottomRight);
-      }
+    return mask;
+  }
+
+  /**
+   * Finds the directions in which this tile has a neighbor with a disc of the opposite player,
+   * without allocating. The mask has the same form as the mask of getDiscNeighbors.
+   * @param disc the disc of the player who is currently playing.
+   * @return the 8-bit mask of directions whose neighbor has a disc of the opposite player.
+   */
+  public int getOpponentNeighbors(Disc disc) {
+    if (this.board != null) {
+      return this.board.opponentNeighbors(this.position, disc);
     }
-    if (this.top instanceof FilledSquare) {
-      FilledSquare top = (FilledSquare) this.top;
-      if (top.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.top);
+    int mask = 0;
+    for (int direction = RIGHT; direction <= BOTTOM; direction++) {
+      AbstractHexagon hex = this.neighbor(direction);
+      if (hex instanceof FilledSquare && ((FilledSquare) hex).getDisc() != disc) {
+        mask |= 1 << direction;
       }
     }
-    if (this.bottom instanceof FilledSquare) {
-      FilledSquare bottom = (FilledSquare) this.bottom;
-      if (bottom.getColor() != col) {
-        filledHexagons.add((FilledSquare) this.bottom);
+    return mask;
+  }
+
+  /**
+   * Finds and returns a list of tiles that directly neighbor this tile and contain a disc of the
+   * opposite player.
+   * @param disc the disc of the player who is currently playing.
+   * @return a list of filled hexagons of neighboring tiles of the opposite player's color.
+   */
+  public List<FilledSquare> getFilledHexagons(Disc disc) {
+    List<FilledSquare> filledHexagons = new ArrayList<>();
+    int mask = this.getOpponentNeighbors(disc);
+    for (int direction : LISTED) {
+      if ((mask & 1 << direction) != 0) {
+        filledHexagons.add((FilledSquare) this.neighbor(direction));
       }
     }
     return filledHexagons;
@@ -258,7 +295,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the right neighbor.
    */
   public AbstractHexagon getRight() {
-    return this.right;
+    return this.neighbor(RIGHT, this.right);
   }
 
   /**
@@ -266,7 +303,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the bottom right neighbor.
    */
   public AbstractHexagon getBottomRight() {
-    return this.bottomRight;
+    return this.neighbor(BOTTOM_RIGHT, this.bottomRight);
   }
 
   /**
@@ -274,7 +311,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the left neighbor.
    */
   public AbstractHexagon getLeft() {
-    return this.left;
+    return this.neighbor(LEFT, this.left);
   }
 
   /**
@@ -282,7 +319,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the top right neighbor.
    */
   public AbstractHexagon getTopRight() {
-    return this.topRight;
+    return this.neighbor(TOP_RIGHT, this.topRight);
   }
 
   /**
@@ -290,7 +327,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the top left neighbor.
    */
   public AbstractHexagon getTopLeft() {
-    return this.topLeft;
+    return this.neighbor(TOP_LEFT, this.topLeft);
   }
 
   /**
@@ -298,7 +335,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the bottom left neighbor.
    */
   public AbstractHexagon getBottomLeft() {
-    return this.bottomLeft;
+    return this.neighbor(BOTTOM_LEFT, this.bottomLeft);
   }
 
   /**
@@ -306,7 +343,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the bottom neighbor.
    */
   public AbstractHexagon getBottom() {
-    return this.bottom;
+    return this.neighbor(BOTTOM, this.bottom);
   }
 
   /**
@@ -314,7 +351,7 @@ public class NoDiscSquare extends AbstractHexagon {
    * @return the top left neighbor.
    */
   public AbstractHexagon getTop() {
-    return this.top;
+    return this.neighbor(TOP, this.top);
   }
 
   /**
@@ -324,58 +361,26 @@ public class NoDiscSquare extends AbstractHexagon {
    * sandwiched between two tiles of the current player.
    * @param lofh is the list of neighbor tiles with discs of the opposite player's color.
    * @param from is the tile the player potentially wants to make a move in.
-   * @param col is the color of the current player.
+   * @param disc is the disc of the current player.
    * @return a list that contains the lists of tiles with discs in different directions of this tile
    *         that can be flipped to this player's tiles.
    */
   public List<List<FilledSquare>> checkAll(List<FilledSquare> lofh,
-                                            NoDiscSquare from, Color col) {
+                                            NoDiscSquare from, Disc disc) {
     List<List<FilledSquare>> validLine = new ArrayList<>();
     for (FilledSquare hex : lofh) {
-      ArrayList<FilledSquare> l = new ArrayList<>();
-      // bottomLeft case
-      if ((from.getDiagonal() - hex.getDiagonal() == 1) && (hex.getRow() - from.getRow() == 1)) {
-        this.check("bottom left", hex, col, l);
+      int direction = direction(from, hex);
+      if (direction < 0) {
+        continue;
       }
-      // bottomRight
-      if ((hex.getDiagonal() - from.getDiagonal() == 1) && (hex.getRow() - from.getRow() == 1)) {
-        this.check("bottom right", hex, col, l);
+      // walk the line of discs in that direction until it is closed by a disc of this player
+      List<FilledSquare> l = new ArrayList<>();
+      AbstractHexagon next = hex;
+      while (next instanceof FilledSquare && ((FilledSquare) next).getDisc() != disc) {
+        l.add((FilledSquare) next);
+        next = ((NoDiscSquare) next).neighbor(direction);
       }
-      // topRight case
-      else if ((hex.getDiagonal() - from.getDiagonal() == 1) &&
-              (from.getRow() - hex.getRow() == 1)) {
-        this.check("top right", hex, col, l);
-
-      }
-      // right case
-      else if ((hex.getDiagonal() - from.getDiagonal() == 1) && hex.getRow() == from.getRow()) {
-        this.check("right", hex, col, l);
-      }
-
-      // left case
-      else if ((from.getDiagonal() - hex.getDiagonal() == 1) && hex.getRow() == from.getRow()) {
-        this.check("left", hex, col, l);
-      }
-
-      // topLeft case
-      else if ((from.getDiagonal() - hex.getDiagonal() == 1) &&
-              (from.getRow() - hex.getRow() == 1)) {
-        this.check("top left", hex, col, l);
-      }
-      //top case
-      else if ((from.getDiagonal() == hex.getDiagonal()) &&
-              (from.getRow() - hex.getRow() == 1)) {
-        this.check("top", hex, col, l);
-      }
-
-      //bottom case
-      else if ((from.getDiagonal() == hex.getDiagonal()) &&
-              (hex.getRow() - from.getRow() == 1)) {
-        this.check("bottom", hex, col, l);
-      }
-
-      if (!l.isEmpty() && l.get(l.size() - 1).getColor() == col) {
-        l.remove(l.size() - 1);
+      if (next instanceof FilledSquare) {
         validLine.add(l);
       }
     }
@@ -383,111 +388,38 @@ public class NoDiscSquare extends AbstractHexagon {
 
   }
 
-  // A helper method that checks if the straight line neighbors of the given filled hexagon tile
-  // in one direction is of the opposite player's color and returns a list of those
-  // subsequent neighbors.
-  private void check(String str, FilledSquare hex, Color col, List<FilledSquare> l) {
-
-    if (str.equals("bottom left")) {
-      if (hex.getBottomLeft() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getBottomLeft();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("bottom left", h, col, l);
-        }
-      }
-    } else if (str.equals("bottom right")) {
-      if (hex.getBottomRight() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getBottomRight();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("bottom right", h, col, l);
-        }
-      }
-    } else if (str.equals("top left")) {
-      if (hex.getTopLeft() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getTopLeft();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-
-          l.add(hex);
-          this.check("top left", h, col, l);
-        }
-      }
-    } else if (str.equals("top right")) {
-      if (hex.getTopRight() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getTopRight();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-
-          l.add(hex);
-          this.check("top right", h, col, l);
-        }
-      }
-    } else if (str.equals("right")) {
-      if (hex.getRight() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getRight();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("right", h, col, l);
-        }
-      }
-    } else if (str.equals("left")) {
-      if (hex.getLeft() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getLeft();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("left", h, col, l);
-        }
+  // returns the direction in which the given neighbor lies from the given tile, or -1 if it is not
+  // a neighbor of that tile
+  private static int direction(NoDiscSquare from, AbstractHexagon hex) {
+    int di = hex.getDiagonal() - from.getDiagonal();
+    int dj = hex.getRow() - from.getRow();
+    for (int direction = 0; direction < DIAGONAL_STEP.length; direction++) {
+      if (DIAGONAL_STEP[direction] == di && ROW_STEP[direction] == dj) {
+        return direction;
       }
     }
-    else if (str.equals("top")) {
-      if (hex.getTop() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getTop();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("top", h, col, l);
-        }
-      }
-    }
-    else if (str.equals("bottom")) {
-      if (hex.getBottom() instanceof FilledSquare) {
-        FilledSquare h = (FilledSquare) hex.getBottom();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("bottom", h, col, l);
-        }
-      }
+    return -1;
+  }
+
+  // returns the current neighbor of this tile in the given direction
+  private AbstractHexagon neighbor(int direction) {
+    switch (direction) {
+      case RIGHT:
+        return this.getRight();
+      case LEFT:
+        return this.getLeft();
+      case TOP_RIGHT:
+        return this.getTopRight();
+      case TOP_LEFT:
+        return this.getTopLeft();
+      case BOTTOM_RIGHT:
+        return this.getBottomRight();
+      case BOTTOM_LEFT:
+        return this.getBottomLeft();
+      case TOP:
+        return this.getTop();
+      default:
+        return this.getBottom();
     }
   }
 
@@ -500,17 +432,29 @@ public class NoDiscSquare extends AbstractHexagon {
    *         player will flip if they make this move.
    */
   public int getValidMoves(Player player) {
+    if (this.board != null) {
+      return this.board.flipCount(this.position, player.getDisc());
+    }
     int size = 0;
-
-    List<List<FilledSquare>> list =
-            this.checkAll((this.getFilledHexagons(player.getColor())),
-                    this, player.getColor());
-
-    for (List<FilledSquare> l : list) {
-      size = size + l.size();
+    int mask = this.getOpponentNeighbors(player.getDisc());
+    for (int direction = RIGHT; direction <= BOTTOM; direction++) {
+      if ((mask & 1 << direction) != 0) {
+        size += this.run(direction, player.getDisc());
+      }
     }
-
     return size;
   }
 
+  // returns the number of discs of the opposite player in the line from this tile in the given
+  // direction if the line is closed by a disc like the given one, and 0 otherwise
+  private int run(int direction, Disc disc) {
+    int count = 0;
+    AbstractHexagon next = this.neighbor(direction);
+    while (next instanceof FilledSquare && ((FilledSquare) next).getDisc() != disc) {
+      count++;
+      next = ((NoDiscSquare) next).neighbor(direction);
+    }
+    return next instanceof FilledSquare ? count : 0;
+  }
+
 }
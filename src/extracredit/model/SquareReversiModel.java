@@ -1,15 +1,25 @@
 package extracredit.model;
 
-import java.awt.Color;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 import controller.ModelStatusObservers;
 import model.AbstractHexagon;
+import model.BoardState;
+import model.BoardTopology;
+import model.Disc;
 import model.EmptyHexagon;
+import model.Move;
+import model.MoveResult;
 import model.NoDiscHexagon;
 import model.Player;
 import model.Reversi;
+import model.UndoRecord;
+import model.Zobrist;
 
 /**
  * A model implementation of a square version of the Reversi
@@ -19,11 +29,27 @@ import model.Reversi;
  */
 public class SquareReversiModel implements Reversi {
 
+  // the disc state of an empty tile, a tile with a black disc and a tile with a white disc
+  private static final byte EMPTY = BoardTopology.EMPTY;
+  private static final byte BLACK = BoardTopology.BLACK;
+  private static final byte WHITE = BoardTopology.WHITE;
+
   // current state of the game
   private boolean gameStarted;
 
-  // list of tiles in the board of the game
-  private List<NoDiscSquare> grid;
+  // list of tiles in the board of the game, always showing the current state of each tile
+  private final List<NoDiscSquare> grid;
+
+  // the discs on the board, with the counts, key, frontier and legal moves kept up to date from
+  // them. Making a move only changes this state.
+  private final BoardState board;
+
+  // the tiles used to represent each position of the grid when it has no disc, a black disc or a
+  // white disc, created the first time they are asked for. They all belong to this board so their
+  // neighbors are the current tiles around them.
+  private final NoDiscSquare[] emptyTiles;
+  private final FilledSquare[] blackTiles;
+  private final FilledSquare[] whiteTiles;
 
   // represents the player who is not next in turn.
   private Player turn;
@@ -33,6 +59,10 @@ public class SquareReversiModel implements Reversi {
   // INVARIANT: the size is always greater than 1
   private final int size;
 
+  // the position in the grid of the tile at each coordinate, stored at (row * size + diagonal),
+  // or -1 for coordinates that are not on the board
+  private final int[] cellIndex;
+
   private List<ModelStatusObservers> controllers = new ArrayList<>();
 
 
@@ -49,18 +79,135 @@ public class SquareReversiModel implements Reversi {
     this.gameStarted = false;
     this.turn = Player.A;
     this.size = size;
-    this.grid = this.linkedGrid(this.initialGrid(this.size));
+    List<NoDiscSquare> layout = this.initialGrid(this.size);
+    this.cellIndex = this.coordinateIndex(layout);
+    int n = layout.size();
+    this.board = new BoardState(BoardTopology.square(size));
+    this.emptyTiles = new NoDiscSquare[n];
+    this.blackTiles = new FilledSquare[n];
+    this.whiteTiles = new FilledSquare[n];
+    for (int position = 0; position < n; position++) {
+      this.board.set(position, discState(layout.get(position)));
+    }
+    this.grid = new GridView();
+  }
 
+  // copies the given board. The coordinate index never changes, so it is shared with the given
+  // board, and only the state of the cells is copied.
+  private SquareReversiModel(SquareReversiModel source) {
+    this.gameStarted = source.gameStarted;
+    this.turn = source.turn;
+    this.size = source.size;
+    this.cellIndex = source.cellIndex;
+    this.board = source.board.copy();
+    int n = this.board.cells();
+    this.emptyTiles = new NoDiscSquare[n];
+    this.blackTiles = new FilledSquare[n];
+    this.whiteTiles = new FilledSquare[n];
+    this.grid = new GridView();
   }
 
   /**
    * Default constructor for an instance of a square Reversi.
    */
   public SquareReversiModel() {
-    this.size = 8;
-    this.gameStarted = false;
-    this.turn = Player.A;
-    this.grid = this.linkedGrid(this.initialGrid(this.size));
+    this(8);
+  }
+
+  // returns the disc state of the given tile
+  private static byte discState(AbstractHexagon hex) {
+    if (!(hex instanceof FilledSquare)) {
+      return EMPTY;
+    }
+    return ((FilledSquare) hex).getDisc().getState();
+  }
+
+  /**
+   * Returns the number of discs the given disc placed at the given position of the
+   * grid of this board would flip, whether or not that tile already has a disc.
+   *
+   * @param position the position of the tile in the grid
+   * @param disc     the disc placed
+   * @return the number of discs that would be flipped
+   */
+  int flipCount(int position, Disc disc) {
+    return this.board.flipCount(position, disc.getState());
+  }
+
+  // returns the tile that currently represents the given position of the grid, creating it the
+  // first time it is asked for
+  private NoDiscSquare tileAt(int position) {
+    byte disc = this.board.get(position);
+    NoDiscSquare[] tiles = disc == BLACK ? this.blackTiles
+            : disc == WHITE ? this.whiteTiles : this.emptyTiles;
+    if (tiles[position] == null) {
+      int i = this.board.topology().diagonal(position);
+      int j = this.board.topology().row(position);
+      NoDiscSquare tile = disc == EMPTY ? new NoDiscSquare(i, j)
+              : new FilledSquare(i, j, disc == BLACK ? Disc.BLACK : Disc.WHITE);
+      tile.attach(this, position);
+      tiles[position] = tile;
+    }
+    return tiles[position];
+  }
+
+  /**
+   * Returns the current tile next to the tile at the given position of the grid in the given
+   * direction.
+   *
+   * @param position  the position of a tile in the grid
+   * @param direction one of the direction constants of NoDiscSquare
+   * @return the neighbor tile, or null if that neighbor is off the board
+   */
+  AbstractHexagon neighbor(int position, int direction) {
+    int n = this.board.topology().neighbor(position, direction);
+    return n < 0 ? null : this.tileAt(n);
+  }
+
+  /**
+   * Returns the directions in which the tile at the given position has a neighbor with a disc of
+   * a kind other than the given disc, as a mask with the bit (1 << direction) set for each.
+   *
+   * @param position the position of the tile in the grid
+   * @param disc     the disc of the player looking at the neighbors
+   * @return the mask of directions whose neighbor has an opposing disc
+   */
+  int opponentNeighbors(int position, Disc disc) {
+    return this.board.opponentNeighbors(position, disc.getState());
+  }
+
+  /**
+   * Returns the directions in which the tile at the given position has a neighbor with a disc, as
+   * a mask with the bit (1 << direction) set for each.
+   *
+   * @param position the position of the tile in the grid
+   * @return the mask of directions whose neighbor has a disc
+   */
+  int discNeighbors(int position) {
+    return this.board.discNeighbors(position);
+  }
+
+  /**
+   * A live view of the grid. Getting a position returns the tile that currently represents it and
+   * setting a position replaces the disc in it with the disc of the given tile.
+   */
+  private class GridView extends AbstractList<NoDiscSquare> {
+    @Override
+    public NoDiscSquare get(int position) {
+      return tileAt(position);
+    }
+
+    @Override
+    public NoDiscSquare set(int position, NoDiscSquare hex) {
+      NoDiscSquare old = tileAt(position);
+      board.set(position, discState(hex));
+      return old;
+    }
+
+    @Override
+    public int size() {
+      return board.cells();
+    }
   }
 
   /**
@@ -80,10 +227,10 @@ public class SquareReversiModel implements Reversi {
 
       for (int j = 0; j < size; j++) {
         if (i == size / 2 - 1 && j == size / 2 || i == size / 2 && j == size / 2 - 1) {
-          FilledSquare hex = new FilledSquare(i, j, Color.WHITE);
+          FilledSquare hex = new FilledSquare(i, j, Disc.WHITE);
           grid.add(hex);
         } else if (i == size / 2 && j == size / 2 || i == size / 2 - 1 && j == size / 2 - 1) {
-          FilledSquare hex = new FilledSquare(i, j, Color.BLACK);
+          FilledSquare hex = new FilledSquare(i, j, Disc.BLACK);
           grid.add(hex);
         } else {
           NoDiscSquare hex = new NoDiscSquare(i, j);
@@ -101,71 +248,81 @@ public class SquareReversiModel implements Reversi {
    * @return the board
    */
   public List<NoDiscSquare> linkedGrid(List<NoDiscSquare> grid) {
+    int[] index = this.coordinateIndex(grid);
 
     for (NoDiscSquare hex : grid) {
       int i = hex.getDiagonal();
       int j = hex.getRow();
-      if (i == 0) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setBottom(this.getHexagon(i, j + 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setBottomLeft(this.getHexagon(i - 1, j + 1, grid));
-
-      } else if (i == size - 1) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setTopRight(this.getHexagon(i, j - 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
-        hex.setTop(this.getHexagon(i, j - 1, grid));
-
-      } else if (j == 0) {
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setTopRight(this.getHexagon(i + 1, j - 1, grid));
-        hex.setBottom(this.getHexagon(i, j + 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setBottomLeft(this.getHexagon(i - 1, j + 1, grid));
-      } else if (j == size - 1) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
-        hex.setTop(this.getHexagon(i, j - 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setBottomLeft(this.getHexagon(i - 1, j + 1, grid));
-      } else {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setTopRight(this.getHexagon(i + 1, j - 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
-        hex.setTop(this.getHexagon(i, j - 1, grid));
-        hex.setBottom(this.getHexagon(i, j + 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setBottomLeft(this.getHexagon(i - 1, j + 1, grid));
-      }
+      hex.setLeft(this.getHexagon(i - 1, j, grid, index));
+      hex.setRight(this.getHexagon(i + 1, j, grid, index));
+      hex.setTopRight(this.getHexagon(i + 1, j - 1, grid, index));
+      hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid, index));
+      hex.setTop(this.getHexagon(i, j - 1, grid, index));
+      hex.setBottom(this.getHexagon(i, j + 1, grid, index));
+      hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid, index));
+      hex.setBottomLeft(this.getHexagon(i - 1, j + 1, grid, index));
     }
     return grid;
   }
 
   /**
-   * Returns the tile with the given coordinates in the given list of tiles.
+   * Returns the tile with the given coordinates in the given list of tiles. When the list is laid
+   * out like the grid of this board the tile is found through the coordinate index of this board,
+   * otherwise the list is searched.
    *
    * @param i    the 0-based index (from the left) of the diagonal coordinate of the tile.
    * @param j    the 0-based index (from the top) of the row coordinate of the tile.
    * @param grid the grid of tiles to find the tile of given coordinates in.
    */
   public AbstractHexagon getHexagon(int i, int j, List<NoDiscSquare> grid) {
-    NoDiscSquare hex = null;
+    AbstractHexagon hex = this.getHexagon(i, j, grid, this.cellIndex);
+    if (hex == EmptyHexagon.OFF_BOARD && this.indexOf(this.cellIndex, i, j) >= 0) {
+      for (NoDiscSquare h : grid) {
+        if (h.getDiagonal() == i && h.getRow() == j) {
+          return h;
+        }
+      }
+    }
+    return hex;
+  }
 
-    for (NoDiscSquare h : grid) {
-      if (h.getDiagonal() == i && h.getRow() == j) {
-        hex = h;
-        break;
+  // returns the tile with the given coordinates in the given grid using the given coordinate
+  // index, or an EmptyHexagon if the coordinates are off the board or the grid does not have
+  // that tile at the indexed position
+  private AbstractHexagon getHexagon(int i, int j, List<NoDiscSquare> grid, int[] index) {
+    int position = this.indexOf(index, i, j);
+    if (position >= 0 && position < grid.size()) {
+      NoDiscSquare hex = grid.get(position);
+      if (hex.getDiagonal() == i && hex.getRow() == j) {
+        return hex;
       }
     }
-    if (hex == null) {
-      return new EmptyHexagon(-1, -1);
-    } else {
-      return hex;
+    return EmptyHexagon.OFF_BOARD;
+  }
+
+  // returns the position stored in the given coordinate index for the given coordinates, or -1 if
+  // they are outside of the board
+  private int indexOf(int[] index, int i, int j) {
+    if (i < 0 || j < 0 || i >= this.size || j >= this.size) {
+      return -1;
     }
+    return index[j * this.size + i];
+  }
+
+  // builds the coordinate index of the given grid, mapping the coordinates of every tile to its
+  // position in the grid
+  private int[] coordinateIndex(List<NoDiscSquare> grid) {
+    int[] index = new int[this.size * this.size];
+    Arrays.fill(index, -1);
+    for (int position = 0; position < grid.size(); position++) {
+      NoDiscSquare hex = grid.get(position);
+      int i = hex.getDiagonal();
+      int j = hex.getRow();
+      if (i < this.size && j < this.size) {
+        index[j * this.size + i] = position;
+      }
+    }
+    return index;
   }
 
 
@@ -174,52 +331,54 @@ public class SquareReversiModel implements Reversi {
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
-    for (NoDiscSquare hex : this.grid) {
-      if (!(hex instanceof FilledSquare)) {
-        if ((!hex.allNeighborsEmpty())
-                && ((!hex.checkAll(((hex).getFilledHexagons(Color.BLACK)),
-                hex, Color.BLACK).isEmpty())
-                || (!hex.checkAll(((hex).getFilledHexagons(Color.WHITE)),
-                hex, Color.WHITE).isEmpty()))) {
-          return false;
-        }
-      }
-    }
-    return true;
+    return this.board.legalMoveCount(BLACK) == 0 && this.board.legalMoveCount(WHITE) == 0;
+  }
+
+  @Override
+  public int[] getFlipCounts(Player who) {
+    return this.board.flipCounts(who.getDisc().getState());
+  }
+
+  /**
+   * Returns the positions of the grid where the given player can place a disc. The legal moves are
+   * kept up to date by every move, so this only copies them.
+   *
+   * @param who the player to check
+   * @return the set of positions of the grid that are legal moves for the player
+   */
+  @Override
+  public BitSet legalMoves(Player who) {
+    return this.board.legalMoves(who.getDisc().getState());
   }
 
+  @Override
+  public int legalMoveCount(Player who) {
+    return this.board.legalMoveCount(who.getDisc().getState());
+  }
+
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return this.board.legalMoveCount(who.getDisc().getState()) > 0;
+  }
+
+
   @Override
   public int getScore(Player who) {
-    ArrayList<FilledSquare> tiles = new ArrayList<>();
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
+    return this.board.count(who.getDisc().getState());
+  }
 
-    for (NoDiscSquare hex : this.grid) {
-      if (hex instanceof FilledSquare) {
-        if (((FilledSquare) hex).getColor().equals(who.getColor())) {
-          tiles.add((FilledSquare) hex);
-        }
-      }
-    }
-    return tiles.size();
+  @Override
+  public long getZobristKey() {
+    long key = this.board.key();
+    return this.turn == Player.B ? key ^ Zobrist.SIDE : key;
   }
 
   @Override
   public AbstractHexagon getHex(int i, int j) {
-    NoDiscSquare hex = null;
-
-    for (NoDiscSquare h : this.grid) {
-      if (h.getDiagonal() == i && h.getRow() == j) {
-        hex = h;
-        break;
-      }
-    }
-    if (hex == null) {
-      return new EmptyHexagon(-1, -1);
-    } else {
-      return hex;
-    }
+    return this.getHexagon(i, j, this.grid, this.cellIndex);
   }
 
   @Override
@@ -227,30 +386,59 @@ public class SquareReversiModel implements Reversi {
     return this.size;
   }
 
+  @Override
+  public int getCellCount() {
+    return this.board.cells();
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return this.board.topology().cellAt(i, j);
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return this.board.topology().diagonal(this.checkPosition(position));
+  }
+
+  @Override
+  public int getRow(int position) {
+    return this.board.topology().row(this.checkPosition(position));
+  }
+
+  // returns the given position if it is a tile of this board
+  private int checkPosition(int position) {
+    if (position < 0 || position >= this.board.cells()) {
+      throw new IllegalArgumentException("No tile at position " + position);
+    }
+    return position;
+  }
+
+  /**
+   * Returns an empty list, since a square board has no hexagonal tiles. Its tiles are the tiles of
+   * getBoard.
+   *
+   * @return an empty, unmodifiable list
+   */
   @Override
   public List<NoDiscHexagon> getGrid() {
-    return new ArrayList<>();
+    return Collections.emptyList();
   }
 
+  /**
+   * Returns grid that the game is being played on, as a live view in which each position always
+   * shows the current tile there.
+   *
+   * @return the square grid that the game is being played on.
+   */
+  @Override
   public List<NoDiscSquare> getBoard() {
     return this.grid;
   }
 
   @Override
   public AbstractHexagon getHexagon2(int i, int i1, List<NoDiscSquare> board) {
-    NoDiscSquare hex = null;
-
-    for (NoDiscSquare h : grid) {
-      if (h.getDiagonal() == i && h.getRow() == i1) {
-        hex = h;
-        break;
-      }
-    }
-    if (hex == null) {
-      return new EmptyHexagon(-1, -1);
-    } else {
-      return hex;
-    }
+    return this.getHexagon(i, i1, this.grid, this.cellIndex);
   }
 
   @Override
@@ -264,7 +452,35 @@ public class SquareReversiModel implements Reversi {
   }
 
   @Override
-  public void makeMove(Player who, AbstractHexagon where) {
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
+    return this.moved(who, this.place(who, where));
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      throw new IllegalArgumentException("Cannot place a disc with a pass");
+    }
+    return this.moved(who, this.place(who, move));
+  }
+
+  // describes the move just placed by the given player, which flipped the given number of discs,
+  // notifies the observers and passes the turn on to the next player
+  private MoveResult moved(Player who, int flipped) {
+    MoveResult result = new MoveResult(this.board.lastMove(), this.board.lastFlips(flipped),
+            this.board.count(BLACK), this.board.count(WHITE),
+            !this.hasLegalMove(who == Player.A ? Player.B : Player.A));
+    for (ModelStatusObservers ms : controllers) {
+      ms.refreshView();
+    }
+    this.nextPlayer(who);
+    return result;
+  }
+
+  // checks that the given player can move in the given tile and places their disc there, flipping
+  // the discs it sandwiches. The board lists the move and the flipped positions as its last move,
+  // and the number of flipped discs is returned.
+  private int place(Player who, AbstractHexagon where) {
     // illegal state exceptions for if the game hasn't been started or if the player
     // is trying to move to an empty spot
     if (!gameStarted) {
@@ -277,55 +493,77 @@ public class SquareReversiModel implements Reversi {
     else if (where instanceof EmptyHexagon || where instanceof FilledSquare) {
       throw new IllegalStateException();
     }
+    // the position of the tile at the coordinates of the given tile
+    return this.place(who, this.board.topology().cellAt(where.getDiagonal(), where.getRow()));
+  }
+
+  // checks that the given player can move in the tile at the given position and places their disc
+  // there, in the same way as placing it in a tile
+  private int place(Player who, int position) {
+    if (!gameStarted) {
+      throw new IllegalArgumentException("Game has not been started");
+    }
+    if (who == null) {
+      throw new IllegalArgumentException();
+    }
     // throw an illegal argument when the player is incorrect
     else if (who != this.turn) {
       throw new IllegalArgumentException();
     }
+    return this.board.place(position, who.getDisc().getState());
+  }
 
-    // if one of the neighbors have a hexagon with a disc in it and the subsequent hexagons make for
-    // a valid move we can make the changes to the board accordingly
-    else if ((!((NoDiscSquare) where).allNeighborsEmpty())
-            && !((NoDiscSquare) where).checkAll((((NoDiscSquare) where).
-                    getFilledHexagons(who.getColor())),
-            (NoDiscSquare) where, who.getColor()).isEmpty()) {
-      System.out.print("valid move");
-      List<List<FilledSquare>> l =
-              ((NoDiscSquare) where).checkAll((((NoDiscSquare) where).
-                              getFilledHexagons(who.getColor())),
-                      (NoDiscSquare) where, who.getColor());
-      NoDiscSquare h = (NoDiscSquare) where;
-      FilledSquare newH = new FilledSquare(h.getDiagonal(),
-              h.getRow(), h.getRight(), h.getLeft(), h.getTopRight(), h.getTopLeft(),
-              h.getBottomRight(), h.getBottomLeft(), h.getTop(), h.getBottom(), who.getColor());
-      this.grid.set(this.getBoard().indexOf(where), newH);
-      this.changeNeighbors(h, newH);
-      for (List<FilledSquare> lofh : l) {
-        for (FilledSquare hex : lofh) {
-          FilledSquare newHex = new FilledSquare(hex.getDiagonal(), hex.getRow(),
-                  hex.getRight(), hex.getLeft(), hex.getTopRight(), hex.getTopLeft(),
-                  hex.getBottomRight(), hex.getBottomLeft(),
-                  hex.getTop(), hex.getBottom(), who.getColor());
-          this.grid.set(this.getBoard().indexOf(hex), newHex);
-          this.changeNeighbors(hex, newHex);
-        }
-      }
-      for (ModelStatusObservers ms : controllers) {
-        ms.refreshView();
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    UndoRecord record;
+    if (where == null) {
+      if (!gameStarted) {
+        throw new IllegalArgumentException("Game has not been started");
+      } else if (who == null || who != this.turn) {
+        throw new IllegalArgumentException();
       }
-      this.nextPlayer(who);
+      record = new UndoRecord(who, -1, new int[0]);
     } else {
+      record = this.recorded(who, this.place(who, where));
+    }
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      return this.doMove(who, (AbstractHexagon) null);
+    }
+    UndoRecord record = this.recorded(who, this.place(who, move));
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
+
+  // returns the record of the move just placed by the given player, which flipped the given number
+  // of discs
+  private UndoRecord recorded(Player who, int flipped) {
+    return new UndoRecord(who, this.board.lastMove(), this.board.lastFlips(flipped));
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
       throw new IllegalArgumentException();
     }
+    Player who = record.getPlayer();
+    if (this.turn == who) {
+      throw new IllegalStateException("Move is not the last move made");
+    }
+    if (!record.isPass()) {
+      this.board.undo(record, who.getDisc().getState());
+    }
+    this.turn = who;
   }
 
-  // updates the linking of neighbor tiles after a valid move has been made in one tile
-  private void changeNeighbors(NoDiscSquare oldHex, FilledSquare hex) {
-    oldHex.getRight().setLeft(hex);
-    oldHex.getLeft().setRight(hex);
-    oldHex.getBottomLeft().setTopRight(hex);
-    oldHex.getBottomRight().setTopLeft(hex);
-    oldHex.getTopLeft().setBottomRight(hex);
-    oldHex.getTopRight().setBottomLeft(hex);
+  @Override
+  public Reversi copy() {
+    return new SquareReversiModel(this);
   }
 
 
@@ -13,6 +13,7 @@ import extracredit.model.FilledSquare;
 import extracredit.model.NoDiscSquare;
 import model.AbstractHexagon;
 import model.ReadOnlyReversi;
+import view.DiscColors;
 
 
 /**
@@ -93,16 +94,9 @@ public class ReversiSquarePanelView extends JPanel {
    * @param current The current hexagon that will be drawn.
    */
   public void fillBoard(Graphics2D g2d, int x, int y, AbstractHexagon current) {
-    if (current instanceof FilledSquare
-            && ((FilledSquare) current).getColor() == Color.BLACK) {
+    if (current instanceof FilledSquare) {
       this.drawHexagon(g2d, x, y);
-      g2d.setColor(Color.BLACK);
-      g2d.fillOval(x - 1, y, 20, 20);
-    }
-    else if (current instanceof FilledSquare
-            && ((FilledSquare) current).getColor() == Color.WHITE) {
-      this.drawHexagon(g2d, x, y);
-      g2d.setColor(Color.WHITE);
+      g2d.setColor(DiscColors.of(((FilledSquare) current).getDisc()));
       g2d.fillOval(x - 1, y, 20, 20);
     }
     else {
@@ -1,10 +1,9 @@
 package extracredit.view;
 
-import java.awt.Color;
-
 import extracredit.model.FilledSquare;
 import extracredit.model.NoDiscSquare;
 import model.AbstractHexagon;
+import model.Disc;
 import model.ReadOnlyReversi;
 
 
@@ -36,10 +35,10 @@ public class ReversiSquareTextualView {
     for (int i = 0; i < size; i++) {
       for (int j = 0; j < size; j++) {
         if (i == size / 2 - 1 && j == size / 2 || i == size / 2 && j == size / 2 - 1) {
-          AbstractHexagon hex = new FilledSquare(i, j, Color.WHITE);
+          AbstractHexagon hex = new FilledSquare(i, j, Disc.WHITE);
           result.append(this.fillBoard(hex));
         } else if (i == size / 2 && j == size / 2 || i == size / 2 - 1 && j == size / 2 - 1) {
-          AbstractHexagon hex = new FilledSquare(i, j, Color.BLACK);
+          AbstractHexagon hex = new FilledSquare(i, j, Disc.BLACK);
           result.append(this.fillBoard(hex));
         } else {
           NoDiscSquare hex = new NoDiscSquare(i, j);
@@ -63,10 +62,10 @@ public class ReversiSquareTextualView {
   private String fillBoard(AbstractHexagon current) {
     String result = "";
     if (current instanceof FilledSquare
-            && ((FilledSquare) current).getColor() == Color.BLACK) {
+            && ((FilledSquare) current).getDisc() == Disc.BLACK) {
       result += "X ";
     } else if (current instanceof FilledSquare
-            && ((FilledSquare) current).getColor() == Color.WHITE) {
+            && ((FilledSquare) current).getDisc() == Disc.WHITE) {
       result += "O ";
     } else {
       result += "_ ";
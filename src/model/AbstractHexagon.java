@@ -1,6 +1,5 @@
 package model;
 
-import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -85,45 +84,26 @@ public abstract class AbstractHexagon {
    * sandwiched between two tiles of the current player.
    * @param lofh is the list of neighbor tiles with discs of the opposite player's color.
    * @param from is the tile the player potentially wants to make a move in.
-   * @param col is the color of the current player.
+   * @param disc is the disc of the current player.
    * @return a list that contains the lists of tiles with discs in different directions of this tile
    *         that can be flipped to this player's tiles.
    */
   public List<List<FilledHexagon>> checkAll(List<FilledHexagon> lofh,
-                                               NoDiscHexagon from, Color col) {
+                                               NoDiscHexagon from, Disc disc) {
     List<List<FilledHexagon>> validLine = new ArrayList<>();
     for (FilledHexagon hex : lofh) {
-      ArrayList<FilledHexagon> l = new ArrayList<>();
-      // bottomLeft case
-      if (hex.getDiagonal() == from.getDiagonal() && (hex.getRow() - from.getRow() == 1)) {
-        this.check("bottom left", hex, col, l);
+      int direction = direction(from, hex);
+      if (direction < 0) {
+        continue;
       }
-      // bottomRight
-      if ((hex.getDiagonal() - from.getDiagonal() == 1) && (hex.getRow() - from.getRow() == 1)) {
-        this.check("bottom right", hex, col, l);
+      // walk the line of discs in that direction until it is closed by a disc of this player
+      List<FilledHexagon> l = new ArrayList<>();
+      AbstractHexagon next = hex;
+      while (next instanceof FilledHexagon && ((FilledHexagon) next).getDisc() != disc) {
+        l.add((FilledHexagon) next);
+        next = neighbor((FilledHexagon) next, direction);
       }
-      // topRight case
-      else if (hex.getDiagonal() == from.getDiagonal() && (from.getRow() - hex.getRow() == 1)) {
-        this.check("top right", hex, col, l);
-
-      }
-      // right case
-      else if ((hex.getDiagonal() - from.getDiagonal() == 1) && hex.getRow() == from.getRow()) {
-        this.check("right", hex, col, l);
-      }
-
-      // left case
-      else if ((from.getDiagonal() - hex.getDiagonal() == 1) && hex.getRow() == from.getRow()) {
-        this.check("left", hex, col, l);
-      }
-
-      // topLeft case
-      else if ((from.getDiagonal() - hex.getDiagonal() == 1) &&
-              (from.getRow() - hex.getRow() == 1)) {
-        this.check("top left", hex, col, l);
-      }
-      if (!l.isEmpty() && l.get(l.size() - 1).getColor() == col) {
-        l.remove(l.size() - 1);
+      if (next instanceof FilledHexagon) {
         validLine.add(l);
       }
     }
@@ -131,85 +111,42 @@ public abstract class AbstractHexagon {
 
   }
 
-  // A helper method that checks if the straight line neighbors of the given filled hexagon tile
-  // in one direction is of the opposite player's color and returns a list of those
-  // subsequent neighbors.
-  private void check(String str, FilledHexagon hex, Color col, List<FilledHexagon> l) {
-
-    if (str.equals("bottom left")) {
-      if (hex.getBottomLeft() instanceof FilledHexagon) {
-        FilledHexagon h = (FilledHexagon) hex.getBottomLeft();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("bottom left", h, col, l);
-        }
-      }
-    } else if (str.equals("bottom right")) {
-      if (hex.getBottomRight() instanceof FilledHexagon) {
-        FilledHexagon h = (FilledHexagon) hex.getBottomRight();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("bottom right", h, col, l);
-        }
-      }
-    } else if (str.equals("top left")) {
-      if (hex.getTopLeft() instanceof FilledHexagon) {
-        FilledHexagon h = (FilledHexagon) hex.getTopLeft();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-
-          l.add(hex);
-          this.check("top left", h, col, l);
-        }
-      }
-    } else if (str.equals("top right")) {
-      if (hex.getTopRight() instanceof FilledHexagon) {
-        FilledHexagon h = (FilledHexagon) hex.getTopRight();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-
-          l.add(hex);
-          this.check("top right", h, col, l);
-        }
-      }
-    } else if (str.equals("right")) {
-      if (hex.getRight() instanceof FilledHexagon) {
-        FilledHexagon h = (FilledHexagon) hex.getRight();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("right", h, col, l);
-        }
-      }
-    } else if (str.equals("left")) {
-      if (hex.getLeft() instanceof FilledHexagon) {
-        FilledHexagon h = (FilledHexagon) hex.getLeft();
-        if (h.getColor() == col) {
-          l.add(hex);
-          l.add(h);
-
-        } else {
-          l.add(hex);
-          this.check("left", h, col, l);
-        }
-      }
+  // returns the direction in which the given neighbor lies from the given tile, or -1 if it is not
+  // a neighbor of that tile
+  private static int direction(NoDiscHexagon from, AbstractHexagon hex) {
+    int di = hex.getDiagonal() - from.getDiagonal();
+    int dj = hex.getRow() - from.getRow();
+    if (di == 0 && dj == 1) {
+      return NoDiscHexagon.BOTTOM_LEFT;
+    } else if (di == 1 && dj == 1) {
+      return NoDiscHexagon.BOTTOM_RIGHT;
+    } else if (di == 0 && dj == -1) {
+      return NoDiscHexagon.TOP_RIGHT;
+    } else if (di == 1 && dj == 0) {
+      return NoDiscHexagon.RIGHT;
+    } else if (di == -1 && dj == 0) {
+      return NoDiscHexagon.LEFT;
+    } else if (di == -1 && dj == -1) {
+      return NoDiscHexagon.TOP_LEFT;
+    }
+    return -1;
+  }
+
+  // returns the neighbor of the given tile in the given direction
+  private static AbstractHexagon neighbor(NoDiscHexagon hex, int direction) {
+    switch (direction) {
+      case NoDiscHexagon.RIGHT:
+        return hex.getRight();
+      case NoDiscHexagon.LEFT:
+        return hex.getLeft();
+      case NoDiscHexagon.TOP_RIGHT:
+        return hex.getTopRight();
+      case NoDiscHexagon.TOP_LEFT:
+        return hex.getTopLeft();
+      case NoDiscHexagon.BOTTOM_RIGHT:
+        return hex.getBottomRight();
+      default:
+        return hex.getBottomLeft();
     }
   }
 
@@ -0,0 +1,710 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import controller.ModelStatusObservers;
+import extracredit.model.NoDiscSquare;
+
+/**
+ * A bitboard representation of a ReversiModel game on a hexagonal grid. The same rules apply as
+ * in ReversiModel, but instead of a graph of linked tiles the discs of each player are stored as
+ * packed bitsets over the cells of the board. Legal move generation shifts whole words of the
+ * board at once in each of the 6 directions, and flipping only sets and clears bits.
+ *
+ * <p>The hexagonal board is laid out by a {@link BitsetBoard} inside a (2 * size - 1) square of
+ * cells with padding at the end of every row. Cells of that square which are not part of the
+ * hexagon are never set, so boards with sizes into the hundreds only cost one bitset of a few
+ * thousand longs per color.
+ *
+ * <p>The tile based methods of the Reversi interface are supported by building a linked snapshot
+ * of the board the first time it is requested for a given position.
+ */
+public class BitboardReversiModel implements Reversi {
+
+  // the change in the diagonal and row coordinates in each direction, in the same order as the
+  // neighbors of a NoDiscHexagon
+  private static final int[] DIAGONAL_STEP = {1, -1, 0, -1, 1, 0};
+  private static final int[] ROW_STEP = {0, 0, -1, -1, 1, 1};
+
+  // current state of the game
+  private boolean gameStarted;
+
+  // represents the player whose turn it is
+  private Player turn;
+
+  // the board size representing the number of tiles along the length of each side of the hexagonal
+  // board
+  // INVARIANT: the size is always greater than 1
+  private final int size;
+
+  // the number of cells along one side of the square the hexagon is laid out in
+  private final int width;
+
+  // the layout of the cells of the hexagon in the bitsets
+  private final BitsetBoard layout;
+
+  // the number of longs needed to store one bitset of the board
+  private final int words;
+
+  // the bits of the cells that have a black disc and a white disc respectively
+  private final long[] black;
+  private final long[] white;
+
+  // scratch bitset reused by move generation so that it does not allocate
+  private final long[] moves;
+
+  // scratch bitset holding the discs flipped by the move being made
+  private final long[] flips;
+
+  // the linked tiles of the current position, or null if they have not been built yet
+  private List<NoDiscHexagon> snapshot;
+
+  // the position of each cell in the snapshot, or -1 for cells that are not on the board
+  private final int[] positions;
+
+  // the cell of each position of the snapshot, the inverse of positions
+  private final int[] cells;
+
+  // the Zobrist keys of a black disc and a white disc in each cell, indexed by bit, using the
+  // position of the cell so that keys match the keys of a ReversiModel
+  private final long[] blackKeys;
+  private final long[] whiteKeys;
+
+  // the XOR of the Zobrist keys of every disc on the board. Kept up to date by every move.
+  private long key;
+
+  private final List<ModelStatusObservers> controllers = new ArrayList<>();
+
+  /**
+   * Constructor for BitboardReversiModel. Game start state is set to false and the size of the
+   * board is based on the input of the user. The board is initialized to represent its state at
+   * the start of the game and the first turn belongs to Player A.
+   *
+   * @param size the number of tiles along the length of each side of the board
+   * @throws IllegalArgumentException if the size of the board is less than or equal to 1.
+   */
+  public BitboardReversiModel(int size) {
+    if (size <= 1) {
+      throw new IllegalArgumentException("Size must be greater than 1");
+    }
+    this.gameStarted = false;
+    this.turn = Player.A;
+    this.size = size;
+    this.width = 2 * size - 1;
+    this.layout = new BitsetBoard(this.width, this.width, DIAGONAL_STEP, ROW_STEP,
+            (i, j) -> Math.abs(i - j) <= size - 1);
+    this.words = this.layout.words();
+    this.black = this.layout.bitset();
+    this.white = this.layout.bitset();
+    this.moves = this.layout.bitset();
+    this.flips = this.layout.bitset();
+    this.positions = new int[this.layout.capacity()];
+    this.cells = new int[3 * size * (size - 1) + 1];
+    this.initialBoard();
+    this.blackKeys = new long[this.positions.length];
+    this.whiteKeys = new long[this.positions.length];
+    for (int bit = 0; bit < this.positions.length; bit++) {
+      if (this.positions[bit] >= 0) {
+        this.blackKeys[bit] = Zobrist.key(Player.A, this.positions[bit]);
+        this.whiteKeys[bit] = Zobrist.key(Player.B, this.positions[bit]);
+      }
+    }
+    this.key = this.computeKey();
+  }
+
+  /**
+   * Chooses whether this model generates legal moves with the Vector API or with scalar loops over
+   * one long at a time. The Vector API pays off on large boards and is only used if the JVM was
+   * started with {@code --add-modules jdk.incubator.vector}.
+   *
+   * @param vectorized true to use the Vector API when it is available, false to use scalar loops
+   * @return true if this model now uses the Vector API
+   */
+  public boolean setVectorized(boolean vectorized) {
+    return this.layout.setVectorized(vectorized);
+  }
+
+  // computes the key of the discs on the board from the bits of both colors
+  private long computeKey() {
+    long key = 0;
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.black[w]; bits != 0; bits &= bits - 1) {
+        key ^= this.blackKeys[w * 64 + Long.numberOfTrailingZeros(bits)];
+      }
+      for (long bits = this.white[w]; bits != 0; bits &= bits - 1) {
+        key ^= this.whiteKeys[w * 64 + Long.numberOfTrailingZeros(bits)];
+      }
+    }
+    return key;
+  }
+
+  // updates the key for the given cell changing between a disc of the given player and an empty
+  // tile
+  private void toggleKey(Player who, int cell) {
+    this.key ^= who == Player.A ? this.blackKeys[cell] : this.whiteKeys[cell];
+  }
+
+  // updates the key for the discs in the flips scratch bitset changing color
+  private void flipKeys() {
+    for (int w = 0; w < this.words; w++) {
+      for (long bits = this.flips[w]; bits != 0; bits &= bits - 1) {
+        int bit = w * 64 + Long.numberOfTrailingZeros(bits);
+        this.key ^= this.blackKeys[bit] ^ this.whiteKeys[bit];
+      }
+    }
+  }
+
+  /**
+   * Default Constructor for BitboardReversiModel, played on a board of size 6.
+   */
+  public BitboardReversiModel() {
+    this(6);
+  }
+
+  // numbers the cells of the board and places the 6 discs that surround the center tile
+  private void initialBoard() {
+    Arrays.fill(this.positions, -1);
+    // positions follow the order of the tiles in ReversiModel: by diagonal, then by row
+    int position = 0;
+    for (int i = 0; i < this.width; i++) {
+      for (int j = 0; j < this.width; j++) {
+        if (this.onBoard(i, j)) {
+          this.positions[this.bit(i, j)] = position;
+          this.cells[position] = this.bit(i, j);
+          position++;
+        }
+      }
+    }
+    int s = this.size;
+    set(this.white, this.bit(s - 1, s - 2));
+    set(this.white, this.bit(s - 2, s - 1));
+    set(this.white, this.bit(s, s));
+    set(this.black, this.bit(s - 2, s - 2));
+    set(this.black, this.bit(s - 1, s));
+    set(this.black, this.bit(s, s - 1));
+  }
+
+  // determines whether the given coordinates are a tile of the hexagonal board
+  private boolean onBoard(int i, int j) {
+    return this.layout.onBoard(i, j);
+  }
+
+  // returns the bit index of the cell with the given coordinates
+  private int bit(int i, int j) {
+    return this.layout.bit(i, j);
+  }
+
+  private static void set(long[] bits, int bit) {
+    BitsetBoard.set(bits, bit);
+  }
+
+  private static boolean isSet(long[] bits, int bit) {
+    return BitsetBoard.isSet(bits, bit);
+  }
+
+  // fills the moves scratch bitset with every empty cell in which a disc of own would sandwich a
+  // line of discs of opp, and returns whether there is at least one such cell
+  private boolean generateMoves(long[] own, long[] opp) {
+    return this.layout.generateMoves(own, opp, this.moves);
+  }
+
+  // fills the flips scratch bitset with the discs of opp that a disc of own placed at the given
+  // cell would flip, and returns how many there are
+  private int generateFlips(int cell, long[] own, long[] opp) {
+    return this.layout.generateFlips(cell, own, opp, this.flips);
+  }
+
+  private long[] discs(Player who) {
+    return who == Player.A ? this.black : this.white;
+  }
+
+  private long[] opponentDiscs(Player who) {
+    return who == Player.A ? this.white : this.black;
+  }
+
+  /**
+   * Returns the current state of the game.
+   * @return True if the game has started.
+   */
+  @Override
+  public boolean gameState() {
+    return this.gameStarted;
+  }
+
+  /**
+   * Starts the game by setting the current state of the game to started and notifying the
+   * observers that it is the first player's turn.
+   */
+  @Override
+  public void startGame() {
+    this.gameStarted = true;
+    for (ModelStatusObservers ms : controllers) {
+      ms.changePlayer();
+    }
+  }
+
+  /**
+   * Changes the turn to the next player.
+   */
+  @Override
+  public void nextPlayer(Player who) {
+    if (who.equals(Player.A)) {
+      this.turn = Player.B;
+    } else {
+      this.turn = Player.A;
+    }
+    for (ModelStatusObservers ms : controllers) {
+      ms.changePlayer();
+    }
+  }
+
+  /**
+   * Moves a disc of the current player's color to the given tile. The tile is looked up on this
+   * board by its coordinates. See {@link #makeMove(Player, int, int)}.
+   *
+   * @param who   the Player who wants to make a move
+   * @param where the tile where the current player wants to make a move
+   * @return what the move changed on the board
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move or if the player or tile
+   *                                  to make a move in is an invalid null input
+   * @throws IllegalStateException    if the tile is not a tile with no disc in it.
+   */
+  @Override
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
+    if (!gameStarted) {
+      throw new IllegalStateException("Game has not been started");
+    } else if (who == null || where == null) {
+      throw new IllegalArgumentException();
+    } else if (where instanceof EmptyHexagon || where instanceof FilledHexagon) {
+      throw new IllegalStateException();
+    }
+    return this.makeMove(who, where.getDiagonal(), where.getRow());
+  }
+
+  /**
+   * Moves a disc of the current player's color to the tile with the given coordinates. The result
+   * of a legal move is that all of the opposite player's discs in all directions that are
+   * sandwiched between two discs of the current player get flipped to the current player's. After
+   * a valid move is made, the player's turn is changed.
+   *
+   * @param who      the Player who wants to make a move
+   * @param diagonal the 0-based index (from the left) of the diagonal coordinate of the tile.
+   * @param row      the 0-based index (from the top) of the row coordinate of the tile.
+   * @return what the move changed on the board, with cells numbered by their position in the grid
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null
+   *                                  or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not on the board or already has a disc in it.
+   */
+  public MoveResult makeMove(Player who, int diagonal, int row) {
+    int cell = this.place(who, diagonal, row);
+    int[] flipped = this.flippedCells();
+    for (int k = 0; k < flipped.length; k++) {
+      flipped[k] = this.positions[flipped[k]];
+    }
+    MoveResult result = new MoveResult(this.positions[cell], flipped,
+            this.getScore(Player.A), this.getScore(Player.B),
+            !this.hasLegalMove(who == Player.A ? Player.B : Player.A));
+    for (ModelStatusObservers ms : controllers) {
+      ms.refreshView();
+    }
+    this.nextPlayer(who);
+    return result;
+  }
+
+  /**
+   * Moves a disc of the given player's color to the tile at the given position of the grid, in
+   * the same way as makeMove with a tile.
+   *
+   * @param who  the Player who wants to make a move
+   * @param move the position of the tile in the grid
+   * @return what the move changed on the board, with cells numbered by their position in the grid
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null,
+   *                                  if the move is a pass or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not on the board or already has a disc in it.
+   */
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      throw new IllegalArgumentException("Cannot place a disc with a pass");
+    } else if (move < 0 || move >= this.cells.length) {
+      throw new IllegalStateException();
+    }
+    int cell = this.cells[move];
+    return this.makeMove(who, this.layout.diagonal(cell), this.layout.row(cell));
+  }
+
+  // returns the bits of the discs in the flips scratch bitset
+  private int[] flippedCells() {
+    return BitsetBoard.toArray(this.flips);
+  }
+
+  // checks that the given player can move in the tile with the given coordinates and places their
+  // disc there, leaving the flipped discs in the flips scratch bitset. Returns the bit of the tile.
+  private int place(Player who, int diagonal, int row) {
+    if (!gameStarted) {
+      throw new IllegalStateException("Game has not been started");
+    } else if (who == null) {
+      throw new IllegalArgumentException();
+    } else if (!this.onBoard(diagonal, row)) {
+      throw new IllegalStateException();
+    }
+    int cell = this.bit(diagonal, row);
+    long[] own = this.discs(who);
+    long[] opp = this.opponentDiscs(who);
+    if (isSet(own, cell) || isSet(opp, cell)) {
+      throw new IllegalStateException();
+    } else if (who != this.turn) {
+      throw new IllegalArgumentException();
+    } else if (this.generateFlips(cell, own, opp) == 0) {
+      throw new IllegalArgumentException();
+    }
+    for (int w = 0; w < this.words; w++) {
+      own[w] |= this.flips[w];
+      opp[w] &= ~this.flips[w];
+    }
+    set(own, cell);
+    this.toggleKey(who, cell);
+    this.flipKeys();
+    this.snapshot = null;
+    return cell;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    UndoRecord record;
+    if (where == null) {
+      if (!gameStarted) {
+        throw new IllegalStateException("Game has not been started");
+      } else if (who == null || who != this.turn) {
+        throw new IllegalArgumentException();
+      }
+      record = new UndoRecord(who, -1, new int[0]);
+    } else {
+      if (!gameStarted) {
+        throw new IllegalStateException("Game has not been started");
+      } else if (who == null) {
+        throw new IllegalArgumentException();
+      } else if (where instanceof EmptyHexagon || where instanceof FilledHexagon) {
+        throw new IllegalStateException();
+      }
+      int cell = this.place(who, where.getDiagonal(), where.getRow());
+      record = new UndoRecord(who, cell, this.flippedCells());
+    }
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      return this.doMove(who, (AbstractHexagon) null);
+    } else if (move < 0 || move >= this.cells.length) {
+      throw new IllegalStateException();
+    }
+    int cell = this.place(who, this.layout.diagonal(this.cells[move]),
+            this.layout.row(this.cells[move]));
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return new UndoRecord(who, cell, this.flippedCells());
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException();
+    }
+    Player who = record.getPlayer();
+    if (this.turn == who) {
+      throw new IllegalStateException("Move is not the last move made");
+    }
+    if (!record.isPass()) {
+      long[] own = this.discs(who);
+      long[] opp = this.opponentDiscs(who);
+      int cell = record.getCell();
+      if (cell < 0 || cell >= this.layout.capacity() || !isSet(own, cell)) {
+        throw new IllegalStateException("Move is not the last move made");
+      }
+      BitsetBoard.clear(own, cell);
+      this.toggleKey(who, cell);
+      for (int k = 0; k < record.getFlipCount(); k++) {
+        int bit = record.getFlipped(k);
+        BitsetBoard.clear(own, bit);
+        set(opp, bit);
+        this.key ^= this.blackKeys[bit] ^ this.whiteKeys[bit];
+      }
+      this.snapshot = null;
+    }
+    this.turn = who;
+  }
+
+  @Override
+  public Reversi copy() {
+    BitboardReversiModel copy = new BitboardReversiModel(this.size);
+    copy.gameStarted = this.gameStarted;
+    copy.turn = this.turn;
+    System.arraycopy(this.black, 0, copy.black, 0, this.words);
+    System.arraycopy(this.white, 0, copy.white, 0, this.words);
+    copy.key = this.key;
+    copy.setVectorized(this.layout.isVectorized());
+    return copy;
+  }
+
+  /**
+   * Returns the current score for the given player, which is the sum of the number of tiles
+   * filled with a disc of the color of that player.
+   *
+   * @return the score
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  @Override
+  public int getScore(Player who) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return BitsetBoard.count(this.discs(who));
+  }
+
+  /**
+   * Signal if the game is over or not.  A game is over if there are no more
+   * possible moves to be made by both players.
+   *
+   * @return true if game is over, false otherwise
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  @Override
+  public boolean gameOver() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return !this.generateMoves(this.black, this.white)
+            && !this.generateMoves(this.white, this.black);
+  }
+
+  /**
+   * Determines whether the given player has at least one legal move.
+   *
+   * @param who the player to check
+   * @return true if the player can place a disc somewhere on the board, false if they must pass
+   */
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return who == Player.A ? this.generateMoves(this.black, this.white)
+            : this.generateMoves(this.white, this.black);
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by placing a disc in each tile, in the
+   * order of the grid of a ReversiModel of the same size. Only the cells found by move generation
+   * are looked at.
+   *
+   * @param who the player placing the disc
+   * @return the number of discs a move in each position of the grid would flip
+   */
+  @Override
+  public int[] getFlipCounts(Player who) {
+    int[] counts = new int[3 * this.size * (this.size - 1) + 1];
+    long[] own = this.discs(who);
+    long[] opp = this.opponentDiscs(who);
+    this.generateMoves(own, opp);
+    for (int cell : BitsetBoard.toArray(this.moves)) {
+      counts[this.positions[cell]] = this.generateFlips(cell, own, opp);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the positions of the grid where the given player can place a disc, taken from the
+   * moves found by move generation.
+   *
+   * @param who the player placing the disc
+   * @return the set of positions of the grid that are legal moves for the player
+   */
+  @Override
+  public BitSet legalMoves(Player who) {
+    BitSet moves = new BitSet(3 * this.size * (this.size - 1) + 1);
+    this.generateMoves(this.discs(who), this.opponentDiscs(who));
+    for (int cell : BitsetBoard.toArray(this.moves)) {
+      moves.set(this.positions[cell]);
+    }
+    return moves;
+  }
+
+  @Override
+  public int legalMoveCount(Player who) {
+    this.generateMoves(this.discs(who), this.opponentDiscs(who));
+    return BitsetBoard.count(this.moves);
+  }
+
+  /**
+   * Returns the Zobrist key of the current position. Positions are keyed the same way as in
+   * ReversiModel, so both models give the same key to the same position.
+   *
+   * @return the 64-bit key of the position
+   */
+  @Override
+  public long getZobristKey() {
+    assert this.key == this.computeKey() : "key does not match the board";
+    return this.turn == Player.B ? this.key ^ Zobrist.SIDE : this.key;
+  }
+
+  /**
+   * Returns the number of discs the current player would flip by moving in the tile with the given
+   * coordinates, or 0 if that tile is not an empty tile of the board.
+   */
+  @Override
+  public int getPotentialTiles(int x, int y) {
+    if (!this.onBoard(x, y)) {
+      return 0;
+    }
+    int cell = this.bit(x, y);
+    if (isSet(this.black, cell) || isSet(this.white, cell)) {
+      return 0;
+    }
+    return this.generateFlips(cell, this.discs(this.turn), this.opponentDiscs(this.turn));
+  }
+
+  /**
+   * Returns the size of this game board.
+   *
+   * @return the size of the board.
+   */
+  @Override
+  public int getBoardSize() {
+    return this.size;
+  }
+
+  @Override
+  public int getCellCount() {
+    return this.cells.length;
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return this.onBoard(i, j) ? this.positions[this.bit(i, j)] : -1;
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return this.layout.diagonal(this.cells[this.checkPosition(position)]);
+  }
+
+  @Override
+  public int getRow(int position) {
+    return this.layout.row(this.cells[this.checkPosition(position)]);
+  }
+
+  // returns the given position if it is a tile of this board
+  private int checkPosition(int position) {
+    if (position < 0 || position >= this.cells.length) {
+      throw new IllegalArgumentException("No tile at position " + position);
+    }
+    return position;
+  }
+
+  /**
+   * Returns the player whose turn it is.
+   */
+  @Override
+  public Player getPlayer() {
+    return this.turn;
+  }
+
+  /**
+   * Returns the tile with the given coordinates from the snapshot of the current position.
+   *
+   * @param i    the 0-based index (from the left) of the diagonal coordinate of the tile.
+   * @param j    the 0-based index (from the top) of the row coordinate of the tile.
+   */
+  @Override
+  public AbstractHexagon getHex(int i, int j) {
+    if (!this.onBoard(i, j)) {
+      return EmptyHexagon.OFF_BOARD;
+    }
+    return this.getGrid().get(this.positions[this.bit(i, j)]);
+  }
+
+  /**
+   * Returns the linked tiles of the current position, in the same order as the grid of a
+   * ReversiModel of the same size. The tiles are a snapshot: moves made afterwards are not
+   * reflected in them.
+   *
+   * @return the hexagonal grid that the game is being played on.
+   */
+  @Override
+  public List<NoDiscHexagon> getGrid() {
+    if (this.snapshot == null) {
+      List<NoDiscHexagon> grid = new ArrayList<>();
+      for (int i = 0; i < this.width; i++) {
+        for (int j = 0; j < this.width; j++) {
+          if (this.onBoard(i, j)) {
+            int cell = this.bit(i, j);
+            if (isSet(this.black, cell)) {
+              grid.add(new FilledHexagon(i, j, Disc.BLACK));
+            } else if (isSet(this.white, cell)) {
+              grid.add(new FilledHexagon(i, j, Disc.WHITE));
+            } else {
+              grid.add(new NoDiscHexagon(i, j));
+            }
+          }
+        }
+      }
+      for (NoDiscHexagon hex : grid) {
+        int i = hex.getDiagonal();
+        int j = hex.getRow();
+        hex.setRight(this.tile(grid, i + 1, j));
+        hex.setLeft(this.tile(grid, i - 1, j));
+        hex.setTopRight(this.tile(grid, i, j - 1));
+        hex.setTopLeft(this.tile(grid, i - 1, j - 1));
+        hex.setBottomRight(this.tile(grid, i + 1, j + 1));
+        hex.setBottomLeft(this.tile(grid, i, j + 1));
+      }
+      this.snapshot = grid;
+    }
+    return this.snapshot;
+  }
+
+  // returns the tile of the given snapshot with the given coordinates, or an EmptyHexagon if
+  // they are off the board
+  private AbstractHexagon tile(List<NoDiscHexagon> grid, int i, int j) {
+    if (!this.onBoard(i, j)) {
+      return EmptyHexagon.OFF_BOARD;
+    }
+    return grid.get(this.positions[this.bit(i, j)]);
+  }
+
+  @Override
+  public List<AbstractHexagon> getBoardGame() {
+    return new ArrayList<>(this.getGrid());
+  }
+
+  /**
+   * Returns an empty list, since a hexagonal board has no square tiles. Its tiles are the tiles of
+   * getGrid.
+   *
+   * @return an empty, unmodifiable list
+   */
+  @Override
+  public List<NoDiscSquare> getBoard() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public AbstractHexagon getHexagon2(int i, int i1, List<NoDiscSquare> board) {
+    return this.getHex(i, i1);
+  }
+
+  /**
+   * Adds the observer to the list of observers that need to observe the model.
+   * @param rc the Model Status Observer
+   */
+  @Override
+  public void addObservers(ModelStatusObservers rc) {
+    controllers.add(rc);
+  }
+}
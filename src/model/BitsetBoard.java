@@ -0,0 +1,320 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+
+/**
+ * BitsetBoard lays out the cells of a board of any shape and size as bits of a long array and
+ * generates moves and flips on bitsets of discs laid out the same way. Models keep one bitset for
+ * the discs of each player and use a BitsetBoard for the geometry.
+ *
+ * <p>The cell with diagonal (x) coordinate i and row (y) coordinate j is stored at bit
+ * (j * stride + i), where the stride is the width of the board plus at least one padding bit,
+ * rounded up to whole longs. Every row therefore starts at the beginning of a long, and the padding
+ * bits at the end of each row are never part of the board. A shift of a whole bitset by the offset
+ * of a direction followed by a mask with the cells of the board moves every disc onto its neighbor
+ * without any disc wrapping around to another row, so move generation is a short loop of shifts,
+ * ANDs and ORs over plain long arrays for every direction.
+ *
+ * <p>Those loops are run by a {@link MoveGenerator}. By default it processes one long at a time,
+ * but each board can be switched to a generator using the Vector API, which pays off once boards
+ * are large enough for every bitset to span many vectors. That generator is compiled from the
+ * separate src-vector source root, so src builds without the incubator module, and it is only used
+ * if it was compiled and the JVM was started with {@code --add-modules jdk.incubator.vector}.
+ *
+ * <p>A BitsetBoard reuses internal scratch bitsets, so it must not be shared between threads.
+ */
+public final class BitsetBoard {
+
+  // the generator that processes one long at a time, available on every JVM
+  private static final MoveGenerator SCALAR = new ScalarMoveGenerator();
+
+  // the generator using the Vector API, or null if the Vector API is not available
+  private static final MoveGenerator VECTOR = loadVectorGenerator();
+
+  // the number of columns and rows of the rectangle that the board is laid out in
+  private final int width;
+  private final int height;
+
+  // the number of bits of each row, a multiple of 64 greater than the width
+  private final int stride;
+
+  // the number of longs of each bitset
+  private final int words;
+
+  // the bits of the cells that are part of the board
+  private final long[] board;
+
+  // the bit offset of the neighbor in each direction
+  private final int[] offsets;
+
+  // scratch bitsets reused by move generation so that it does not allocate
+  private final long[] frontier;
+  private final long[] shifted;
+
+  // the generator running the word loops of move generation
+  private MoveGenerator generator;
+
+  /**
+   * Constructs the layout of a board.
+   *
+   * @param width   the number of columns of the rectangle the board is laid out in
+   * @param height  the number of rows of the rectangle the board is laid out in
+   * @param di      the change in the diagonal coordinate when moving in each direction
+   * @param dj      the change in the row coordinate when moving in each direction
+   * @param onBoard whether the cell with the given diagonal and row coordinates is on the board
+   * @throws IllegalArgumentException if the width or height is not positive, if the directions
+   *                                  do not match or move more than one column at a time
+   */
+  public BitsetBoard(int width, int height, int[] di, int[] dj,
+                     BiPredicate<Integer, Integer> onBoard) {
+    if (width <= 0 || height <= 0 || di.length != dj.length) {
+      throw new IllegalArgumentException();
+    }
+    this.width = width;
+    this.height = height;
+    this.stride = (width + 64) / 64 * 64;
+    this.words = this.stride / 64 * height;
+    this.board = new long[this.words];
+    this.offsets = new int[di.length];
+    for (int d = 0; d < di.length; d++) {
+      if (Math.abs(di[d]) > 1) {
+        throw new IllegalArgumentException("Directions can move at most one column");
+      }
+      this.offsets[d] = dj[d] * this.stride + di[d];
+    }
+    for (int j = 0; j < height; j++) {
+      for (int i = 0; i < width; i++) {
+        if (onBoard.test(i, j)) {
+          set(this.board, this.bit(i, j));
+        }
+      }
+    }
+    this.frontier = new long[this.words];
+    this.shifted = new long[this.words];
+    this.generator = SCALAR;
+  }
+
+  // loads the generator using the Vector API by name, so that nothing else links against the
+  // incubator module, and returns null if it was not compiled or the module is not present
+  private static MoveGenerator loadVectorGenerator() {
+    try {
+      Class<?> vector = Class.forName("model.VectorMoveGenerator", true,
+              BitsetBoard.class.getClassLoader());
+      return (MoveGenerator) vector.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+
+  /**
+   * Determines whether the Vector API can be used by this JVM.
+   * @return true if boards can generate moves with the Vector API
+   */
+  public static boolean vectorApiAvailable() {
+    return VECTOR != null;
+  }
+
+  /**
+   * Chooses whether this board generates moves with the Vector API or one long at a time. The
+   * Vector API is only used if it is available; otherwise this board keeps using scalar loops.
+   *
+   * @param vectorized true to use the Vector API, false to use scalar loops
+   * @return true if this board now uses the Vector API
+   */
+  public boolean setVectorized(boolean vectorized) {
+    this.generator = vectorized && VECTOR != null ? VECTOR : SCALAR;
+    return this.generator == VECTOR;
+  }
+
+  /**
+   * Determines whether this board generates moves with the Vector API.
+   * @return true if the Vector API is used
+   */
+  public boolean isVectorized() {
+    return this.generator == VECTOR;
+  }
+
+  /**
+   * Returns the number of longs of each bitset of this board.
+   * @return the number of longs.
+   */
+  public int words() {
+    return this.words;
+  }
+
+  /**
+   * Returns the number of bits of each bitset of this board, including the padding bits.
+   * @return the number of bits.
+   */
+  public int capacity() {
+    return this.words * 64;
+  }
+
+  /**
+   * Returns a new bitset with no bits set.
+   * @return an empty bitset of the size of this board.
+   */
+  public long[] bitset() {
+    return new long[this.words];
+  }
+
+  /**
+   * Returns the bit index of the cell with the given coordinates.
+   *
+   * @param i the 0-based index (from the left) of the diagonal coordinate of the cell.
+   * @param j the 0-based index (from the top) of the row coordinate of the cell.
+   * @return the bit index of the cell
+   */
+  public int bit(int i, int j) {
+    return j * this.stride + i;
+  }
+
+  /**
+   * Returns the diagonal coordinate of the cell stored at the given bit.
+   * @param bit the bit index of the cell
+   * @return the diagonal coordinate.
+   */
+  public int diagonal(int bit) {
+    return bit % this.stride;
+  }
+
+  /**
+   * Returns the row coordinate of the cell stored at the given bit.
+   * @param bit the bit index of the cell
+   * @return the row coordinate.
+   */
+  public int row(int bit) {
+    return bit / this.stride;
+  }
+
+  /**
+   * Determines whether the given coordinates are a cell of the board.
+   *
+   * @param i the diagonal coordinate
+   * @param j the row coordinate
+   * @return true if the cell is part of the board
+   */
+  public boolean onBoard(int i, int j) {
+    return i >= 0 && j >= 0 && i < this.width && j < this.height
+            && isSet(this.board, this.bit(i, j));
+  }
+
+  /**
+   * Sets the given bit of the given bitset.
+   * @param bits the bitset
+   * @param bit  the bit index
+   */
+  public static void set(long[] bits, int bit) {
+    bits[bit >>> 6] |= 1L << bit;
+  }
+
+  /**
+   * Clears the given bit of the given bitset.
+   * @param bits the bitset
+   * @param bit  the bit index
+   */
+  public static void clear(long[] bits, int bit) {
+    bits[bit >>> 6] &= ~(1L << bit);
+  }
+
+  /**
+   * Determines whether the given bit of the given bitset is set.
+   * @param bits the bitset
+   * @param bit  the bit index
+   * @return true if the bit is set
+   */
+  public static boolean isSet(long[] bits, int bit) {
+    return (bits[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  /**
+   * Counts the bits set in the given bitset.
+   * @param bits the bitset
+   * @return the number of bits set
+   */
+  public static int count(long[] bits) {
+    int count = 0;
+    for (long word : bits) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the bit indices set in the given bitset, in increasing order.
+   * @param bits the bitset
+   * @return the set bits
+   */
+  public static int[] toArray(long[] bits) {
+    int[] set = new int[count(bits)];
+    int k = 0;
+    for (int w = 0; w < bits.length; w++) {
+      for (long word = bits[w]; word != 0; word &= word - 1) {
+        set[k++] = w * 64 + Long.numberOfTrailingZeros(word);
+      }
+    }
+    return set;
+  }
+
+  /**
+   * Fills the given bitset with every empty cell in which a disc of own would sandwich a line of
+   * discs of opp.
+   *
+   * @param own   the cells with a disc of the player to move
+   * @param opp   the cells with a disc of the opponent
+   * @param moves the bitset to fill with the legal moves
+   * @return true if there is at least one legal move
+   */
+  public boolean generateMoves(long[] own, long[] opp, long[] moves) {
+    Arrays.fill(moves, 0);
+    for (int offset : this.offsets) {
+      // the frontier starts at the opponent discs directly next to one of our discs and moves one
+      // cell further along the line each iteration until it runs out of opponent discs
+      this.generator.step(offset, this.board, own, this.frontier);
+      boolean live = this.generator.and(this.frontier, opp);
+      while (live) {
+        this.generator.step(offset, this.board, this.frontier, this.shifted);
+        live = this.generator.propagate(this.shifted, own, opp, moves, this.frontier);
+      }
+    }
+    for (long word : moves) {
+      if (word != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Fills the given bitset with the discs of opp that a disc of own placed in the cell at the given
+   * bit would flip.
+   *
+   * @param bit   the bit index of the cell
+   * @param own   the cells with a disc of the player to move
+   * @param opp   the cells with a disc of the opponent
+   * @param flips the bitset to fill with the flipped discs
+   * @return the number of flipped discs
+   */
+  public int generateFlips(int bit, long[] own, long[] opp, long[] flips) {
+    Arrays.fill(flips, 0);
+    int count = 0;
+    int capacity = this.capacity();
+    for (int d = 0; d < this.offsets.length; d++) {
+      int n = this.offsets[d];
+      int length = 0;
+      int current = bit + n;
+      while (current >= 0 && current < capacity && isSet(opp, current)) {
+        current += n;
+        length++;
+      }
+      if (length > 0 && current >= 0 && current < capacity && isSet(own, current)) {
+        for (int k = 1; k <= length; k++) {
+          set(flips, bit + k * n);
+        }
+        count += length;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,431 @@
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * BoardState holds the discs on a board of any {@link BoardTopology} together with everything
+ * kept up to date from them: the number of discs of each kind, the Zobrist key, the bit masks of
+ * every line, the empty cells next to a disc and the legal moves of each player. It applies the
+ * rules of Reversi to those discs, so a model only has to pick the topology and present the cells
+ * as tiles.
+ *
+ * <p>Discs are given as one of {@link BoardTopology#EMPTY}, {@link BoardTopology#BLACK} or
+ * {@link BoardTopology#WHITE}, and cells are numbered like the cells of the topology. Changing a
+ * cell with {@link #set} marks the legal moves as stale, so they are rebuilt from the frontier the
+ * next time they are asked for, while {@link #place} and {@link #undo} update them in place.
+ */
+public final class BoardState {
+
+  // the disc state of an empty cell, a cell with a black disc and a cell with a white disc
+  private static final byte EMPTY = BoardTopology.EMPTY;
+  private static final byte BLACK = BoardTopology.BLACK;
+  private static final byte WHITE = BoardTopology.WHITE;
+
+  // the neighbors, rays and lines of every cell of the board. It never changes, so copies share it.
+  private final BoardTopology topology;
+
+  // the disc state of every cell
+  private final byte[] cells;
+
+  // the discs of each player along every line of the board as bit masks, kept up to date by every
+  // change to the cells so that flips can be found with shifts when the lines are short enough
+  private final int[] lines;
+
+  // the number of cells in each disc state, indexed by the state. Kept up to date by every change
+  // to the cells so that scores do not need to scan the board.
+  private final int[] discCount;
+
+  // the Zobrist keys of each disc state in each cell, indexed by [disc][cell], where the keys of
+  // empty cells are 0. They never change, so copies share them.
+  private final long[][] zobrist;
+
+  // the XOR of the Zobrist keys of every disc on the board. Kept up to date by every change to the
+  // cells.
+  private long key;
+
+  // the empty cells next to at least one disc. Only these cells can be legal moves. Kept up to
+  // date by every change to the cells, so a rebuild of the legal moves only looks at these cells.
+  private final BitSet frontier;
+
+  // the cells that are legal moves for the player with each disc state, indexed by disc, and the
+  // number of legal moves for each disc state
+  private final BitSet[] legal;
+  private final int[] legalCount;
+
+  // true when the legal moves have to be rebuilt from the frontier because cells were changed with
+  // set. Otherwise each move only updates the cells it affects.
+  private boolean mobilityStale;
+
+  // scratch list of the cells changed by the last move placed or undone: the cell of the move
+  // followed by the flipped cells
+  private final int[] changed;
+
+  /**
+   * Constructs an empty board of the given topology.
+   *
+   * @param topology the cells of the board and how they are connected
+   * @throws IllegalArgumentException if the topology is null
+   */
+  public BoardState(BoardTopology topology) {
+    if (topology == null) {
+      throw new IllegalArgumentException();
+    }
+    int n = topology.cells();
+    this.topology = topology;
+    this.cells = new byte[n];
+    this.lines = topology.emptyLines();
+    this.discCount = new int[3];
+    this.discCount[EMPTY] = n;
+    this.zobrist = new long[][] {new long[n], Zobrist.keys(Player.A, n), Zobrist.keys(Player.B, n)};
+    this.frontier = new BitSet(n);
+    this.legal = new BitSet[] {null, new BitSet(n), new BitSet(n)};
+    this.legalCount = new int[3];
+    this.changed = new int[n];
+  }
+
+  // copies the given board. The topology and the Zobrist keys never change, so they are shared
+  // with the given board, and only the state of the cells is cloned.
+  private BoardState(BoardState source) {
+    this.topology = source.topology;
+    this.cells = source.cells.clone();
+    this.lines = source.lines.clone();
+    this.discCount = source.discCount.clone();
+    this.zobrist = source.zobrist;
+    this.key = source.key;
+    this.frontier = (BitSet) source.frontier.clone();
+    this.legal = new BitSet[] {null, (BitSet) source.legal[BLACK].clone(),
+        (BitSet) source.legal[WHITE].clone()};
+    this.legalCount = source.legalCount.clone();
+    this.mobilityStale = source.mobilityStale;
+    this.changed = new int[source.changed.length];
+  }
+
+  /**
+   * Returns a copy of this board that can be changed independently of it. Only the state of the
+   * cells is copied; the topology is shared.
+   *
+   * @return the copy
+   */
+  public BoardState copy() {
+    return new BoardState(this);
+  }
+
+  /**
+   * Returns the topology of this board.
+   * @return the topology.
+   */
+  public BoardTopology topology() {
+    return this.topology;
+  }
+
+  /**
+   * Returns the number of cells of this board.
+   * @return the number of cells.
+   */
+  public int cells() {
+    return this.cells.length;
+  }
+
+  /**
+   * Returns the disc in the given cell.
+   *
+   * @param cell the index of the cell
+   * @return the disc state of the cell
+   */
+  public byte get(int cell) {
+    return this.cells[cell];
+  }
+
+  /**
+   * Puts the given disc in the given cell without applying the rules, flipping nothing. The legal
+   * moves are rebuilt the next time they are asked for.
+   *
+   * @param cell the index of the cell
+   * @param disc the disc state to put in the cell
+   */
+  public void set(int cell, byte disc) {
+    this.discCount[this.cells[cell]]--;
+    this.discCount[disc]++;
+    this.write(cell, disc);
+    this.mobilityStale = true;
+  }
+
+  // writes the given disc state to the given cell and updates the key, the lines and the frontier,
+  // leaving the counts to the caller
+  private void write(int cell, byte disc) {
+    byte old = this.cells[cell];
+    this.key ^= this.zobrist[old][cell] ^ this.zobrist[disc][cell];
+    this.topology.updateLines(this.lines, cell, old, disc);
+    this.cells[cell] = disc;
+    if ((old == EMPTY) != (disc == EMPTY)) {
+      this.updateFrontier(cell);
+    }
+  }
+
+  // updates the frontier after the given cell was filled or emptied. Only that cell and the cells
+  // next to it can have joined or left the frontier.
+  private void updateFrontier(int cell) {
+    this.frontier.set(cell, this.onFrontier(cell));
+    for (int direction = 0; direction < this.topology.directions(); direction++) {
+      int n = this.topology.neighbor(cell, direction);
+      if (n >= 0) {
+        this.frontier.set(n, this.onFrontier(n));
+      }
+    }
+  }
+
+  // determines whether the given cell is empty and next to a disc
+  private boolean onFrontier(int cell) {
+    return this.cells[cell] == EMPTY && this.topology.nextToDisc(this.cells, cell);
+  }
+
+  /**
+   * Returns the number of discs the given disc placed in the given cell would flip, whether or not
+   * that cell already has a disc.
+   *
+   * @param cell the index of the cell
+   * @param disc the disc placed
+   * @return the number of discs that would be flipped
+   */
+  public int flipCount(int cell, byte disc) {
+    if (this.topology.hasLineMasks()) {
+      return this.topology.maskFlipCount(this.lines, cell, disc);
+    }
+    return this.topology.flipCount(this.cells, cell, disc);
+  }
+
+  // writes the cells of the discs the given disc placed in the given cell would flip into the given
+  // array starting at the given offset, and returns how many there are
+  private int flips(int cell, byte disc, int[] out, int offset) {
+    if (this.topology.hasLineMasks()) {
+      return this.topology.maskFlips(this.lines, cell, disc, out, offset);
+    }
+    return this.topology.flips(this.cells, cell, disc, out, offset);
+  }
+
+  /**
+   * Returns the number of discs the given disc would flip by being placed in each cell of the
+   * board, scanning every line of the board once in each direction.
+   *
+   * @param disc the disc placed
+   * @return the number of discs a move in each cell would flip
+   */
+  public int[] flipCounts(byte disc) {
+    return this.topology.flipCounts(this.cells, disc);
+  }
+
+  /**
+   * Returns the directions in which the given cell has a neighbor with a disc, as a mask with the
+   * bit (1 << direction) set for each.
+   *
+   * @param cell the index of the cell
+   * @return the mask of directions whose neighbor has a disc
+   */
+  public int discNeighbors(int cell) {
+    return this.topology.discNeighbors(this.cells, cell);
+  }
+
+  /**
+   * Returns the directions in which the given cell has a neighbor with a disc other than the given
+   * disc, as a mask with the bit (1 << direction) set for each.
+   *
+   * @param cell the index of the cell
+   * @param disc the disc of the player looking at the neighbors
+   * @return the mask of directions whose neighbor has an opposing disc
+   */
+  public int opponentNeighbors(int cell, byte disc) {
+    return this.topology.discNeighbors(this.cells, cell)
+            & ~this.topology.neighborMask(this.cells, cell, disc);
+  }
+
+  /**
+   * Places the given disc in the given cell and flips the discs it sandwiches.
+   *
+   * @param cell the index of the cell
+   * @param disc the disc placed, black or white
+   * @return the number of flipped discs, which {@link #lastFlips} lists
+   * @throws IllegalStateException    if the cell is not on the board or already has a disc
+   * @throws IllegalArgumentException if the move does not flip any discs
+   */
+  public int place(int cell, byte disc) {
+    if (cell < 0 || cell >= this.cells.length || this.cells[cell] != EMPTY) {
+      throw new IllegalStateException();
+    }
+    int flipped = this.flips(cell, disc, this.changed, 1);
+    if (flipped == 0) {
+      throw new IllegalArgumentException();
+    }
+    this.changed[0] = cell;
+    for (int k = 0; k <= flipped; k++) {
+      this.write(this.changed[k], disc);
+    }
+    this.discCount[EMPTY]--;
+    this.discCount[disc] += flipped + 1;
+    this.discCount[disc == BLACK ? WHITE : BLACK] -= flipped;
+    if (!this.mobilityStale) {
+      this.updateMobility(this.changed, flipped + 1);
+    }
+    return flipped;
+  }
+
+  /**
+   * Returns the cell of the last move placed or undone on this board.
+   * @return the index of the cell.
+   */
+  public int lastMove() {
+    return this.changed[0];
+  }
+
+  /**
+   * Returns the cells of the discs flipped by the last move placed or undone on this board.
+   *
+   * @param flipped the number of flipped discs, as returned by place
+   * @return a new array with the index of each flipped cell
+   */
+  public int[] lastFlips(int flipped) {
+    return Arrays.copyOfRange(this.changed, 1, flipped + 1);
+  }
+
+  /**
+   * Takes back the given move, which must be the last move placed on this board that has not been
+   * undone yet: the cell of the move is emptied and the flipped discs are given back to the
+   * opponent.
+   *
+   * @param record the record of the move, which must not be a pass
+   * @param disc   the disc that was placed, black or white
+   * @throws IllegalStateException if the cell of the move does not hold the given disc
+   */
+  public void undo(UndoRecord record, byte disc) {
+    byte opp = disc == BLACK ? WHITE : BLACK;
+    int cell = record.getCell();
+    int flipped = record.getFlipCount();
+    if (cell >= this.cells.length || this.cells[cell] != disc) {
+      throw new IllegalStateException("Move is not the last move made");
+    }
+    this.write(cell, EMPTY);
+    this.changed[0] = cell;
+    for (int k = 0; k < flipped; k++) {
+      this.write(record.getFlipped(k), opp);
+      this.changed[k + 1] = record.getFlipped(k);
+    }
+    this.discCount[EMPTY]++;
+    this.discCount[disc] -= flipped + 1;
+    this.discCount[opp] += flipped;
+    if (!this.mobilityStale) {
+      this.updateMobility(this.changed, flipped + 1);
+    }
+  }
+
+  // recomputes whether the given cell is a legal move for each player
+  private void updateMobility(int cell) {
+    boolean next = this.frontier.get(cell);
+    for (byte disc = BLACK; disc <= WHITE; disc++) {
+      boolean isLegal = next && this.flipCount(cell, disc) > 0;
+      if (isLegal != this.legal[disc].get(cell)) {
+        this.legal[disc].set(cell, isLegal);
+        this.legalCount[disc] += isLegal ? 1 : -1;
+      }
+    }
+  }
+
+  // updates the legal moves after the given cells changed. Only the first empty cell past the
+  // discs in each direction of a changed cell can have gained or lost a legal move.
+  private void updateMobility(int[] cells, int count) {
+    for (int k = 0; k < count; k++) {
+      int cell = cells[k];
+      this.updateMobility(cell);
+      for (int direction = 0; direction < this.topology.directions(); direction++) {
+        int n = this.topology.neighbor(cell, direction);
+        while (n >= 0 && this.cells[n] != EMPTY) {
+          n = this.topology.neighbor(n, direction);
+        }
+        if (n >= 0) {
+          this.updateMobility(n);
+        }
+      }
+    }
+  }
+
+  // rebuilds the legal moves from the frontier if cells were changed with set since they were last
+  // computed. Cells off the frontier cannot be legal moves, so only the frontier is checked.
+  private void ensureMobility() {
+    if (this.mobilityStale) {
+      for (byte disc = BLACK; disc <= WHITE; disc++) {
+        this.legal[disc].clear();
+        this.legalCount[disc] = 0;
+      }
+      for (int p = this.frontier.nextSetBit(0); p >= 0; p = this.frontier.nextSetBit(p + 1)) {
+        this.updateMobility(p);
+      }
+      this.mobilityStale = false;
+    }
+  }
+
+  /**
+   * Returns the cells where the given disc can be placed. The legal moves are kept up to date by
+   * every move, so this only copies them.
+   *
+   * @param disc the disc of the player, black or white
+   * @return the set of cells that are legal moves
+   */
+  public BitSet legalMoves(byte disc) {
+    this.ensureMobility();
+    return (BitSet) this.legal[disc].clone();
+  }
+
+  /**
+   * Returns the number of cells where the given disc can be placed.
+   *
+   * @param disc the disc of the player, black or white
+   * @return the number of legal moves
+   */
+  public int legalMoveCount(byte disc) {
+    this.ensureMobility();
+    return this.legalCount[disc];
+  }
+
+  /**
+   * Returns the number of cells holding the given disc state. The counts are kept up to date by
+   * every change to the cells, so this does not scan the board.
+   *
+   * @param disc the disc state
+   * @return the number of cells in that state
+   */
+  public int count(byte disc) {
+    assert this.discCount[disc] == this.countDiscs(disc)
+            : "disc count " + this.discCount[disc] + " does not match the board";
+    return this.discCount[disc];
+  }
+
+  // counts the cells with the given disc state by scanning the whole board
+  private int countDiscs(byte disc) {
+    int count = 0;
+    for (byte cell : this.cells) {
+      if (cell == disc) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the XOR of the Zobrist keys of every disc on the board, which is kept up to date by
+   * every change to the cells.
+   *
+   * @return the 64-bit key of the discs
+   */
+  public long key() {
+    assert this.key == this.computeKey() : "key does not match the board";
+    return this.key;
+  }
+
+  // computes the key of the discs on the board by scanning every cell
+  private long computeKey() {
+    long key = 0;
+    for (int cell = 0; cell < this.cells.length; cell++) {
+      key ^= this.zobrist[this.cells[cell]][cell];
+    }
+    return key;
+  }
+}
@@ -0,0 +1,638 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * BoardTopology describes the cells of a board of any shape and how they are connected, so that
+ * the rules of Reversi can be applied to it without knowing whether it is a hexagon, a square or
+ * anything else. Cells are numbered from 0 in the order they were given, which is the order of the
+ * grid of the model using the topology.
+ *
+ * <p>The neighbors of every cell are stored in compressed sparse row form: the neighbors of cell c
+ * are the entries of one flat array from {@code adjacencyStart[c]} up to
+ * {@code adjacencyStart[c + 1]}. The rays are stored the same way, with one row for every cell
+ * and direction listing the cells from the neighbor in that direction up to the edge of the board.
+ * Finding the discs a move flips is then one loop over flat int arrays for every topology.
+ *
+ * <p>Every pair of opposite directions is an axis, and the cells of the board are split into the
+ * lines running along each axis. When no line is longer than the {@link #MAX_LINE} bits of an int,
+ * a board can keep the discs of each player along every line as a bit mask, updated with
+ * {@link #updateLines}, and find the flips along each ray with a few shifts instead of walking it.
+ *
+ * <p>The disc in each cell is given by a byte array with one of {@link #EMPTY}, {@link #BLACK} or
+ * {@link #WHITE} for each cell. A BoardTopology is immutable and can be shared between boards.
+ */
+public final class BoardTopology {
+
+  /**
+   * The disc state of a cell without a disc.
+   */
+  public static final byte EMPTY = 0;
+
+  /**
+   * The disc state of a cell with a black disc.
+   */
+  public static final byte BLACK = 1;
+
+  /**
+   * The disc state of a cell with a white disc.
+   */
+  public static final byte WHITE = 2;
+
+  /**
+   * The number of cells of the longest line whose discs fit in the bit masks of the lines.
+   */
+  public static final int MAX_LINE = Integer.SIZE;
+
+  // the change in the diagonal and row coordinates in each direction of a hexagonal board, in the
+  // order of the direction constants of NoDiscHexagon
+  private static final int[] HEXAGON_DIAGONAL_STEP = {1, -1, 0, -1, 1, 0};
+  private static final int[] HEXAGON_ROW_STEP = {0, 0, -1, -1, 1, 1};
+
+  // the change in the diagonal and row coordinates in each direction of a square board, in the
+  // order of the direction constants of NoDiscSquare
+  private static final int[] SQUARE_DIAGONAL_STEP = {1, -1, 1, -1, 1, -1, 0, 0};
+  private static final int[] SQUARE_ROW_STEP = {0, 0, -1, -1, 1, 1, -1, 1};
+
+  // the coordinates of each cell
+  private final int[] diagonals;
+  private final int[] rows;
+
+  // the number of directions a line can run in from a cell
+  private final int directions;
+
+  // the cell at each coordinate of the bounding box of the board, stored at
+  // (row * columns + diagonal), or -1 for coordinates that are not on the board
+  private final int columns;
+  private final int[] cellIndex;
+
+  // the neighbor of each cell in each direction, stored at (cell * directions + direction), or -1
+  // if that neighbor is off the board
+  private final int[] neighbors;
+
+  // the neighbors on the board of each cell in compressed sparse row form
+  private final int[] adjacencyStart;
+  private final int[] adjacency;
+
+  // the cells along the ray from each cell in each direction in compressed sparse row form, where
+  // the row of a cell and direction is (cell * directions + direction)
+  private final int[] rayStart;
+  private final int[] rayCells;
+
+  // the number of axes, and the axis of each direction along with whether the lines of that axis
+  // run forward in that direction
+  private final int axes;
+  private final int[] directionAxis;
+  private final boolean[] directionForward;
+
+  // the number of lines along all axes, and the line and offset along that line of each cell on
+  // each axis packed as (line * MAX_LINE + offset), stored at (cell * axes + axis), so that finding
+  // both is one load followed by a shift and a mask. They are only unpacked when every line fits in
+  // the line masks.
+  private final int lines;
+  private final int[] cellLines;
+
+  // the cells of every line in order along the line in compressed sparse row form, or null if some
+  // direction has no opposite
+  private final int[] lineStart;
+  private final int[] lineCells;
+
+  // whether every line fits in the bit masks of the lines
+  private final boolean masks;
+
+  /**
+   * Constructs the topology of a board with the given cells, where moving in a direction changes
+   * the coordinates of a cell by the given steps.
+   *
+   * @param diagonals    the diagonal coordinate of each cell
+   * @param rows         the row coordinate of each cell
+   * @param diagonalStep the change in the diagonal coordinate when moving in each direction
+   * @param rowStep      the change in the row coordinate when moving in each direction
+   * @throws IllegalArgumentException if the arrays are null or do not match, if a coordinate is
+   *                                  negative or if two cells have the same coordinates
+   */
+  public BoardTopology(int[] diagonals, int[] rows, int[] diagonalStep, int[] rowStep) {
+    if (diagonals == null || rows == null || diagonalStep == null || rowStep == null
+            || diagonals.length != rows.length || diagonalStep.length != rowStep.length) {
+      throw new IllegalArgumentException();
+    }
+    int n = diagonals.length;
+    this.diagonals = diagonals.clone();
+    this.rows = rows.clone();
+    this.directions = diagonalStep.length;
+    int columns = 0;
+    int height = 0;
+    for (int cell = 0; cell < n; cell++) {
+      if (diagonals[cell] < 0 || rows[cell] < 0) {
+        throw new IllegalArgumentException("Coordinates must not be negative");
+      }
+      columns = Math.max(columns, diagonals[cell] + 1);
+      height = Math.max(height, rows[cell] + 1);
+    }
+    this.columns = columns;
+    this.cellIndex = new int[columns * height];
+    Arrays.fill(this.cellIndex, -1);
+    for (int cell = 0; cell < n; cell++) {
+      int index = rows[cell] * columns + diagonals[cell];
+      if (this.cellIndex[index] >= 0) {
+        throw new IllegalArgumentException("Two cells have the same coordinates");
+      }
+      this.cellIndex[index] = cell;
+    }
+
+    this.neighbors = new int[n * this.directions];
+    this.adjacencyStart = new int[n + 1];
+    int degrees = 0;
+    for (int cell = 0; cell < n; cell++) {
+      for (int d = 0; d < this.directions; d++) {
+        int next = this.cellAt(diagonals[cell] + diagonalStep[d], rows[cell] + rowStep[d]);
+        this.neighbors[cell * this.directions + d] = next;
+        if (next >= 0) {
+          degrees++;
+        }
+      }
+      this.adjacencyStart[cell + 1] = degrees;
+    }
+    this.adjacency = new int[degrees];
+    int k = 0;
+    for (int entry = 0; entry < this.neighbors.length; entry++) {
+      if (this.neighbors[entry] >= 0) {
+        this.adjacency[k++] = this.neighbors[entry];
+      }
+    }
+
+    this.rayStart = new int[n * this.directions + 1];
+    int length = 0;
+    for (int entry = 0; entry < n * this.directions; entry++) {
+      for (int c = this.neighbors[entry]; c >= 0; c = this.neighbors[c * this.directions
+              + entry % this.directions]) {
+        length++;
+      }
+      this.rayStart[entry + 1] = length;
+    }
+    this.rayCells = new int[length];
+    k = 0;
+    for (int entry = 0; entry < n * this.directions; entry++) {
+      for (int c = this.neighbors[entry]; c >= 0; c = this.neighbors[c * this.directions
+              + entry % this.directions]) {
+        this.rayCells[k++] = c;
+      }
+    }
+
+    // pair every direction with its opposite, making the first of each pair the forward direction
+    // of an axis
+    this.directionAxis = new int[this.directions];
+    this.directionForward = new boolean[this.directions];
+    Arrays.fill(this.directionAxis, -1);
+    int axes = 0;
+    boolean paired = true;
+    int[] backward = new int[this.directions];
+    for (int d = 0; d < this.directions; d++) {
+      if (this.directionAxis[d] >= 0) {
+        continue;
+      }
+      int opposite = -1;
+      for (int o = d + 1; o < this.directions; o++) {
+        if (diagonalStep[o] == -diagonalStep[d] && rowStep[o] == -rowStep[d]) {
+          opposite = o;
+        }
+      }
+      paired &= opposite >= 0;
+      this.directionAxis[d] = axes;
+      this.directionForward[d] = true;
+      backward[axes] = opposite;
+      if (opposite >= 0) {
+        this.directionAxis[opposite] = axes;
+      }
+      axes++;
+    }
+    this.axes = axes;
+
+    // walk every line forward from its first cell, which has no neighbor backward
+    this.cellLines = new int[n * axes];
+    int[] lineStart = new int[n * axes + 1];
+    int[] lineCells = new int[n * axes];
+    int lines = 0;
+    int longest = 0;
+    for (int a = 0; a < axes && paired; a++) {
+      int forward = -1;
+      for (int d = 0; d < this.directions; d++) {
+        if (this.directionAxis[d] == a && this.directionForward[d]) {
+          forward = d;
+        }
+      }
+      for (int cell = 0; cell < n; cell++) {
+        if (this.neighbor(cell, backward[a]) < 0) {
+          int offset = 0;
+          for (int c = cell; c >= 0; c = this.neighbor(c, forward)) {
+            this.cellLines[c * axes + a] = lines * MAX_LINE + offset;
+            lineCells[lineStart[lines] + offset++] = c;
+          }
+          longest = Math.max(longest, offset);
+          lineStart[lines + 1] = lineStart[lines] + offset;
+          lines++;
+        }
+      }
+    }
+    this.lines = lines;
+    this.lineStart = paired ? Arrays.copyOf(lineStart, lines + 1) : null;
+    this.lineCells = paired ? lineCells : null;
+    this.masks = paired && longest <= MAX_LINE;
+  }
+
+  /**
+   * Returns the topology of a hexagonal board with the given number of cells along each side. The
+   * cells are ordered by diagonal and then by row, like the grid of a ReversiModel.
+   *
+   * @param size the number of cells along each side of the board
+   * @return the topology of the board
+   * @throws IllegalArgumentException if the size is less than or equal to 1
+   */
+  public static BoardTopology hexagon(int size) {
+    if (size <= 1) {
+      throw new IllegalArgumentException("Size must be greater than 1");
+    }
+    int width = 2 * size - 1;
+    int n = width * width - size * (size - 1);
+    int[] diagonals = new int[n];
+    int[] rows = new int[n];
+    int cell = 0;
+    for (int i = 0; i < width; i++) {
+      for (int j = 0; j < width; j++) {
+        if (Math.abs(i - j) <= size - 1) {
+          diagonals[cell] = i;
+          rows[cell] = j;
+          cell++;
+        }
+      }
+    }
+    return new BoardTopology(diagonals, rows, HEXAGON_DIAGONAL_STEP, HEXAGON_ROW_STEP);
+  }
+
+  /**
+   * Returns the topology of a square board with the given number of cells along each side. The
+   * cells are ordered by diagonal and then by row, like the grid of a SquareReversiModel.
+   *
+   * @param size the number of cells along each side of the board
+   * @return the topology of the board
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public static BoardTopology square(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    int[] diagonals = new int[size * size];
+    int[] rows = new int[size * size];
+    for (int cell = 0; cell < size * size; cell++) {
+      diagonals[cell] = cell / size;
+      rows[cell] = cell % size;
+    }
+    return new BoardTopology(diagonals, rows, SQUARE_DIAGONAL_STEP, SQUARE_ROW_STEP);
+  }
+
+  /**
+   * Returns the number of cells of the board.
+   * @return the number of cells.
+   */
+  public int cells() {
+    return this.diagonals.length;
+  }
+
+  /**
+   * Returns the number of directions a line can run in from a cell.
+   * @return the number of directions.
+   */
+  public int directions() {
+    return this.directions;
+  }
+
+  /**
+   * Returns the diagonal coordinate of the given cell.
+   * @param cell the index of the cell
+   * @return the diagonal coordinate.
+   */
+  public int diagonal(int cell) {
+    return this.diagonals[cell];
+  }
+
+  /**
+   * Returns the row coordinate of the given cell.
+   * @param cell the index of the cell
+   * @return the row coordinate.
+   */
+  public int row(int cell) {
+    return this.rows[cell];
+  }
+
+  /**
+   * Returns the cell with the given coordinates.
+   *
+   * @param i the diagonal coordinate
+   * @param j the row coordinate
+   * @return the index of the cell, or -1 if the coordinates are not on the board
+   */
+  public int cellAt(int i, int j) {
+    if (i < 0 || j < 0 || i >= this.columns || j * this.columns + i >= this.cellIndex.length) {
+      return -1;
+    }
+    return this.cellIndex[j * this.columns + i];
+  }
+
+  /**
+   * Returns the neighbor of the given cell in the given direction.
+   *
+   * @param cell      the index of the cell
+   * @param direction the direction, from 0 to the number of directions
+   * @return the index of the neighbor, or -1 if it is off the board
+   */
+  public int neighbor(int cell, int direction) {
+    return this.neighbors[cell * this.directions + direction];
+  }
+
+  /**
+   * Determines whether any neighbor of the given cell has a disc.
+   *
+   * @param state the disc state of every cell
+   * @param cell  the index of the cell
+   * @return true if the cell is next to at least one disc
+   */
+  public boolean nextToDisc(byte[] state, int cell) {
+    for (int k = this.adjacencyStart[cell]; k < this.adjacencyStart[cell + 1]; k++) {
+      if (state[this.adjacency[k]] != EMPTY) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the directions in which the neighbor of the given cell is in the given state, as a
+   * mask with the bit (1 << direction) set for each. Boards have at most 8 directions, so the mask
+   * fits in the low byte.
+   *
+   * @param state the disc state of every cell
+   * @param cell  the index of the cell
+   * @param disc  the state to look for
+   * @return the mask of directions whose neighbor is in that state
+   */
+  public int neighborMask(byte[] state, int cell, byte disc) {
+    int mask = 0;
+    int base = cell * this.directions;
+    for (int d = 0; d < this.directions; d++) {
+      int n = this.neighbors[base + d];
+      if (n >= 0 && state[n] == disc) {
+        mask |= 1 << d;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the directions in which the neighbor of the given cell has a disc of either color, as
+   * a mask in the same form as neighborMask.
+   *
+   * @param state the disc state of every cell
+   * @param cell  the index of the cell
+   * @return the mask of directions whose neighbor has a disc
+   */
+  public int discNeighbors(byte[] state, int cell) {
+    int mask = 0;
+    int base = cell * this.directions;
+    for (int d = 0; d < this.directions; d++) {
+      int n = this.neighbors[base + d];
+      if (n >= 0 && state[n] != EMPTY) {
+        mask |= 1 << d;
+      }
+    }
+    return mask;
+  }
+
+  // returns the number of discs at the start of the given ray that a disc of the given state would
+  // flip, which is the length of the run of opposing discs if it is closed by a disc of that state
+  private int flipLength(byte[] state, int ray, byte disc) {
+    int start = this.rayStart[ray];
+    int end = this.rayStart[ray + 1];
+    for (int k = start; k < end; k++) {
+      byte cell = state[this.rayCells[k]];
+      if (cell == disc) {
+        return k - start;
+      } else if (cell == EMPTY) {
+        return 0;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the number of discs a disc of the given state placed in the given cell would flip,
+   * whether or not that cell already has a disc.
+   *
+   * @param state the disc state of every cell
+   * @param cell  the index of the cell
+   * @param disc  the disc state of the disc placed, BLACK or WHITE
+   * @return the number of discs that would be flipped
+   */
+  public int flipCount(byte[] state, int cell, byte disc) {
+    int count = 0;
+    int base = cell * this.directions;
+    for (int d = 0; d < this.directions; d++) {
+      count += this.flipLength(state, base + d, disc);
+    }
+    return count;
+  }
+
+  /**
+   * Writes the cells of the discs a disc of the given state placed in the given cell would flip
+   * into the given array, starting at the given offset.
+   *
+   * @param state  the disc state of every cell
+   * @param cell   the index of the cell
+   * @param disc   the disc state of the disc placed, BLACK or WHITE
+   * @param out    the array to write the flipped cells to
+   * @param offset the index of out to write the first flipped cell to
+   * @return the number of discs that would be flipped
+   */
+  public int flips(byte[] state, int cell, byte disc, int[] out, int offset) {
+    int count = 0;
+    int base = cell * this.directions;
+    for (int d = 0; d < this.directions; d++) {
+      int length = this.flipLength(state, base + d, disc);
+      System.arraycopy(this.rayCells, this.rayStart[base + d], out, offset + count, length);
+      count += length;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of discs a disc of the given state would flip in every cell without a disc,
+   * in one pass over the board. Each line is scanned once in each direction, carrying the length of
+   * the run of opposing discs closed by a disc of the given state, so the whole board costs a
+   * constant number of steps per cell instead of a walk along every ray of every cell.
+   *
+   * @param state the disc state of every cell
+   * @param disc  the disc state of the disc placed, BLACK or WHITE
+   * @return the number of discs that would be flipped in each cell, or 0 for cells with a disc
+   */
+  public int[] flipCounts(byte[] state, byte disc) {
+    int[] counts = new int[this.cells()];
+    if (this.lineStart == null) {
+      for (int cell = 0; cell < counts.length; cell++) {
+        if (state[cell] == EMPTY) {
+          counts[cell] = this.flipCount(state, cell, disc);
+        }
+      }
+      return counts;
+    }
+    for (int line = 0; line < this.lines; line++) {
+      int start = this.lineStart[line];
+      int end = this.lineStart[line + 1];
+      // the number of opposing discs since the last disc of the given state, or -1 if there is
+      // no such disc since the last empty cell
+      int run = -1;
+      for (int k = end - 1; k >= start; k--) {
+        run = this.scan(state, this.lineCells[k], disc, run, counts);
+      }
+      run = -1;
+      for (int k = start; k < end; k++) {
+        run = this.scan(state, this.lineCells[k], disc, run, counts);
+      }
+    }
+    return counts;
+  }
+
+  // moves the scan of a line onto the given cell: an empty cell collects the run behind it, a disc
+  // of the given state starts a new run and an opposing disc extends the current one. Returns the
+  // run after the cell.
+  private int scan(byte[] state, int cell, byte disc, int run, int[] counts) {
+    byte current = state[cell];
+    if (current == EMPTY) {
+      if (run > 0) {
+        counts[cell] += run;
+      }
+      return -1;
+    } else if (current == disc) {
+      return 0;
+    }
+    return run >= 0 ? run + 1 : -1;
+  }
+
+  /**
+   * Determines whether every line of this board is short enough for its discs to fit in the bit
+   * masks used by {@link #maskFlipCount} and {@link #maskFlips}.
+   *
+   * @return true if the line masks can be used
+   */
+  public boolean hasLineMasks() {
+    return this.masks;
+  }
+
+  /**
+   * Returns the line masks of an empty board, to be kept up to date with {@link #updateLines} as
+   * discs are placed and flipped. Each line has two masks next to each other, one with a bit set at
+   * the offset of every black disc along it and one for the white discs.
+   *
+   * @return the line masks of an empty board
+   */
+  public int[] emptyLines() {
+    return new int[2 * this.lines];
+  }
+
+  /**
+   * Updates the masks of the lines through the given cell after its disc state changed.
+   *
+   * @param lines the masks of every line, from {@link #emptyLines}
+   * @param cell  the index of the cell
+   * @param old   the disc state of the cell before the change
+   * @param disc  the disc state of the cell after the change
+   */
+  public void updateLines(int[] lines, int cell, byte old, byte disc) {
+    if (!this.masks || old == disc) {
+      return;
+    }
+    for (int a = 0; a < this.axes; a++) {
+      // the masks of the line are at base + BLACK and base + WHITE
+      int entry = this.cellLines[cell * this.axes + a];
+      int base = 2 * (entry >>> 5) - 1;
+      int bit = 1 << entry;
+      if (old != EMPTY) {
+        lines[base + old] &= ~bit;
+      }
+      if (disc != EMPTY) {
+        lines[base + disc] |= bit;
+      }
+    }
+  }
+
+  // returns the number of discs flipped along a line from the given offset toward higher offsets,
+  // given the masks of own and opposing discs along it. The run of opposing discs past the offset
+  // is counted with one count of zeros and is flipped when the bit after it is an own disc.
+  private static int forwardFlips(int own, int opp, int offset) {
+    int run = Integer.numberOfTrailingZeros(~(opp >>> offset >>> 1));
+    return run & -(own >>> offset >>> 1 >>> run & 1);
+  }
+
+  // returns the number of discs flipped along a line from the given offset toward lower offsets,
+  // in the same way as forwardFlips with the bits below the offset shifted up to the top
+  private static int backwardFlips(int own, int opp, int offset) {
+    int run = Integer.numberOfLeadingZeros(~(opp << (31 - offset) << 1));
+    return run & own << (31 - offset) << 1 << run >> 31;
+  }
+
+  /**
+   * Returns the number of discs a disc of the given state placed in the given cell would flip,
+   * finding the flips along each line through the cell from the line masks with shifts. Gives the
+   * same result as {@link #flipCount}.
+   *
+   * @param lines the masks of every line, kept up to date with {@link #updateLines}
+   * @param cell  the index of the cell
+   * @param disc  the disc state of the disc placed, BLACK or WHITE
+   * @return the number of discs that would be flipped
+   * @throws IllegalStateException if the lines of this board are too long for the masks
+   */
+  public int maskFlipCount(int[] lines, int cell, byte disc) {
+    if (!this.masks) {
+      throw new IllegalStateException("Lines are too long for the line masks");
+    }
+    int count = 0;
+    for (int a = 0; a < this.axes; a++) {
+      int entry = this.cellLines[cell * this.axes + a];
+      int base = 2 * (entry >>> 5) - 1;
+      int own = lines[base + disc];
+      int opp = lines[base + (BLACK + WHITE - disc)];
+      count += forwardFlips(own, opp, entry & 31) + backwardFlips(own, opp, entry & 31);
+    }
+    return count;
+  }
+
+  /**
+   * Writes the cells of the discs a disc of the given state placed in the given cell would flip
+   * into the given array, starting at the given offset, finding the flips along each ray from the
+   * line masks. Gives the same result as {@link #flips}.
+   *
+   * @param lines  the masks of every line, kept up to date with {@link #updateLines}
+   * @param cell   the index of the cell
+   * @param disc   the disc state of the disc placed, BLACK or WHITE
+   * @param out    the array to write the flipped cells to
+   * @param offset the index of out to write the first flipped cell to
+   * @return the number of discs that would be flipped
+   * @throws IllegalStateException if the lines of this board are too long for the masks
+   */
+  public int maskFlips(int[] lines, int cell, byte disc, int[] out, int offset) {
+    if (!this.masks) {
+      throw new IllegalStateException("Lines are too long for the line masks");
+    }
+    int count = 0;
+    int rays = cell * this.directions;
+    for (int d = 0; d < this.directions; d++) {
+      int entry = this.cellLines[cell * this.axes + this.directionAxis[d]];
+      int base = 2 * (entry >>> 5) - 1;
+      int own = lines[base + disc];
+      int opp = lines[base + (BLACK + WHITE - disc)];
+      int length = this.directionForward[d] ? forwardFlips(own, opp, entry & 31)
+              : backwardFlips(own, opp, entry & 31);
+      System.arraycopy(this.rayCells, this.rayStart[rays + d], out, offset + count, length);
+      count += length;
+    }
+    return count;
+  }
+}
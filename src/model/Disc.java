@@ -0,0 +1,58 @@
+package model;
+
+/**
+ * Represents the state of a single cell of the board: empty, or holding a black or a white disc.
+ * Each state has the byte code used by {@link BoardTopology}, so a board packs into a byte array,
+ * and the model never needs a drawing color to tell the discs apart. Views map discs to colors.
+ */
+public enum Disc {
+  EMPTY(BoardTopology.EMPTY), BLACK(BoardTopology.BLACK), WHITE(BoardTopology.WHITE);
+
+  // the discs indexed by their byte code
+  private static final Disc[] BY_STATE = values();
+
+  private final byte state;
+
+  Disc(byte state) {
+    this.state = state;
+  }
+
+  /**
+   * Access the byte code of this cell state.
+   *
+   * @return {@link BoardTopology#EMPTY}, {@link BoardTopology#BLACK} or {@link BoardTopology#WHITE}
+   */
+  public byte getState() {
+    return this.state;
+  }
+
+  /**
+   * Returns the disc of the other player.
+   *
+   * @return WHITE for BLACK, BLACK for WHITE, and EMPTY for EMPTY
+   */
+  public Disc opponent() {
+    switch (this) {
+      case BLACK:
+        return WHITE;
+      case WHITE:
+        return BLACK;
+      default:
+        return EMPTY;
+    }
+  }
+
+  /**
+   * Returns the cell state with the given byte code.
+   *
+   * @param state the byte code of the cell state
+   * @return the cell state
+   * @throws IllegalArgumentException if no cell state has the given code
+   */
+  public static Disc of(byte state) {
+    if (state < 0 || state >= BY_STATE.length) {
+      throw new IllegalArgumentException("No cell state " + state);
+    }
+    return BY_STATE[state];
+  }
+}
@@ -6,6 +6,12 @@ package model;
  */
 public class EmptyHexagon extends AbstractHexagon {
 
+  /**
+   * The tile that stands for every position off the board. An EmptyHexagon cannot be changed, so
+   * all boards share this one instead of creating a new tile for every missing neighbor, and can
+   * recognize it by identity.
+   */
+  public static final EmptyHexagon OFF_BOARD = new EmptyHexagon(-1, -1);
 
   public EmptyHexagon(int diagonal, int row) {
     super(diagonal, row);
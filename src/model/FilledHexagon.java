@@ -1,7 +1,5 @@
 package model;
 
-import java.awt.Color;
-
 /**
  * FilledHexagon is a subclass of NoDiscHexagon and
  * represents a tile with a disc in it.
@@ -11,8 +9,8 @@ public class FilledHexagon extends NoDiscHexagon {
   private int diagonal;
   private int row;
 
-  // Color of the disc in this tile
-  private final Color col;
+  // the disc in this tile
+  private final Disc disc;
   private AbstractHexagon right;
   private AbstractHexagon left;
   private AbstractHexagon topRight;
@@ -24,15 +22,15 @@ public class FilledHexagon extends NoDiscHexagon {
   /**
    * Constructor for FilledHexagon. Sets the coordinates and
    * neighboring tiles using the superclass.
-   * Initializes the color of disc inside it.
+   * Initializes the disc inside it.
    *
    * @param diagonal is the 0 based index (from the left) diagonal coordinate of the tile.
    * @param row      is the 0 based index (from the top) row coordinate of the tile
-   * @param col      is the color of the tile (black or white)
+   * @param disc     is the disc in the tile (black or white)
    */
-  public FilledHexagon(int diagonal, int row, Color col) {
+  public FilledHexagon(int diagonal, int row, Disc disc) {
     super(diagonal, row);
-    this.col = col;
+    this.disc = checkDisc(disc);
   }
 
   /**
@@ -46,21 +44,29 @@ public class FilledHexagon extends NoDiscHexagon {
    * @param topLeft     the tile's top left neighbor.
    * @param bottomRight the tile's bottom right neighbor
    * @param bottomLeft  the tile's bottom left neighbor
-   * @param col         the color of the tile (black or white)
+   * @param disc        the disc in the tile (black or white)
    */
   public FilledHexagon(int diagonal, int row, AbstractHexagon right, AbstractHexagon left,
                        AbstractHexagon topRight, AbstractHexagon topLeft,
-                       AbstractHexagon bottomRight, AbstractHexagon bottomLeft, Color col) {
+                       AbstractHexagon bottomRight, AbstractHexagon bottomLeft, Disc disc) {
     super(diagonal, row, right, left, topRight, topLeft, bottomRight, bottomLeft);
-    this.col = col;
+    this.disc = checkDisc(disc);
+  }
+
+  // returns the given disc if it is black or white, since a filled tile cannot be empty
+  private static Disc checkDisc(Disc disc) {
+    if (disc == null || disc == Disc.EMPTY) {
+      throw new IllegalArgumentException("A filled tile holds a black or white disc");
+    }
+    return disc;
   }
 
   /**
-   * Access the color of the tile.
+   * Access the disc in the tile.
    *
-   * @return the color of the given tile.
+   * @return the disc in the given tile.
    */
-  public Color getColor() {
-    return this.col;
+  public Disc getDisc() {
+    return this.disc;
   }
 }
@@ -0,0 +1,70 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Move describes the packed int encoding of a move shared by strategies, players, controllers and
+ * models. A move is the position of the tile in the grid of the model, which is getGrid for
+ * hexagonal boards and getBoard for square boards, or {@link #PASS} when the player passes. Moves
+ * are plain ints, so choosing and replaying them does not box anything.
+ */
+public final class Move {
+
+  /**
+   * The move of a player who passes their turn.
+   */
+  public static final int PASS = -1;
+
+  private Move() {
+  }
+
+  /**
+   * Determines whether the given move is a pass.
+   *
+   * @param move the packed move
+   * @return true if the move passes the turn instead of placing a disc
+   */
+  public static boolean isPass(int move) {
+    return move == PASS;
+  }
+
+  /**
+   * Returns the move placing a disc in the tile with the given coordinates of the given model,
+   * looked up through the coordinates of the model without listing its tiles.
+   *
+   * @param model    the model the move is made on
+   * @param diagonal the 0-based index (from the left) of the diagonal coordinate of the tile.
+   * @param row      the 0-based index (from the top) of the row coordinate of the tile.
+   * @return the packed move
+   * @throws IllegalArgumentException if the model is null or no tile has those coordinates
+   */
+  public static int of(ReadOnlyReversi model, int diagonal, int row) {
+    if (model == null) {
+      throw new IllegalArgumentException();
+    }
+    int position = model.getPosition(diagonal, row);
+    if (position < 0) {
+      throw new IllegalArgumentException("No tile at " + diagonal + ", " + row);
+    }
+    return position;
+  }
+
+  /**
+   * Returns the coordinates of the tile of the given move, as the diagonal followed by the row.
+   * This adapts packed moves to the methods that still take a list of coordinates.
+   *
+   * @param model the model the move is made on
+   * @param move  the packed move
+   * @return the diagonal and row of the tile, or null if the move is a pass
+   * @throws IllegalArgumentException if the model is null or the move is not on its board
+   */
+  public static List<Integer> toCoordinates(ReadOnlyReversi model, int move) {
+    if (model == null) {
+      throw new IllegalArgumentException();
+    } else if (isPass(move)) {
+      return null;
+    }
+    return Arrays.asList(model.getDiagonal(move), model.getRow(move));
+  }
+}
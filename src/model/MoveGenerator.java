@@ -0,0 +1,41 @@
+package model;
+
+/**
+ * MoveGenerator holds the word loops that a {@link BitsetBoard} runs for every direction while it
+ * generates moves. Each method works on whole bitsets of the same length, so an implementation can
+ * process several longs at once.
+ */
+interface MoveGenerator {
+
+  /**
+   * Moves every bit of src by the given offset and writes the bits that land on a cell of the board
+   * into dst. Bits shifted past either end of the bitset are dropped.
+   *
+   * @param offset the number of bits to move by, up for positive offsets and down for negative ones
+   * @param board  the cells of the board
+   * @param src    the bits to move
+   * @param dst    the bitset to write the moved bits to, which is not src
+   */
+  void step(int offset, long[] board, long[] src, long[] dst);
+
+  /**
+   * Keeps only the bits of a that are also set in b.
+   *
+   * @param a the bitset to intersect in place
+   * @param b the bitset to intersect with
+   * @return true if any bit of a is still set
+   */
+  boolean and(long[] a, long[] b);
+
+  /**
+   * Adds the empty cells of next to the moves and keeps the opponent discs of next in the frontier.
+   *
+   * @param next     the frontier after one step in a direction
+   * @param own      the cells with a disc of the player to move
+   * @param opp      the cells with a disc of the opponent
+   * @param moves    the legal moves found so far
+   * @param frontier the bitset to write the new frontier to, which is not next
+   * @return true if the new frontier has any bit set
+   */
+  boolean propagate(long[] next, long[] own, long[] opp, long[] moves, long[] frontier);
+}
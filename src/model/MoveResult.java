@@ -0,0 +1,89 @@
+package model;
+
+/**
+ * MoveResult describes what a move changed on the board: the cell the disc was placed in, the cells
+ * whose discs were flipped, the scores after the move and whether the next player has to pass.
+ * Cells are positions in the grid of the model that made the move. Views and evaluators can use it
+ * to update only what changed instead of scanning the whole board again.
+ *
+ * <p>A MoveResult is immutable.
+ */
+public final class MoveResult {
+
+  // the cell the disc was placed in
+  private final int cell;
+
+  // the cells whose discs were flipped by the move
+  private final int[] flipped;
+
+  // the number of tiles with a black disc and a white disc after the move
+  private final int blackDiscs;
+  private final int whiteDiscs;
+
+  // whether the player whose turn is next has no legal move
+  private final boolean nextMustPass;
+
+  /**
+   * Constructs a MoveResult.
+   *
+   * @param cell         the cell the disc was placed in
+   * @param flipped      the cells whose discs were flipped by the move
+   * @param blackDiscs   the number of tiles with a black disc after the move
+   * @param whiteDiscs   the number of tiles with a white disc after the move
+   * @param nextMustPass whether the player whose turn is next has no legal move
+   * @throws IllegalArgumentException if the flipped cells are null
+   */
+  public MoveResult(int cell, int[] flipped, int blackDiscs, int whiteDiscs,
+                    boolean nextMustPass) {
+    if (flipped == null) {
+      throw new IllegalArgumentException();
+    }
+    this.cell = cell;
+    this.flipped = flipped;
+    this.blackDiscs = blackDiscs;
+    this.whiteDiscs = whiteDiscs;
+    this.nextMustPass = nextMustPass;
+  }
+
+  /**
+   * Accesses the cell the disc was placed in.
+   * @return the position of that tile in the grid.
+   */
+  public int getCell() {
+    return this.cell;
+  }
+
+  /**
+   * Accesses the number of discs flipped by the move.
+   * @return the number of flipped discs.
+   */
+  public int getFlipCount() {
+    return this.flipped.length;
+  }
+
+  /**
+   * Accesses the cell of one of the discs flipped by the move.
+   * @param k the index of the flipped disc, from 0 to the flip count
+   * @return the position of that tile in the grid.
+   */
+  public int getFlipped(int k) {
+    return this.flipped[k];
+  }
+
+  /**
+   * Accesses the score of the given player after the move.
+   * @param who the player
+   * @return the number of tiles with a disc of that player's color.
+   */
+  public int getScore(Player who) {
+    return who == Player.A ? this.blackDiscs : this.whiteDiscs;
+  }
+
+  /**
+   * Determines whether the player whose turn is next has to pass.
+   * @return true if the next player has no legal move.
+   */
+  public boolean nextMustPass() {
+    return this.nextMustPass;
+  }
+}
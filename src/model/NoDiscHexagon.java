@@ -1,6 +1,5 @@
 package model;
 
-import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,6 +9,17 @@ import java.util.List;
  */
 public class NoDiscHexagon extends AbstractHexagon {
 
+  // the directions of the 6 neighbors of a tile
+  static final int RIGHT = 0;
+  static final int LEFT = 1;
+  static final int TOP_RIGHT = 2;
+  static final int TOP_LEFT = 3;
+  static final int BOTTOM_RIGHT = 4;
+  static final int BOTTOM_LEFT = 5;
+
+  // the directions in the order getFilledHexagons lists the neighbors in
+  private static final int[] LISTED = {TOP_LEFT, TOP_RIGHT, RIGHT, LEFT, BOTTOM_LEFT, BOTTOM_RIGHT};
+
   //the 0-based index (from the left) diagonal coordinate of this tile
   private final int diagonal;
 
@@ -34,6 +44,13 @@ public class NoDiscHexagon extends AbstractHexagon {
   //bottom right neighbor tile of this tile
   private AbstractHexagon bottomRight;
 
+  // the board this tile belongs to, or null if the neighbors of this tile are the linked tiles
+  // above
+  private ReversiModel board;
+
+  // the position of this tile in the grid of the board it belongs to
+  private int position;
+
   /**
    * Constructor for NoDiscHexagon.
    *
@@ -48,12 +65,12 @@ public class NoDiscHexagon extends AbstractHexagon {
     }
     this.diagonal = diagonal;
     this.row = row;
-    this.left = new EmptyHexagon(-1, -1);
-    this.topLeft = new EmptyHexagon(-1, -1);
-    this.right = new EmptyHexagon(-1, -1);
-    this.topRight = new EmptyHexagon(-1, -1);
-    this.bottomLeft = new EmptyHexagon(-1, -1);
-    this.bottomRight = new EmptyHexagon(-1, -1);
+    this.left = EmptyHexagon.OFF_BOARD;
+    this.topLeft = EmptyHexagon.OFF_BOARD;
+    this.right = EmptyHexagon.OFF_BOARD;
+    this.topRight = EmptyHexagon.OFF_BOARD;
+    this.bottomLeft = EmptyHexagon.OFF_BOARD;
+    this.bottomRight = EmptyHexagon.OFF_BOARD;
   }
 
   /**
@@ -85,12 +102,52 @@ public class NoDiscHexagon extends AbstractHexagon {
     this.bottomLeft = bottomLeft;
   }
 
+  /**
+   * Makes this tile one of the tiles of the given board. From then on the neighbors of this tile
+   * are the tiles that currently surround its position on that board.
+   *
+   * @param board    the board this tile belongs to
+   * @param position the position of this tile in the grid of the board
+   */
+  void attach(ReversiModel board, int position) {
+    this.board = board;
+    this.position = position;
+  }
+
+  // returns the current neighbor in the given direction on the board this tile belongs to, or the
+  // given linked neighbor if this tile does not belong to a board or the neighbor is off the board
+  private AbstractHexagon neighbor(int direction, AbstractHexagon linked) {
+    if (this.board == null) {
+      return linked;
+    }
+    AbstractHexagon hex = this.board.neighbor(this.position, direction);
+    return hex == null ? linked : hex;
+  }
+
+  // returns the current neighbor of this tile in the given direction
+  private AbstractHexagon neighbor(int direction) {
+    switch (direction) {
+      case RIGHT:
+        return this.getRight();
+      case LEFT:
+        return this.getLeft();
+      case TOP_RIGHT:
+        return this.getTopRight();
+      case TOP_LEFT:
+        return this.getTopLeft();
+      case BOTTOM_RIGHT:
+        return this.getBottomRight();
+      default:
+        return this.getBottomLeft();
+    }
+  }
+
   /**
    * Accesses the right neighbor of this tile.
    * @return the right neighbor.
    */
   public AbstractHexagon getRight() {
-    return this.right;
+    return this.neighbor(RIGHT, this.right);
   }
 
   /**
@@ -98,7 +155,7 @@ public class NoDiscHexagon extends AbstractHexagon {
    * @return the bottom right neighbor.
    */
   public AbstractHexagon getBottomRight() {
-    return this.bottomRight;
+    return this.neighbor(BOTTOM_RIGHT, this.bottomRight);
   }
 
   /**
@@ -106,7 +163,7 @@ public class NoDiscHexagon extends AbstractHexagon {
    * @return the left neighbor.
    */
   public AbstractHexagon getLeft() {
-    return this.left;
+    return this.neighbor(LEFT, this.left);
   }
 
   /**
@@ -114,7 +171,7 @@ public class NoDiscHexagon extends AbstractHexagon {
    * @return the top right neighbor.
    */
   public AbstractHexagon getTopRight() {
-    return this.topRight;
+    return this.neighbor(TOP_RIGHT, this.topRight);
   }
 
   /**
@@ -122,7 +179,7 @@ public class NoDiscHexagon extends AbstractHexagon {
    * @return the top left neighbor.
    */
   public AbstractHexagon getTopLeft() {
-    return this.topLeft;
+    return this.neighbor(TOP_LEFT, this.topLeft);
   }
 
   /**
@@ -130,7 +187,7 @@ public class NoDiscHexagon extends AbstractHexagon {
    * @return the bottom left neighbor.
    */
   public AbstractHexagon getBottomLeft() {
-    return this.bottomLeft;
+    return this.neighbor(BOTTOM_LEFT, this.bottomLeft);
   }
 
   /**
@@ -205,59 +262,60 @@ public class NoDiscHexagon extends AbstractHexagon {
    *         EmptyHexagon,false if even one of the neighbor tiles have a disc inside it
    */
   protected boolean allNeighborsEmpty() {
-    return (!(this.topLeft instanceof FilledHexagon)
-            && !(this.left instanceof FilledHexagon)
-            && !(this.bottomLeft instanceof FilledHexagon)
-            && !(this.topRight instanceof FilledHexagon)
-            && !(this.right instanceof FilledHexagon)
-            && !(this.bottomRight instanceof FilledHexagon));
+    return this.getDiscNeighbors() == 0;
   }
 
-
   /**
-   * Finds and returns a list of tiles that directly neighbor this tile and contain a disc of the
-   * opposite player.
-   * @param col the given color to of the player who is currently playing.
-   * @return a list of filled hexagons of neighboring tiles of the opposite player's color.
+   * Finds the directions in which this tile has a neighbor with a disc, without allocating. Bit
+   * (1 << d) of the mask is set when the neighbor in direction d has a disc, with the directions
+   * numbered right, left, top right, top left, bottom right and bottom left from 0.
+   * @return the 6-bit mask of directions whose neighbor has a disc.
    */
-  public List<FilledHexagon> getFilledHexagons(Color col) {
-    List<FilledHexagon> filledHexagons = new ArrayList<>();
-
-    if (this.topLeft instanceof FilledHexagon) {
-      FilledHexagon topLeft = (FilledHexagon) this.topLeft;
-      if (topLeft.getColor() != col) {
-        filledHexagons.add((FilledHexagon) this.topLeft);
-      }
-    }
-    if (this.topRight instanceof FilledHexagon) {
-      FilledHexagon topRight = (FilledHexagon) this.topRight;
-      if (topRight.getColor() != col) {
-        filledHexagons.add((FilledHexagon) this.topRight);
-
-      }
+  public int getDiscNeighbors() {
+    if (this.board != null) {
+      return this.board.discNeighbors(this.position);
     }
-    if (right instanceof FilledHexagon) {
-      FilledHexagon right = (FilledHexagon) this.right;
-      if (right.getColor() != col) {
-        filledHexagons.add((FilledHexagon) this.right);
+    int mask = 0;
+    for (int direction = RIGHT; direction <= BOTTOM_LEFT; direction++) {
+      if (this.neighbor(direction) instanceof FilledHexagon) {
+        mask |= 1 << direction;
       }
     }
-    if (this.left instanceof FilledHexagon) {
-      FilledHexagon left = (FilledHexagon) this.left;
-      if (left.getColor() != col) {
-        filledHexagons.add((FilledHexagon) this.left);
-      }
+    return mask;
+  }
+
+  /**
+   * Finds the directions in which this tile has a neighbor with a disc of the opposite player,
+   * without allocating. The mask has the same form as the mask of getDiscNeighbors.
+   * @param disc the disc of the player who is currently playing.
+   * @return the 6-bit mask of directions whose neighbor has a disc of the opposite player.
+   */
+  public int getOpponentNeighbors(Disc disc) {
+    if (this.board != null) {
+      return this.board.opponentNeighbors(this.position, disc);
     }
-    if (this.bottomLeft instanceof FilledHexagon) {
-      FilledHexagon bottomLeft = (FilledHexagon) this.bottomLeft;
-      if (bottomLeft.getColor() != col) {
-        filledHexagons.add((FilledHexagon) this.bottomLeft);
+    int mask = 0;
+    for (int direction = RIGHT; direction <= BOTTOM_LEFT; direction++) {
+      AbstractHexagon hex = this.neighbor(direction);
+      if (hex instanceof FilledHexagon && ((FilledHexagon) hex).getDisc() != disc) {
+        mask |= 1 << direction;
       }
     }
-    if (this.bottomRight instanceof FilledHexagon) {
-      FilledHexagon bottomRight = (FilledHexagon) this.bottomRight;
-      if (bottomRight.getColor() != col) {
-        filledHexagons.add((FilledHexagon) this.bottomRight);
+    return mask;
+  }
+
+  /**
+   * Finds and returns a list of tiles that directly neighbor this tile and contain a disc of the
+   * opposite player.
+   * @param disc the disc of the player who is currently playing.
+   * @return a list of filled hexagons of neighboring tiles of the opposite player's color.
+   */
+  public List<FilledHexagon> getFilledHexagons(Disc disc) {
+    List<FilledHexagon> filledHexagons = new ArrayList<>();
+    int mask = this.getOpponentNeighbors(disc);
+    for (int direction : LISTED) {
+      if ((mask & 1 << direction) != 0) {
+        filledHexagons.add((FilledHexagon) this.neighbor(direction));
       }
     }
     return filledHexagons;
@@ -272,18 +330,30 @@ public class NoDiscHexagon extends AbstractHexagon {
    *         player will flip if they make this move.
    */
   public int getValidMoves(Player player) {
+    if (this.board != null) {
+      return this.board.flipCount(this.position, player);
+    }
     int size = 0;
-
-    List<List<FilledHexagon>> list =
-            this.checkAll((this.getFilledHexagons(player.getColor())),
-                    this, player.getColor());
-
-    for (List<FilledHexagon> l : list) {
-      size = size + l.size();
+    int mask = this.getOpponentNeighbors(player.getDisc());
+    for (int direction = RIGHT; direction <= BOTTOM_LEFT; direction++) {
+      if ((mask & 1 << direction) != 0) {
+        size += this.run(direction, player.getDisc());
+      }
     }
-
     return size;
   }
 
+  // returns the number of discs of the opposite player in the line from this tile in the given
+  // direction if the line is closed by a disc like the given one, and 0 otherwise
+  private int run(int direction, Disc disc) {
+    int count = 0;
+    AbstractHexagon next = this.neighbor(direction);
+    while (next instanceof FilledHexagon && ((FilledHexagon) next).getDisc() != disc) {
+      count++;
+      next = ((NoDiscHexagon) next).neighbor(direction);
+    }
+    return next instanceof FilledHexagon ? count : 0;
+  }
+
 
 }
\ No newline at end of file
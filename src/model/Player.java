@@ -1,20 +1,18 @@
 package model;
 
-import java.awt.Color;
-
 /**
  * Represents the players of the game.
  */
 public enum Player {
-  A(Color.BLACK), B(Color.WHITE);
+  A(Disc.BLACK), B(Disc.WHITE);
 
-  private final Color col;
+  private final Disc disc;
 
-  Player(Color col) {
-    this.col = col;
+  Player(Disc disc) {
+    this.disc = disc;
   }
 
-  public Color getColor() {
-    return this.col;
+  public Disc getDisc() {
+    return this.disc;
   }
 }
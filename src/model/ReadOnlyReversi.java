@@ -1,5 +1,6 @@
 package model;
 
+import java.util.BitSet;
 import java.util.List;
 
 import extracredit.model.NoDiscSquare;
@@ -22,6 +23,44 @@ public interface ReadOnlyReversi {
 
   boolean gameOver();
 
+  /**
+   * Signal if the given player can place a disc anywhere on the board, or must pass instead.
+   *
+   * @param who the player to check
+   * @return true if the player has at least one legal move, false otherwise
+   */
+  boolean hasLegalMove(Player who);
+
+  /**
+   * Returns the number of discs the given player would flip by placing a disc in each tile of the
+   * board, computed for the whole board in one sweep. Tiles are indexed by their position in the
+   * grid of the model, which is getGrid for hexagonal boards and getBoard for square boards, and
+   * tiles that already have a disc count 0.
+   *
+   * @param who the player placing the disc
+   * @return the number of discs a move in each tile would flip
+   */
+  int[] getFlipCounts(Player who);
+
+  /**
+   * Returns the tiles where the given player can place a disc, as a set of positions indexed like
+   * getFlipCounts. The set is a copy the caller may change, and it is empty exactly when the player
+   * has to pass.
+   *
+   * @param who the player placing the disc
+   * @return the positions of the tiles that are legal moves for the player
+   */
+  BitSet legalMoves(Player who);
+
+  /**
+   * Returns the number of tiles where the given player can place a disc, which is the number of
+   * positions legalMoves would return, without building the set of them.
+   *
+   * @param who the player placing the disc
+   * @return the number of legal moves for the player, 0 exactly when the player has to pass
+   */
+  int legalMoveCount(Player who);
+
   /**
    * Returns the current score for the given player, which is the sum of the number of tiles
    * filled with a disc of the color of that player.
@@ -31,6 +70,15 @@ public interface ReadOnlyReversi {
    */
   int getScore(Player who);
 
+  /**
+   * Returns a 64-bit key identifying the current position: the discs on the board and the player
+   * to move. Equal positions always have equal keys and different positions almost always have
+   * different keys, so the key can stand in for the position in tables and caches.
+   *
+   * @return the Zobrist key of the position
+   */
+  long getZobristKey();
+
 
   /**
    * Returns the tile with the given coordinates.
@@ -48,10 +96,47 @@ public interface ReadOnlyReversi {
    */
   int getBoardSize();
 
+  /**
+   * Returns the number of tiles on this board, which is the number of positions tiles are indexed
+   * by in getFlipCounts and legalMoves, without listing the tiles.
+   *
+   * @return the number of tiles on the board
+   */
+  int getCellCount();
+
+  /**
+   * Returns the position of the tile with the given coordinates, which is the packed move placing
+   * a disc in it, without listing the tiles of the board.
+   *
+   * @param i the 0-based index (from the left) of the diagonal coordinate of the tile.
+   * @param j the 0-based index (from the top) of the row coordinate of the tile.
+   * @return the position of the tile, or -1 if no tile of the board has those coordinates
+   */
+  int getPosition(int i, int j);
+
+  /**
+   * Returns the diagonal coordinate of the tile at the given position.
+   *
+   * @param position the position of the tile, from 0 to the cell count
+   * @return the 0-based index (from the left) of the diagonal coordinate of the tile
+   * @throws IllegalArgumentException if the position is not on the board
+   */
+  int getDiagonal(int position);
+
+  /**
+   * Returns the row coordinate of the tile at the given position.
+   *
+   * @param position the position of the tile, from 0 to the cell count
+   * @return the 0-based index (from the top) of the row coordinate of the tile
+   * @throws IllegalArgumentException if the position is not on the board
+   */
+  int getRow(int position);
+
   /**
    * Returns grid that the game is being played on.
    *
-   * @return the hexagonal grid that the game is being played on.
+   * @return the hexagonal grid that the game is being played on, or an empty list if the board
+   *         is square.
    */
   List<NoDiscHexagon> getGrid();
 
@@ -75,9 +160,22 @@ public interface ReadOnlyReversi {
 
   int getPotentialTiles(int x, int y);
 
+  /**
+   * Returns grid that the game is being played on when the board is square.
+   *
+   * @return the square grid that the game is being played on, or an empty list if the board is
+   *         hexagonal.
+   */
   List<NoDiscSquare> getBoard();
 
-
+  /**
+   * Returns the tile with the given coordinates on this board, in the same way as getHex.
+   *
+   * @param i     the 0-based index (from the left) of the diagonal coordinate of the tile.
+   * @param i1    the 0-based index (from the top) of the row coordinate of the tile.
+   * @param board the square grid of this board
+   * @return the tile, or an EmptyHexagon if the coordinates are off the board
+   */
   AbstractHexagon getHexagon2(int i, int i1, List<NoDiscSquare> board);
 
   void startGame();
@@ -16,12 +16,75 @@ public interface Reversi extends ReadOnlyReversi {
    *
    * @param who   the Player who wants to make a move
    * @param where the tile where the current player wants to make a move
+   * @return what the move changed on the board
    * @throws IllegalStateException    if the game hasn't been started yet
    * @throws IllegalArgumentException if the wrong player is making a move or if the player or tile
    *                                  to make a move in is an invalid null input
    * @throws IllegalStateException    if the tile is not a tile with no disc in it.
    */
-  void makeMove(Player who, AbstractHexagon where);
+  MoveResult makeMove(Player who, AbstractHexagon where);
+
+  /**
+   * Moves a disc of the given player's color to the tile of the given packed move in the same way
+   * as makeMove with a tile, without looking the tile up by its coordinates.
+   *
+   * @param who  the Player who wants to make a move
+   * @param move the position of the tile in the grid, as described by {@link Move}
+   * @return what the move changed on the board
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null,
+   *                                  if the move is a pass or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not on the board or already has a disc in it.
+   */
+  MoveResult makeMove(Player who, int move);
+
+  /**
+   * Makes a move for the given player in the same way as makeMove, but without notifying the
+   * observers, and returns a record that undoMove can use to put the board back exactly as it was.
+   * A null tile makes the player pass. The turn is passed on to the next player either way.
+   *
+   * @param who   the Player who wants to make a move
+   * @param where the tile where the player wants to make a move, or null to pass
+   * @return the record of the move
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null
+   *                                  or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not a tile with no disc in it.
+   */
+  UndoRecord doMove(Player who, AbstractHexagon where);
+
+  /**
+   * Makes the given packed move for the given player in the same way as doMove with a tile. The
+   * move {@link Move#PASS} makes the player pass.
+   *
+   * @param who  the Player who wants to make a move
+   * @param move the position of the tile in the grid, or Move.PASS to pass
+   * @return the record of the move
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null
+   *                                  or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not on the board or already has a disc in it.
+   */
+  UndoRecord doMove(Player who, int move);
+
+  /**
+   * Takes back the given move, which must be the last move made with doMove on this model that
+   * has not been undone yet. The discs and the turn are restored without notifying the observers.
+   *
+   * @param record the record returned by doMove
+   * @throws IllegalArgumentException if the record is null
+   * @throws IllegalStateException    if the record is not the last move made on this board
+   */
+  void undoMove(UndoRecord record);
+
+  /**
+   * Returns a new model of the same kind with the same board, turn and game state as this model,
+   * and no observers. Moves made on the copy do not change this model, so a search can run on the
+   * copy on another thread while this model is left alone.
+   *
+   * @return a copy of this model
+   */
+  Reversi copy();
 
   /**
    * Changes the player's turn to the next player.
@@ -1,7 +1,10 @@
 package model;
 
-import java.awt.Color;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 import controller.ModelStatusObservers;
@@ -18,11 +21,27 @@ import extracredit.model.NoDiscSquare;
 public class ReversiModel implements Reversi {
 
 
+  // the disc state of an empty tile, a tile with a black disc and a tile with a white disc
+  private static final byte EMPTY = BoardTopology.EMPTY;
+  private static final byte BLACK = BoardTopology.BLACK;
+  private static final byte WHITE = BoardTopology.WHITE;
+
   // current state of the game
   private boolean gameStarted;
 
-  // list of tiles in the board of the game
-  private List<NoDiscHexagon> grid;
+  // list of tiles in the board of the game, always showing the current state of each tile
+  private final List<NoDiscHexagon> grid;
+
+  // the discs on the board, with the counts, key, frontier and legal moves kept up to date from
+  // them. Making a move only changes this state.
+  private final BoardState board;
+
+  // the tiles used to represent each position of the grid when it has no disc, a black disc or a
+  // white disc, created the first time they are asked for. They all belong to this board so their
+  // neighbors are the current tiles around them.
+  private final NoDiscHexagon[] emptyTiles;
+  private final FilledHexagon[] blackTiles;
+  private final FilledHexagon[] whiteTiles;
 
   // represents the player who is not next in turn.
   private Player turn;
@@ -32,6 +51,10 @@ public class ReversiModel implements Reversi {
   // INVARIANT: the size is always greater than 1
   private final int size;
 
+  // the position in the grid of the tile at each coordinate, stored at
+  // (row * (2 * size - 1) + diagonal), or -1 for coordinates that are not on the board
+  private final int[] cellIndex;
+
   private List<ModelStatusObservers> controllers = new ArrayList<>();
 
   /**
@@ -48,36 +71,153 @@ public class ReversiModel implements Reversi {
       throw new IllegalArgumentException("Size must be greater than 1");
     }
     this.size = size;
-    this.grid = this.linkedGrid(this.initialGrid(this.size));
+    List<NoDiscHexagon> layout = this.initialGrid(this.size);
+    this.cellIndex = this.coordinateIndex(layout);
+    int n = layout.size();
+    this.board = new BoardState(BoardTopology.hexagon(size));
+    this.emptyTiles = new NoDiscHexagon[n];
+    this.blackTiles = new FilledHexagon[n];
+    this.whiteTiles = new FilledHexagon[n];
+    for (int position = 0; position < n; position++) {
+      this.board.set(position, this.discState(layout.get(position)));
+    }
+    this.grid = new GridView();
+  }
 
+  // copies the given board. The coordinate index never changes, so it is shared with the given
+  // board, and only the state of the cells is copied.
+  private ReversiModel(ReversiModel source) {
+    this.gameStarted = source.gameStarted;
+    this.turn = source.turn;
+    this.size = source.size;
+    this.cellIndex = source.cellIndex;
+    this.board = source.board.copy();
+    int n = this.board.cells();
+    this.emptyTiles = new NoDiscHexagon[n];
+    this.blackTiles = new FilledHexagon[n];
+    this.whiteTiles = new FilledHexagon[n];
+    this.grid = new GridView();
   }
 
   /**
    * Default Constructor for ReversiModel.
    */
   public ReversiModel() {
-    this.gameStarted = false;
-    this.turn = Player.A;
     // default board size
-    this.size = 6;
-    this.grid = this.linkedGrid(this.initialGrid(this.size));
-
-
+    this(6);
   }
 
   /**
-   * Constructor for ReversiModel used to create deep clones of the model.
+   * Constructor for ReversiModel used to create deep clones of the model. The discs of the given
+   * grid are copied onto a new board of the given size.
    */
   public ReversiModel(boolean gameStarted, Player player, int size, List<NoDiscHexagon> grid) {
+    this(size);
     this.gameStarted = gameStarted;
     this.turn = player;
-    this.size = size;
-    this.grid = grid;
+    for (NoDiscHexagon hex : grid) {
+      int position = this.board.topology().cellAt(hex.getDiagonal(), hex.getRow());
+      if (position >= 0) {
+        this.board.set(position, this.discState(hex));
+      }
+    }
+  }
 
+  // returns the disc state of the given tile
+  private byte discState(AbstractHexagon hex) {
+    if (!(hex instanceof FilledHexagon)) {
+      return EMPTY;
+    }
+    return ((FilledHexagon) hex).getDisc().getState();
   }
 
+  /**
+   * Returns the number of discs the given player would flip by placing a disc at the given
+   * position of the grid of this board, whether or not that tile already has a disc.
+   *
+   * @param position the position of the tile in the grid
+   * @param who      the player placing the disc
+   * @return the number of discs that would be flipped
+   */
+  int flipCount(int position, Player who) {
+    return this.board.flipCount(position, who == Player.A ? BLACK : WHITE);
+  }
 
+  // returns the tile that currently represents the given position of the grid, creating it the
+  // first time it is asked for
+  private NoDiscHexagon tileAt(int position) {
+    byte disc = this.board.get(position);
+    NoDiscHexagon[] tiles = disc == BLACK ? this.blackTiles
+            : disc == WHITE ? this.whiteTiles : this.emptyTiles;
+    if (tiles[position] == null) {
+      int i = this.board.topology().diagonal(position);
+      int j = this.board.topology().row(position);
+      NoDiscHexagon tile = disc == EMPTY ? new NoDiscHexagon(i, j)
+              : new FilledHexagon(i, j, disc == BLACK ? Disc.BLACK : Disc.WHITE);
+      tile.attach(this, position);
+      tiles[position] = tile;
+    }
+    return tiles[position];
+  }
+
+  /**
+   * Returns the current tile next to the tile at the given position of the grid in the given
+   * direction.
+   *
+   * @param position  the position of a tile in the grid
+   * @param direction one of the direction constants of NoDiscHexagon
+   * @return the neighbor tile, or null if that neighbor is off the board
+   */
+  AbstractHexagon neighbor(int position, int direction) {
+    int n = this.board.topology().neighbor(position, direction);
+    return n < 0 ? null : this.tileAt(n);
+  }
+
+  /**
+   * Returns the directions in which the tile at the given position has a neighbor with a disc of
+   * a kind other than the given disc, as a mask with the bit (1 << direction) set for each.
+   *
+   * @param position the position of the tile in the grid
+   * @param disc     the disc of the player looking at the neighbors
+   * @return the mask of directions whose neighbor has an opposing disc
+   */
+  int opponentNeighbors(int position, Disc disc) {
+    return this.board.opponentNeighbors(position, disc.getState());
+  }
+
+  /**
+   * Returns the directions in which the tile at the given position has a neighbor with a disc, as
+   * a mask with the bit (1 << direction) set for each.
+   *
+   * @param position the position of the tile in the grid
+   * @return the mask of directions whose neighbor has a disc
+   */
+  int discNeighbors(int position) {
+    return this.board.discNeighbors(position);
+  }
+
+  /**
+   * A live view of the grid. Getting a position returns the tile that currently represents it and
+   * setting a position replaces the disc in it with the disc of the given tile.
+   */
+  private class GridView extends AbstractList<NoDiscHexagon> {
+    @Override
+    public NoDiscHexagon get(int position) {
+      return tileAt(position);
+    }
+
+    @Override
+    public NoDiscHexagon set(int position, NoDiscHexagon hex) {
+      NoDiscHexagon old = tileAt(position);
+      board.set(position, discState(hex));
+      return old;
+    }
 
+    @Override
+    public int size() {
+      return board.cells();
+    }
+  }
 
   /**
    * Returns the current state of the game.
@@ -105,10 +245,10 @@ public class ReversiModel implements Reversi {
       x++;
       for (int j = 0; j < x; j++) {
         if (i == size - 1 && j == size - 2 || i == size - 2 && j == size - 1) {
-          FilledHexagon hex = new FilledHexagon(i, j, Color.WHITE);
+          FilledHexagon hex = new FilledHexagon(i, j, Disc.WHITE);
           grid.add(hex);
         } else if (i == size - 2 && j == size - 2 || i == size - 1 && j == size) {
-          FilledHexagon hex = new FilledHexagon(i, j, Color.BLACK);
+          FilledHexagon hex = new FilledHexagon(i, j, Disc.BLACK);
           grid.add(hex);
         } else {
           NoDiscHexagon hex = new NoDiscHexagon(i, j);
@@ -124,10 +264,10 @@ public class ReversiModel implements Reversi {
       k++;
       for (int n = k; n < p; n++) {
         if (m == size && n == size) {
-          FilledHexagon hex = new FilledHexagon(m, n, Color.WHITE);
+          FilledHexagon hex = new FilledHexagon(m, n, Disc.WHITE);
           grid.add(hex);
         } else if (m == size && n == size - 1) {
-          FilledHexagon hex = new FilledHexagon(m, n, Color.BLACK);
+          FilledHexagon hex = new FilledHexagon(m, n, Disc.BLACK);
           grid.add(hex);
         } else {
           NoDiscHexagon hex = new NoDiscHexagon(m, n);
@@ -140,26 +280,65 @@ public class ReversiModel implements Reversi {
 
 
   /**
-   * Returns the tile with the given coordinates in the given list of tiles.
+   * Returns the tile with the given coordinates in the given list of tiles. When the list is laid
+   * out like the grid of this board the tile is found through the coordinate index of this board,
+   * otherwise the list is searched.
    *
    * @param i    the 0-based index (from the left) of the diagonal coordinate of the tile.
    * @param j    the 0-based index (from the top) of the row coordinate of the tile.
    * @param grid the grid of tiles to find the tile of given coordinates in.
    */
   public AbstractHexagon getHexagon(int i, int j, List<NoDiscHexagon> grid) {
-    NoDiscHexagon hex = null;
+    AbstractHexagon hex = this.getHexagon(i, j, grid, this.cellIndex);
+    if (hex == EmptyHexagon.OFF_BOARD && this.indexOf(this.cellIndex, i, j) >= 0) {
+      for (NoDiscHexagon h : grid) {
+        if (h.getDiagonal() == i && h.getRow() == j) {
+          return h;
+        }
+      }
+    }
+    return hex;
+  }
 
-    for (NoDiscHexagon h : grid) {
-      if (h.getDiagonal() == i && h.getRow() == j) {
-        hex = h;
-        break;
+  // returns the tile with the given coordinates in the given grid using the given coordinate
+  // index, or an EmptyHexagon if the coordinates are off the board or the grid does not have
+  // that tile at the indexed position
+  private AbstractHexagon getHexagon(int i, int j, List<NoDiscHexagon> grid, int[] index) {
+    int position = this.indexOf(index, i, j);
+    if (position >= 0 && position < grid.size()) {
+      NoDiscHexagon hex = grid.get(position);
+      if (hex.getDiagonal() == i && hex.getRow() == j) {
+        return hex;
       }
     }
-    if (hex == null) {
-      return new EmptyHexagon(-1, -1);
-    } else {
-      return hex;
+    return EmptyHexagon.OFF_BOARD;
+  }
+
+  // returns the position stored in the given coordinate index for the given coordinates, or -1 if
+  // they are outside of the board
+  private int indexOf(int[] index, int i, int j) {
+    int width = 2 * this.size - 1;
+    if (i < 0 || j < 0 || i >= width || j >= width) {
+      return -1;
+    }
+    return index[j * width + i];
+  }
+
+  // builds the coordinate index of the given grid, mapping the coordinates of every tile to its
+  // position in the grid
+  private int[] coordinateIndex(List<NoDiscHexagon> grid) {
+    int width = 2 * this.size - 1;
+    int[] index = new int[width * width];
+    Arrays.fill(index, -1);
+    for (int position = 0; position < grid.size(); position++) {
+      NoDiscHexagon hex = grid.get(position);
+      int i = hex.getDiagonal();
+      int j = hex.getRow();
+      if (i < width && j < width) {
+        index[j * width + i] = position;
+      }
     }
+    return index;
   }
 
   /**
@@ -169,49 +348,50 @@ public class ReversiModel implements Reversi {
    * @return the board
    */
   public List<NoDiscHexagon> linkedGrid(List<NoDiscHexagon> grid) {
+    int[] index = this.coordinateIndex(grid);
 
     for (NoDiscHexagon hex : grid) {
       int i = hex.getDiagonal();
       int j = hex.getRow();
       if (i == 0) {
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setTopRight(this.getHexagon(i, j - 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setBottomLeft(this.getHexagon(i, j + 1, grid));
+        hex.setRight(this.getHexagon(i + 1, j, grid, index));
+        hex.setTopRight(this.getHexagon(i, j - 1, grid, index));
+        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid, index));
+        hex.setBottomLeft(this.getHexagon(i, j + 1, grid, index));
       } else if (j == (2 * this.size - 2)) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setTopRight(this.getHexagon(i, j - 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
+        hex.setLeft(this.getHexagon(i - 1, j, grid, index));
+        hex.setRight(this.getHexagon(i + 1, j, grid, index));
+        hex.setTopRight(this.getHexagon(i, j - 1, grid, index));
+        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid, index));
 
       } else if (i == (2 * this.size - 2)) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setTopRight(this.getHexagon(i, j - 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
-        hex.setBottomLeft(this.getHexagon(i, j + 1, grid));
+        hex.setLeft(this.getHexagon(i - 1, j, grid, index));
+        hex.setTopRight(this.getHexagon(i, j - 1, grid, index));
+        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid, index));
+        hex.setBottomLeft(this.getHexagon(i, j + 1, grid, index));
       } else if (j == 0) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setBottomLeft(this.getHexagon(i, j + 1, grid));
+        hex.setLeft(this.getHexagon(i - 1, j, grid, index));
+        hex.setRight(this.getHexagon(i + 1, j, grid, index));
+        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid, index));
+        hex.setBottomLeft(this.getHexagon(i, j + 1, grid, index));
       } else if (i - j == (2 * this.size - 2) / 2) {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setBottomLeft(this.getHexagon(i, j + 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
+        hex.setLeft(this.getHexagon(i - 1, j, grid, index));
+        hex.setBottomLeft(this.getHexagon(i, j + 1, grid, index));
+        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid, index));
+        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid, index));
       } else if (j - i == (2 * this.size - 2) / 2) {
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setTopRight(this.getHexagon(i, j - 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
+        hex.setRight(this.getHexagon(i + 1, j, grid, index));
+        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid, index));
+        hex.setTopRight(this.getHexagon(i, j - 1, grid, index));
+        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid, index));
 
       } else {
-        hex.setLeft(this.getHexagon(i - 1, j, grid));
-        hex.setRight(this.getHexagon(i + 1, j, grid));
-        hex.setBottomLeft(this.getHexagon(i, j + 1, grid));
-        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid));
-        hex.setTopRight(this.getHexagon(i, j - 1, grid));
-        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid));
+        hex.setLeft(this.getHexagon(i - 1, j, grid, index));
+        hex.setRight(this.getHexagon(i + 1, j, grid, index));
+        hex.setBottomLeft(this.getHexagon(i, j + 1, grid, index));
+        hex.setBottomRight(this.getHexagon(i + 1, j + 1, grid, index));
+        hex.setTopRight(this.getHexagon(i, j - 1, grid, index));
+        hex.setTopLeft(this.getHexagon(i - 1, j - 1, grid, index));
       }
     }
     return grid;
@@ -260,6 +440,34 @@ public class ReversiModel implements Reversi {
     return this.size;
   }
 
+  @Override
+  public int getCellCount() {
+    return this.board.cells();
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return this.board.topology().cellAt(i, j);
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return this.board.topology().diagonal(this.checkPosition(position));
+  }
+
+  @Override
+  public int getRow(int position) {
+    return this.board.topology().row(this.checkPosition(position));
+  }
+
+  // returns the given position if it is a tile of this board
+  private int checkPosition(int position) {
+    if (position < 0 || position >= this.board.cells()) {
+      throw new IllegalArgumentException("No tile at position " + position);
+    }
+    return position;
+  }
+
   /**
    * Returns grid that the game is being played on.
    *
@@ -293,7 +501,47 @@ public class ReversiModel implements Reversi {
    *                                  to make a move in is an invalid null input
    * @throws IllegalStateException    if the tile is not a tile with no disc in it.
    */
-  public void makeMove(Player who, AbstractHexagon where) {
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
+    return this.moved(who, this.place(who, where));
+  }
+
+  /**
+   * Moves a disc of the given player's color to the tile at the given position of the grid, in
+   * the same way as makeMove with a tile.
+   *
+   * @param who  the Player who wants to make a move
+   * @param move the position of the tile in the grid
+   * @return what the move changed on the board
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null,
+   *                                  if the move is a pass or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not on the board or already has a disc in it.
+   */
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      throw new IllegalArgumentException("Cannot place a disc with a pass");
+    }
+    return this.moved(who, this.place(who, move));
+  }
+
+  // describes the move just placed by the given player, which flipped the given number of discs,
+  // notifies the observers and passes the turn on to the next player
+  private MoveResult moved(Player who, int flipped) {
+    MoveResult result = new MoveResult(this.board.lastMove(), this.board.lastFlips(flipped),
+            this.board.count(BLACK), this.board.count(WHITE),
+            !this.hasLegalMove(who == Player.A ? Player.B : Player.A));
+    for (ModelStatusObservers ms: controllers) {
+      ms.refreshView();
+    }
+    this.nextPlayer(who);
+    return result;
+  }
+
+  // checks that the given player can move in the given tile and places their disc there, flipping
+  // the discs it sandwiches. The board lists the move and the flipped positions as its last move,
+  // and the number of flipped discs is returned.
+  private int place(Player who, AbstractHexagon where) {
     // illegal state exceptions for if the game hasn't been started or if the player
     // is trying to move to an empty spot
     if (!gameStarted) {
@@ -305,56 +553,112 @@ public class ReversiModel implements Reversi {
     else if (where instanceof EmptyHexagon || where instanceof FilledHexagon) {
       throw new IllegalStateException();
     }
+    // the tile of this board at the coordinates of the given tile
+    return this.place(who, this.board.topology().cellAt(where.getDiagonal(), where.getRow()));
+  }
+
+  // checks that the given player can move in the tile at the given position and places their disc
+  // there, in the same way as placing it in a tile
+  private int place(Player who, int position) {
+    if (!gameStarted) {
+      throw new IllegalStateException("Game has not been started");
+    } else if (who == null) {
+      throw new IllegalArgumentException();
+    }
     // throw an illegal argument when the player is incorrect
     else if (who != this.turn) {
       throw new IllegalArgumentException();
     }
-    // if one of the neighbors have a hexagon with a disc in it and the subsequent hexagons make for
-    // a valid move we can make the changes to the board accordingly
-
-    else if ((!((NoDiscHexagon) where).allNeighborsEmpty())
-            && !where.checkAll((((NoDiscHexagon) where).getFilledHexagons(who.getColor())),
-            (NoDiscHexagon) where, who.getColor()).isEmpty()) {
-      List<List<FilledHexagon>> l =
-              where.checkAll((((NoDiscHexagon) where).getFilledHexagons(who.getColor())),
-                      (NoDiscHexagon) where, who.getColor());
-      NoDiscHexagon h = (NoDiscHexagon) where;
-      FilledHexagon newH = new FilledHexagon(h.getDiagonal(),
-              h.getRow(), h.getRight(), h.getLeft(), h.getTopRight(), h.getTopLeft(),
-              h.getBottomRight(), h.getBottomLeft(), who.getColor());
-      this.grid.set(this.getGrid().indexOf(where), newH);
-      this.changeNeighbors(h, newH);
-      for (List<FilledHexagon> lofh : l) {
-        for (FilledHexagon hex : lofh) {
-          FilledHexagon newHex = new FilledHexagon(hex.getDiagonal(), hex.getRow(),
-                  hex.getRight(), hex.getLeft(), hex.getTopRight(), hex.getTopLeft(),
-                  hex.getBottomRight(), hex.getBottomLeft(), who.getColor());
-          this.grid.set(this.getGrid().indexOf(hex), newHex);
-          this.changeNeighbors(hex, newHex);
-        }
-      }
-      for (ModelStatusObservers ms: controllers) {
-        ms.refreshView();
+    return this.board.place(position, who == Player.A ? BLACK : WHITE);
+  }
+
+  /**
+   * Makes a move for the given player in the same way as makeMove, but without notifying the
+   * observers, and returns a record that undoMove can use to put the board back exactly as it was.
+   * A null tile makes the player pass.
+   *
+   * @param who   the Player who wants to make a move
+   * @param where the tile where the player wants to make a move, or null to pass
+   * @return the record of the move
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null
+   *                                  or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not a tile with no disc in it.
+   */
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    UndoRecord record;
+    if (where == null) {
+      if (!gameStarted) {
+        throw new IllegalStateException("Game has not been started");
+      } else if (who == null || who != this.turn) {
+        throw new IllegalArgumentException();
       }
-      this.nextPlayer(who);
+      record = new UndoRecord(who, -1, new int[0]);
+    } else {
+      record = this.recorded(who, this.place(who, where));
     }
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
 
-    // current player cannot make a move and their turn is passed
-    else {
+  /**
+   * Makes the given packed move for the given player in the same way as doMove with a tile, where
+   * Move.PASS makes the player pass.
+   *
+   * @param who  the Player who wants to make a move
+   * @param move the position of the tile in the grid, or Move.PASS to pass
+   * @return the record of the move
+   * @throws IllegalStateException    if the game hasn't been started yet
+   * @throws IllegalArgumentException if the wrong player is making a move, if the player is null
+   *                                  or if the move does not flip any discs
+   * @throws IllegalStateException    if the tile is not on the board or already has a disc in it.
+   */
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    if (Move.isPass(move)) {
+      return this.doMove(who, (AbstractHexagon) null);
+    }
+    UndoRecord record = this.recorded(who, this.place(who, move));
+    this.turn = who == Player.A ? Player.B : Player.A;
+    return record;
+  }
+
+  // returns the record of the move just placed by the given player, which flipped the given number
+  // of discs
+  private UndoRecord recorded(Player who, int flipped) {
+    return new UndoRecord(who, this.board.lastMove(), this.board.lastFlips(flipped));
+  }
+
+  /**
+   * Takes back the given move, which must be the last move made with doMove on this model that
+   * has not been undone yet. The discs and the turn are restored without notifying the observers.
+   *
+   * @param record the record returned by doMove
+   * @throws IllegalArgumentException if the record is null
+   * @throws IllegalStateException    if the record is not the last move made on this board
+   */
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
       throw new IllegalArgumentException();
     }
+    Player who = record.getPlayer();
+    if (this.turn == who) {
+      throw new IllegalStateException("Move is not the last move made");
+    }
+    if (!record.isPass()) {
+      this.board.undo(record, who == Player.A ? BLACK : WHITE);
+    }
+    this.turn = who;
   }
 
-  // updates the linking of neighbor tiles after a valid move has been made in one tile
-  private void changeNeighbors(NoDiscHexagon oldHex, FilledHexagon hex) {
-    oldHex.getRight().setLeft(hex);
-    oldHex.getLeft().setRight(hex);
-    oldHex.getBottomLeft().setTopRight(hex);
-    oldHex.getBottomRight().setTopLeft(hex);
-    oldHex.getTopLeft().setBottomRight(hex);
-    oldHex.getTopRight().setBottomLeft(hex);
+  @Override
+  public Reversi copy() {
+    return new ReversiModel(this);
   }
 
+
   /**
    * Returns the current score for the given player, which is the sum of the number of tiles
    * filled with a disc of the color of that player.
@@ -363,36 +667,15 @@ public class ReversiModel implements Reversi {
    * @throws IllegalStateException if the game hasn't been started yet
    */
   public int getScore(Player who) {
-    ArrayList<FilledHexagon> tiles = new ArrayList<>();
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
-
-    for (NoDiscHexagon hex : this.grid) {
-      if (hex instanceof FilledHexagon) {
-        if (((FilledHexagon) hex).getColor().equals(who.getColor())) {
-          tiles.add((FilledHexagon) hex);
-        }
-      }
-    }
-    return tiles.size();
+    return this.board.count(who == Player.A ? BLACK : WHITE);
   }
 
   @Override
   public AbstractHexagon getHex(int i, int j) {
-    NoDiscHexagon hex = null;
-
-    for (NoDiscHexagon h : this.grid) {
-      if (h.getDiagonal() == i && h.getRow() == j) {
-        hex = h;
-        break;
-      }
-    }
-    if (hex == null) {
-      return new EmptyHexagon(-1, -1);
-    } else {
-      return hex;
-    }
+    return this.getHexagon(i, j, this.grid, this.cellIndex);
   }
 
   /**
@@ -407,18 +690,67 @@ public class ReversiModel implements Reversi {
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
-    for (NoDiscHexagon hex : this.grid) {
-      if (!(hex instanceof FilledHexagon)) {
-        if ((!hex.allNeighborsEmpty())
-                && ((!hex.checkAll(((hex).getFilledHexagons(Color.BLACK)),
-                hex, Color.BLACK).isEmpty())
-                || (!hex.checkAll(((hex).getFilledHexagons(Color.WHITE)),
-                hex, Color.WHITE).isEmpty()))) {
-          return false;
-        }
-      }
-    }
-    return true;
+    return this.board.legalMoveCount(BLACK) == 0 && this.board.legalMoveCount(WHITE) == 0;
+  }
+
+  /**
+   * Determines whether the given player has at least one legal move.
+   *
+   * @param who the player to check
+   * @return true if the player can place a disc somewhere on the board, false if they must pass
+   */
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return this.board.legalMoveCount(who == Player.A ? BLACK : WHITE) > 0;
+  }
+
+  /**
+   * Returns the positions of the grid where the given player can place a disc. The legal moves are
+   * kept up to date by every move, so this only copies them.
+   *
+   * @param who the player to check
+   * @return the set of positions of the grid that are legal moves for the player
+   */
+  @Override
+  public BitSet legalMoves(Player who) {
+    return this.board.legalMoves(who == Player.A ? BLACK : WHITE);
+  }
+
+  /**
+   * Returns the number of positions of the grid where the given player can place a disc. The
+   * count is kept up to date with the legal moves, so this does not scan the board.
+   *
+   * @param who the player to check
+   * @return the number of legal moves for the player
+   */
+  @Override
+  public int legalMoveCount(Player who) {
+    return this.board.legalMoveCount(who == Player.A ? BLACK : WHITE);
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by placing a disc in each tile of the
+   * grid, scanning every line of the board once in each direction.
+   *
+   * @param who the player placing the disc
+   * @return the number of discs a move in each position of the grid would flip
+   */
+  @Override
+  public int[] getFlipCounts(Player who) {
+    return this.board.flipCounts(who == Player.A ? BLACK : WHITE);
+  }
+
+  /**
+   * Returns the Zobrist key of the current position, which is the XOR of the keys of every disc on
+   * the board and of the side to move. The key of the discs is kept up to date by every change to
+   * the board, so this does not scan the board.
+   *
+   * @return the 64-bit key of the position
+   */
+  @Override
+  public long getZobristKey() {
+    long key = this.board.key();
+    return this.turn == Player.B ? key ^ Zobrist.SIDE : key;
   }
 
   /**
@@ -432,28 +764,27 @@ public class ReversiModel implements Reversi {
 
   @Override
   public int getPotentialTiles(int x, int y) {
-    AbstractHexagon hex = this.getHex(x, y);
-    List<List<FilledHexagon>> l =
-            hex.checkAll((((NoDiscHexagon) hex).getFilledHexagons(this.getPlayer().getColor())),
-                    (NoDiscHexagon) hex, this.getPlayer().getColor());
-
-    int count = 0;
-    for (List<FilledHexagon> lofh : l) {
-      for (FilledHexagon h : lofh) {
-        count++;
-      }
+    int position = this.board.topology().cellAt(x, y);
+    if (position < 0) {
+      return 0;
     }
-    return count;
+    return this.flipCount(position, this.getPlayer());
   }
 
+  /**
+   * Returns an empty list, since a hexagonal board has no square tiles. Its tiles are the tiles of
+   * getGrid.
+   *
+   * @return an empty, unmodifiable list
+   */
   @Override
   public List<NoDiscSquare> getBoard() {
-    return null;
+    return Collections.emptyList();
   }
 
   @Override
   public AbstractHexagon getHexagon2(int i, int i1, List<NoDiscSquare> board) {
-    return null;
+    return this.getHex(i, i1);
   }
 
 }
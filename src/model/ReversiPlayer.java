@@ -1,8 +1,5 @@
 package model;
 
-
-import java.util.List;
-
 /**
  * Represents a single Player in a game of Reversi. Since there are many different
  * types of Players, the main functionality of this interface is to identify the
@@ -16,9 +13,10 @@ public interface ReversiPlayer {
    * they want to move in and play the game.
    * @param model The Reversi model that provides the ability
    *              to move a disc into a tile.
-   * @return The tile that the player wants to move into.
+   * @return The packed move of the tile that the player wants
+   *         to move into, or Move.PASS to pass.
    */
-  List<Integer> play(Reversi model);
+  int play(Reversi model);
 
   /**
    * Determines the Player whose turn it currently is.
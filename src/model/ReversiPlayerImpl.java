@@ -1,7 +1,5 @@
 package model;
 
-import java.util.List;
-
 import strategy.ReversiStrategy;
 
 /**
@@ -22,11 +20,12 @@ public class ReversiPlayerImpl implements ReversiPlayer {
    * they want to move in and play the game.
    * @param model The Reversi model that provides the ability
    *              to move a disc into a tile.
-   * @return The tile that the player wants to move into.
+   * @return The packed move of the tile that the player wants
+   *         to move into, or Move.PASS to pass.
    */
   @Override
-  public List<Integer> play(Reversi model) {
-    return strategy.chooseTile(model, this.player);
+  public int play(Reversi model) {
+    return strategy.chooseMove(model, this.player);
   }
 
   /**
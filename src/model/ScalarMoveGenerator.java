@@ -0,0 +1,68 @@
+package model;
+
+/**
+ * A MoveGenerator that processes one long at a time. It works on every JVM and is used whenever
+ * the Vector API is not available.
+ */
+final class ScalarMoveGenerator implements MoveGenerator {
+
+  @Override
+  public void step(int offset, long[] board, long[] src, long[] dst) {
+    for (int w = 0; w < dst.length; w++) {
+      dst[w] = word(offset, src, w) & board[w];
+    }
+  }
+
+  /**
+   * Returns word w of the given bitset moved by the given offset.
+   *
+   * @param offset the number of bits to move by, up for positive offsets and down for negative ones
+   * @param src    the bits to move
+   * @param w      the index of the word of the result
+   * @return the bits of src that land in word w
+   */
+  static long word(int offset, long[] src, int w) {
+    int q = Math.abs(offset) >>> 6;
+    int r = Math.abs(offset) & 63;
+    long v = 0;
+    if (offset > 0) {
+      int s = w - q;
+      if (s >= 0) {
+        v = src[s] << r;
+        if (r != 0 && s > 0) {
+          v |= src[s - 1] >>> (64 - r);
+        }
+      }
+    } else {
+      int s = w + q;
+      if (s < src.length) {
+        v = src[s] >>> r;
+        if (r != 0 && s + 1 < src.length) {
+          v |= src[s + 1] << (64 - r);
+        }
+      }
+    }
+    return v;
+  }
+
+  @Override
+  public boolean and(long[] a, long[] b) {
+    long any = 0;
+    for (int w = 0; w < a.length; w++) {
+      a[w] &= b[w];
+      any |= a[w];
+    }
+    return any != 0;
+  }
+
+  @Override
+  public boolean propagate(long[] next, long[] own, long[] opp, long[] moves, long[] frontier) {
+    long live = 0;
+    for (int w = 0; w < next.length; w++) {
+      moves[w] |= next[w] & ~(own[w] | opp[w]);
+      frontier[w] = next[w] & opp[w];
+      live |= frontier[w];
+    }
+    return live != 0;
+  }
+}
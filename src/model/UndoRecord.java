@@ -0,0 +1,84 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * UndoRecord holds what a model needs to take back a move made with
+ * {@link Reversi#doMove(Player, AbstractHexagon)}: the player who moved, the cell the disc was
+ * placed in and the cells whose discs were flipped. Cells are numbered by the model that made the
+ * move, so a record can only be undone on the model that returned it.
+ */
+public final class UndoRecord {
+
+  // the player who made the move, whose turn it is again once the move is undone
+  private final Player player;
+
+  // the cell the disc was placed in, or -1 if the player passed
+  private final int cell;
+
+  // the cells whose discs were flipped by the move
+  private final int[] flipped;
+
+  /**
+   * Constructs an UndoRecord.
+   *
+   * @param player  the player who made the move
+   * @param cell    the cell the disc was placed in, or -1 if the player passed
+   * @param flipped the cells whose discs were flipped by the move
+   * @throws IllegalArgumentException if the player or the flipped cells are null
+   */
+  public UndoRecord(Player player, int cell, int[] flipped) {
+    if (player == null || flipped == null) {
+      throw new IllegalArgumentException();
+    }
+    this.player = player;
+    this.cell = cell;
+    this.flipped = flipped;
+  }
+
+  /**
+   * Accesses the player who made the move.
+   * @return the player who made the move.
+   */
+  public Player getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * Accesses the cell the disc was placed in.
+   * @return the cell of the move, or -1 if the player passed.
+   */
+  public int getCell() {
+    return this.cell;
+  }
+
+  /**
+   * Determines whether the move was a pass.
+   * @return true if the player passed instead of placing a disc.
+   */
+  public boolean isPass() {
+    return this.cell < 0;
+  }
+
+  /**
+   * Accesses the number of discs flipped by the move.
+   * @return the number of flipped discs.
+   */
+  public int getFlipCount() {
+    return this.flipped.length;
+  }
+
+  /**
+   * Accesses the cell of one of the discs flipped by the move.
+   * @param k the index of the flipped disc, from 0 to the flip count
+   * @return the cell of that disc.
+   */
+  public int getFlipped(int k) {
+    return this.flipped[k];
+  }
+
+  @Override
+  public String toString() {
+    return this.player + " " + this.cell + " " + Arrays.toString(this.flipped);
+  }
+}
@@ -0,0 +1,60 @@
+package model;
+
+/**
+ * Zobrist holds the random 64-bit keys that models combine into the key of a position: one key for
+ * each disc color in each cell, and one for the second player being next to move. The key of a
+ * position is the XOR of the keys of its discs and side to move, so a model can keep it up to date
+ * by XORing the keys of whatever changes.
+ *
+ * <p>The keys are derived from the cell and player rather than drawn at random, so every model
+ * numbering its cells the same way gives the same key to the same position.
+ */
+public final class Zobrist {
+
+  /**
+   * The key XORed into the key of every position where the second player is next to move.
+   */
+  public static final long SIDE = mix(-2);
+
+  private Zobrist() {
+  }
+
+  /**
+   * Returns the key of a disc of the given player in the given cell.
+   *
+   * @param who  the player the disc belongs to
+   * @param cell the 0-based index of the cell
+   * @return the key of that disc
+   * @throws IllegalArgumentException if the player is null or the cell is negative
+   */
+  public static long key(Player who, int cell) {
+    if (who == null || cell < 0) {
+      throw new IllegalArgumentException();
+    }
+    return mix(2L * cell + (who == Player.A ? 0 : 1));
+  }
+
+  /**
+   * Returns the keys of discs of the given player in every cell of a board with the given number
+   * of cells.
+   *
+   * @param who   the player the discs belong to
+   * @param cells the number of cells of the board
+   * @return the key of a disc in each cell
+   */
+  public static long[] keys(Player who, int cells) {
+    long[] keys = new long[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      keys[cell] = key(who, cell);
+    }
+    return keys;
+  }
+
+  // spreads the bits of the given value over a 64-bit key, using the finalizer of SplitMix64
+  private static long mix(long value) {
+    long z = (value + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,455 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import model.Move;
+import model.Player;
+import model.ReadOnlyReversi;
+import model.Reversi;
+import model.UndoRecord;
+
+/**
+ * An implementation of a strategy that looks ahead instead of picking the best tile for the next
+ * move alone. Strategy: searches the moves of both players with iterative-deepening negamax
+ * alpha-beta and principal-variation search, one depth at a time until the time budget for the
+ * move runs out, and plays the best move of the last depth it completed. The search makes and
+ * takes back moves on the given model with doMove and undoMove, so it works on any model, hexagonal
+ * or square, and leaves the model as it found it. What the search learns about each position is
+ * kept in a transposition table, which cuts off positions reached again through another order of
+ * moves and tries the best move found before first when the position is searched deeper. The
+ * other moves are sorted by a MoveOrderer, killers first and then by history and mobility.
+ *
+ * <p>The search can run helper threads next to the thread that called it (Lazy SMP). Each helper
+ * searches its own copy of the model from the same root, starting at a different depth and with
+ * the root moves in a different order, and they share nothing but the transposition table. The
+ * helpers fill the table with positions the main search then finds already searched. The main
+ * search alone decides the move, and the helpers are stopped when it is done.
+ *
+ * <p>A search keeps its counters in the strategy, so one instance must not search two models at
+ * the same time.
+ */
+public class AlphaBetaSearch implements ReversiStrategy {
+
+  /**
+   * The score of a finished game won by the player to move, before adding the disc difference.
+   */
+  public static final int WIN = 1_000_000;
+
+  // the deepest search iterative deepening goes to when the caller does not limit it
+  private static final int MAX_DEPTH = 64;
+
+  // the size of the transposition table when the caller does not give one, in megabytes
+  private static final int TABLE_MEGABYTES = 16;
+
+  // a score beyond any score of a position
+  private static final int INFINITY = 2 * WIN;
+
+  // how much one more legal move is worth compared to one more disc
+  private static final int MOBILITY_WEIGHT = 4;
+
+  // the clock is read once every (CHECK_MASK + 1) nodes
+  private static final long CHECK_MASK = 1023;
+
+  // the time the search may spend on one move, in nanoseconds
+  private final long budget;
+
+  // the deepest depth iterative deepening goes to
+  private final int maxDepth;
+
+  // the positions searched so far, kept from move to move, or null to search without a table
+  private final TranspositionTable table;
+
+  // the search of the calling thread, followed by the searches of the helper threads
+  private final Worker[] workers;
+
+  // the time after which the running search stops
+  private long deadline;
+
+  // whether the main search is done, which stops the helpers
+  private volatile boolean stopped;
+
+  // the number of positions visited by the last search, by all threads
+  private long nodes;
+
+  /**
+   * Constructs an AlphaBetaSearch that deepens its search until the time budget runs out.
+   *
+   * @param millis the time the search may spend on one move, in milliseconds
+   * @throws IllegalArgumentException if the time budget is not positive
+   */
+  public AlphaBetaSearch(long millis) {
+    this(millis, MAX_DEPTH);
+  }
+
+  /**
+   * Constructs an AlphaBetaSearch that deepens its search until the time budget runs out or the
+   * given depth is completed. A depth limit with a generous time budget gives the same move every
+   * time, whatever the speed of the machine.
+   *
+   * @param millis   the time the search may spend on one move, in milliseconds
+   * @param maxDepth the deepest depth to search to, in moves
+   * @throws IllegalArgumentException if the time budget or the depth is not positive
+   */
+  public AlphaBetaSearch(long millis, int maxDepth) {
+    this(millis, maxDepth, new TranspositionTable(TABLE_MEGABYTES));
+  }
+
+  /**
+   * Constructs an AlphaBetaSearch that keeps what it learns in the given transposition table. The
+   * table is kept from move to move, and may be shared with other searches.
+   *
+   * @param millis   the time the search may spend on one move, in milliseconds
+   * @param maxDepth the deepest depth to search to, in moves
+   * @param table    the transposition table to use, or null to search without one
+   * @throws IllegalArgumentException if the time budget or the depth is not positive
+   */
+  public AlphaBetaSearch(long millis, int maxDepth, TranspositionTable table) {
+    this(millis, maxDepth, table, 0);
+  }
+
+  /**
+   * Constructs an AlphaBetaSearch that runs the given number of helper threads next to the thread
+   * that calls chooseMove, all sharing the given transposition table.
+   *
+   * @param millis   the time the search may spend on one move, in milliseconds
+   * @param maxDepth the deepest depth to search to, in moves
+   * @param table    the transposition table to use, or null to search without one
+   * @param helpers  the number of helper threads, or 0 to search on the calling thread alone
+   * @throws IllegalArgumentException if the time budget or the depth is not positive, if the
+   *                                  number of helpers is negative, or if there are helpers but no
+   *                                  table for them to share
+   */
+  public AlphaBetaSearch(long millis, int maxDepth, TranspositionTable table, int helpers) {
+    if (millis <= 0 || maxDepth <= 0) {
+      throw new IllegalArgumentException("Time budget and depth must be positive");
+    } else if (helpers < 0 || helpers > 0 && table == null) {
+      throw new IllegalArgumentException("Helper threads need a transposition table to share");
+    }
+    this.budget = millis * 1_000_000L;
+    this.maxDepth = maxDepth;
+    this.table = table;
+    this.workers = new Worker[helpers + 1];
+    for (int id = 0; id <= helpers; id++) {
+      this.workers[id] = new Worker(id);
+    }
+  }
+
+  @Override
+  public List<Integer> chooseTile(Reversi model, Player player) {
+    return Move.toCoordinates(model, this.chooseMove(model, player));
+  }
+
+  /**
+   * Returns the packed move of the best move found for the given player. The search deepens one
+   * move at a time and stops when the time budget runs out, the depth limit is reached or the
+   * search reaches the end of the game, and the best move of the last completed depth is played.
+   * If not even the first depth completes in time, the first legal move is played. Helper threads
+   * search copies of the model until the main search is done.
+   * @param model The Reversi model to choose a move on. Moves are made and taken back on it, and
+   *              it is left as it was.
+   * @param player The player who is choosing a move, whose turn it must be.
+   * @return The packed move chosen for the player, or Move.PASS if they have no legal move.
+   */
+  @Override
+  public int chooseMove(Reversi model, Player player) {
+    this.deadline = System.nanoTime() + this.budget;
+    this.stopped = false;
+    this.nodes = 0;
+    int cells = model.getCellCount();
+    for (Worker worker : this.workers) {
+      worker.reset(cells);
+    }
+    if (this.table != null) {
+      this.table.newSearch();
+    }
+    BitSet legal = model.legalMoves(player);
+    int[] root = new int[legal.cardinality()];
+    this.workers[0].toMoves(legal, root);
+    if (root.length <= 1) {
+      return root.length == 0 ? Move.PASS : root[0];
+    }
+    int empty = cells - model.getScore(Player.A) - model.getScore(Player.B);
+    Thread[] threads = new Thread[this.workers.length - 1];
+    for (int id = 1; id < this.workers.length; id++) {
+      Worker helper = this.workers[id];
+      Reversi copy = model.copy();
+      threads[id - 1] = new Thread(() -> helper.iterate(copy, player, root.clone(), empty),
+              "search-helper-" + id);
+      threads[id - 1].setDaemon(true);
+      threads[id - 1].start();
+    }
+    int best = this.workers[0].iterate(model, player, root, empty);
+    this.stopped = true;
+    for (Thread thread : threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    for (Worker worker : this.workers) {
+      this.nodes += worker.nodes;
+    }
+    return best;
+  }
+
+  /**
+   * Accesses the number of positions the last search visited, counting the helper threads.
+   * @return the number of nodes of the last call to chooseMove.
+   */
+  public long getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Accesses the last depth the last search completed.
+   * @return the depth of the move chosen by the last call to chooseMove, or 0 if the move was
+   *         chosen without completing a depth.
+   */
+  public int getCompletedDepth() {
+    return this.workers[0].completed;
+  }
+
+  /**
+   * Accesses the score of the move chosen by the last search, from the point of view of the
+   * player who chose it.
+   * @return the score of the best move at the last completed depth, or 0 if no depth completed.
+   */
+  public int getScore() {
+    return this.workers[0].score;
+  }
+
+  /**
+   * Evaluates a position for the given player, as the search scores the positions where it stops
+   * looking ahead. A finished game scores WIN plus the disc difference for the winner, minus WIN
+   * plus the disc difference for the loser, and 0 for a draw. Otherwise the score is the disc
+   * difference plus a weighted difference in the number of legal moves.
+   * @param model The model to evaluate.
+   * @param who The player to evaluate the position for.
+   * @return The score of the position, higher being better for the given player.
+   */
+  public static int evaluate(ReadOnlyReversi model, Player who) {
+    Player other = who == Player.A ? Player.B : Player.A;
+    int discs = model.getScore(who) - model.getScore(other);
+    int mobility = model.legalMoveCount(who);
+    int otherMobility = model.legalMoveCount(other);
+    if (mobility == 0 && otherMobility == 0) {
+      return discs > 0 ? WIN + discs : discs < 0 ? -WIN + discs : 0;
+    }
+    return discs + MOBILITY_WEIGHT * (mobility - otherMobility);
+  }
+
+  // the search of one thread, with its own counters and move lists; worker 0 is the main search
+  // on the calling thread and the others are helpers
+  private final class Worker {
+
+    // the number of this worker, 0 for the main search
+    private final int id;
+
+    // whether this search ran out of time or was stopped
+    private boolean aborted;
+
+    // the number of positions visited by this search
+    private long nodes;
+
+    // the last depth this search completed, and the score of its best move at that depth
+    private int completed;
+    private int score;
+
+    // the legal moves of each ply of the running search
+    private int[][] moves = new int[0][];
+
+    // the killers and history of this search, which sort the moves of each position
+    private final MoveOrderer orderer = new MoveOrderer();
+
+    Worker(int id) {
+      this.id = id;
+    }
+
+    // clears the counters of the last search, for a search of a board with the given number of
+    // positions
+    void reset(int cells) {
+      this.orderer.newSearch(cells);
+      this.aborted = false;
+      this.nodes = 0;
+      this.completed = 0;
+      this.score = 0;
+    }
+
+    // deepens the search of the given root moves one depth at a time, and returns the best move
+    // of the last completed depth. Helpers start at a depth that depends on their number and try
+    // the root moves in a rotated order, so they do not all search the same tree.
+    int iterate(Reversi model, Player player, int[] root, int empty) {
+      int count = root.length;
+      int first = 1;
+      if (this.id > 0) {
+        first += this.id % 2;
+        int shift = this.id % count;
+        int[] rotated = new int[count];
+        for (int k = 0; k < count; k++) {
+          rotated[k] = root[(k + shift) % count];
+        }
+        root = rotated;
+      }
+      int best = root[0];
+      for (int depth = first; depth <= AlphaBetaSearch.this.maxDepth; depth++) {
+        int[] order = Arrays.copyOf(root, count);
+        int found = this.searchRoot(model, player, depth, order);
+        if (this.aborted) {
+          break;
+        }
+        best = order[found];
+        this.completed = depth;
+        // the best move of this depth is searched first at the next depth
+        System.arraycopy(order, 0, root, 1, found);
+        root[0] = best;
+        System.arraycopy(order, found + 1, root, found + 1, count - found - 1);
+        if (depth >= empty) {
+          // every line of play ends within this depth, so deeper searches give the same result
+          break;
+        }
+      }
+      return best;
+    }
+
+    // searches the given moves of the root to the given depth, and returns the index of the best
+    // move, setting the score of the search
+    private int searchRoot(Reversi model, Player who, int depth, int[] order) {
+      Player other = who == Player.A ? Player.B : Player.A;
+      int alpha = -INFINITY;
+      int found = 0;
+      this.nodes++;
+      for (int k = 0; k < order.length; k++) {
+        UndoRecord record = model.doMove(who, order[k]);
+        int value;
+        if (k == 0) {
+          value = -this.negamax(model, other, depth - 1, -INFINITY, -alpha, 1);
+        } else {
+          value = -this.negamax(model, other, depth - 1, -alpha - 1, -alpha, 1);
+          if (value > alpha && !this.aborted) {
+            value = -this.negamax(model, other, depth - 1, -INFINITY, -alpha, 1);
+          }
+        }
+        model.undoMove(record);
+        if (this.aborted) {
+          return found;
+        }
+        if (value > alpha) {
+          alpha = value;
+          found = k;
+        }
+      }
+      this.score = alpha;
+      return found;
+    }
+
+    // returns the score of the position for the player to move, searched to the given depth with
+    // the window (alpha, beta); the first move gets the full window and the others a null window
+    // that is widened only when a move turns out to be better
+    private int negamax(Reversi model, Player who, int depth, int alpha, int beta, int ply) {
+      this.nodes++;
+      if ((this.nodes & CHECK_MASK) == 0 && (System.nanoTime() - deadline > 0
+              || this.id > 0 && stopped)) {
+        this.aborted = true;
+      }
+      if (this.aborted) {
+        return 0;
+      }
+      if (depth == 0) {
+        return evaluate(model, who);
+      }
+      long key = 0;
+      int hashMove = Move.PASS;
+      if (table != null) {
+        key = model.getZobristKey();
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+          hashMove = TranspositionTable.move(entry);
+          if (TranspositionTable.depth(entry) >= depth) {
+            int stored = TranspositionTable.score(entry);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || bound == TranspositionTable.LOWER && stored >= beta
+                    || bound == TranspositionTable.UPPER && stored <= alpha) {
+              return stored;
+            }
+          }
+        }
+      }
+      Player other = who == Player.A ? Player.B : Player.A;
+      BitSet legal = model.legalMoves(who);
+      if (legal.isEmpty()) {
+        if (!model.hasLegalMove(other)) {
+          return evaluate(model, who);
+        }
+        // a pass is forced, so it does not use up depth
+        UndoRecord record = model.doMove(who, Move.PASS);
+        int value = -this.negamax(model, other, depth, -beta, -alpha, ply + 1);
+        model.undoMove(record);
+        return value;
+      }
+      int count = legal.cardinality();
+      int[] list = this.toMoves(legal, this.list(ply, count));
+      this.orderer.order(model, who, list, count, hashMove, ply, depth);
+      int start = alpha;
+      int best = -INFINITY;
+      int bestMove = Move.PASS;
+      for (int k = 0; k < count; k++) {
+        UndoRecord record = model.doMove(who, list[k]);
+        int value;
+        if (k == 0) {
+          value = -this.negamax(model, other, depth - 1, -beta, -alpha, ply + 1);
+        } else {
+          value = -this.negamax(model, other, depth - 1, -alpha - 1, -alpha, ply + 1);
+          if (value > alpha && value < beta && !this.aborted) {
+            value = -this.negamax(model, other, depth - 1, -beta, -alpha, ply + 1);
+          }
+        }
+        model.undoMove(record);
+        if (this.aborted) {
+          return 0;
+        }
+        if (value > best) {
+          best = value;
+          bestMove = list[k];
+          if (value > alpha) {
+            alpha = value;
+            if (alpha >= beta) {
+              this.orderer.cutoff(who, bestMove, ply, depth);
+              break;
+            }
+          }
+        }
+      }
+      if (table != null) {
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best <= start ? TranspositionTable.UPPER : TranspositionTable.EXACT;
+        table.store(key, depth, bound, best, bestMove);
+      }
+      return best;
+    }
+
+    // returns the move list of the given ply, with room for at least the given number of moves
+    private int[] list(int ply, int count) {
+      if (ply >= this.moves.length) {
+        this.moves = Arrays.copyOf(this.moves, Math.max(ply + 1, 2 * this.moves.length));
+      }
+      if (this.moves[ply] == null || this.moves[ply].length < count) {
+        this.moves[ply] = new int[count];
+      }
+      return this.moves[ply];
+    }
+
+    // writes the positions of the given legal moves into the given list, which is returned
+    private int[] toMoves(BitSet legal, int[] list) {
+      int k = 0;
+      for (int move = legal.nextSetBit(0); move >= 0; move = legal.nextSetBit(move + 1)) {
+        list[k++] = move;
+      }
+      return list;
+    }
+  }
+}
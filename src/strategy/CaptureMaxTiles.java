@@ -1,12 +1,11 @@
 package strategy;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 
-import extracredit.model.NoDiscSquare;
 import model.FilledHexagon;
+import model.Move;
 import model.NoDiscHexagon;
 import model.Player;
 import model.Reversi;
@@ -33,20 +32,46 @@ public class CaptureMaxTiles implements ReversiStrategy {
    */
   @Override
   public List<Integer> chooseTile(Reversi model, Player player) {
+    return Move.toCoordinates(model, this.chooseMove(model, player));
+  }
 
-    HashMap<AbstractHexagon, Integer> possibleHexagons = new HashMap<>();
-
-    for (AbstractHexagon hex : model.getBoardGame()) {
-      if (hex instanceof NoDiscHexagon) {
-        possibleHexagons.put(hex, ((NoDiscHexagon)hex).getValidMoves(player));
-      }
-      else if (hex instanceof NoDiscSquare) {
-        possibleHexagons.put(hex, ((NoDiscSquare)hex).getValidMoves(player));
+  /**
+   * Returns the packed move of the tile that captures the most tiles for
+   * the given player, in the same way as chooseTile. The legal moves are
+   * ranked by the number of discs they flip, and ties are broken by the
+   * tile with the smallest diagonal, then the smallest row.
+   * @param model The ReversiModel which determines which tiles will be
+   *              captured.
+   * @param player The ReversiPlayer that is currently playing.
+   * @return The position in the grid of the tile that captures the most
+   *         tiles, or Move.PASS if the player has no legal move.
+   */
+  @Override
+  public int chooseMove(Reversi model, Player player) {
+    BitSet legal = model.legalMoves(player);
+    if (legal.isEmpty()) {
+      return Move.PASS;
+    }
+    int[] captured = model.getFlipCounts(player);
+    List<AbstractHexagon> tiles = model.getBoardGame();
+    int best = legal.nextSetBit(0);
+
+    for (int position = legal.nextSetBit(best + 1); position >= 0;
+         position = legal.nextSetBit(position + 1)) {
+      if (captured[position] > captured[best] || (captured[position] == captured[best]
+              && this.before(tiles.get(position), tiles.get(best)))) {
+        best = position;
       }
     }
-    // returns a hashmap with the maximum number of tiles the player can capture if they make a move
-    // in any of the possible tiles
-    return this.getBestHexagon(possibleHexagons);
+    return best;
+  }
+
+  // determines whether the first tile comes before the second tile when they capture the same
+  // number of tiles: the tile with the smaller diagonal comes first, and on the same diagonal the
+  // tile with the smaller row
+  private boolean before(AbstractHexagon hex, AbstractHexagon other) {
+    return hex.getDiagonal() < other.getDiagonal()
+            || (hex.getDiagonal() == other.getDiagonal() && hex.getRow() < other.getRow());
   }
 
 
@@ -67,8 +92,8 @@ public class CaptureMaxTiles implements ReversiStrategy {
       // return the size
       if (!(hex instanceof  FilledHexagon)) {
         List<List<FilledHexagon>> list =
-                hex.checkAll((hex.getFilledHexagons(player.getColor())),
-                        hex, player.getColor());
+                hex.checkAll((hex.getFilledHexagons(player.getDisc())),
+                        hex, player.getDisc());
         for (List<FilledHexagon> l: list) {
           size = size + l.size();
         }
@@ -77,41 +102,4 @@ public class CaptureMaxTiles implements ReversiStrategy {
     }
     return possibleHexagons;
   }
-
-
-  /**
-   * Iterates through a hashmap that contains all the hexagons in the grid and
-   * finds which hexagon has the largest number of tiles captured.
-   * @param map A hashmap that contains a NoDiscHexagon and the largest amount
-   *            of tiles that that tile will capture in one move.
-   * @return A NoDiscHexagon that will capture the largest amount of tiles.
-   */
-  private List<Integer> getBestHexagon(HashMap<AbstractHexagon, Integer> map) {
-
-    int max = 0;
-    AbstractHexagon bestHex = null;
-    List<AbstractHexagon> ties = new ArrayList<>();
-
-    for (HashMap.Entry<AbstractHexagon, Integer> entry : map.entrySet()) {
-      if (entry.getValue() == max) {
-        ties.add(entry.getKey());
-      }
-      if (entry.getValue() > max) {
-        max = entry.getValue();
-        ties.clear();
-        ties.add(entry.getKey());
-      }
-    }
-
-    bestHex = ties.get(0);
-
-    for (AbstractHexagon hex : ties) {
-      if (hex.getDiagonal() < bestHex.getDiagonal() ||
-              (hex.getDiagonal() == bestHex.getDiagonal() && hex.getRow() < bestHex.getRow())) {
-        bestHex = hex;
-      }
-    }
-
-    return Arrays.asList(bestHex.getDiagonal(),  bestHex.getRow());
-  }
 }
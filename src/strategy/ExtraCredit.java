@@ -63,8 +63,8 @@
 //  private int calculateScore(NoDiscHexagon hex, Player player) {
 //    int size = 0;
 //    List<List<FilledHexagon>> list =
-//            hex.checkAll((hex.getFilledHexagons(player.getColor())),
-//                    hex, player.getColor());
+//            hex.checkAll((hex.getFilledHexagons(player.getDisc())),
+//                    hex, player.getDisc());
 //
 //    for (List<FilledHexagon> l : list) {
 //      size = size + l.size();
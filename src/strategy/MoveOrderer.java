@@ -0,0 +1,276 @@
+package strategy;
+
+import java.util.Arrays;
+
+import model.Move;
+import model.Player;
+import model.Reversi;
+import model.UndoRecord;
+
+/**
+ * MoveOrderer sorts the legal moves of the positions of an alpha-beta search so the moves most
+ * likely to cut off are searched first. The move a transposition table remembers as best, the hash
+ * move, comes first. The two killer moves of the ply come next: the moves that last cut off at
+ * that ply in other positions. The other moves follow by their history score, which grows each
+ * time the move cuts off for the player, and more for cutoffs deeper in the tree. Close to the
+ * root, where the tree below each move is large enough to pay for it, the other moves are ordered
+ * first by the number of replies they leave the opponent, fewest first, and then by history.
+ *
+ * <p>The killers and the history are kept in arrays of ints allocated once, the history indexed by
+ * the player and the position of the move. An orderer holds the state of one search, so each
+ * thread of a search needs an orderer of its own.
+ */
+public final class MoveOrderer {
+
+  /**
+   * The remaining depth from which moves are also ordered by mobility when the caller does not
+   * give one.
+   */
+  public static final int MOBILITY_DEPTH = 4;
+
+  // the number of killer moves kept for each ply
+  private static final int KILLERS = 2;
+
+  // the sort keys of the hash move and of the killers, above any history score
+  private static final int HASH_KEY = Integer.MAX_VALUE;
+  private static final int KILLER_KEY = Integer.MAX_VALUE - 1;
+
+  // the history scores are halved once one of them reaches this, which keeps them below it and
+  // lets newer cutoffs count more than older ones
+  private static final int HISTORY_LIMIT = 1 << 16;
+
+  // the remaining depth from which moves are also ordered by mobility
+  private final int mobilityDepth;
+
+  // the history score of each player and position, the positions of player A first
+  private int[] history = new int[0];
+
+  // the number of positions of the board the history is sized for
+  private int cells;
+
+  // the killer moves of each ply, KILLERS to a ply with the latest first, or Move.PASS if none
+  private int[] killers = new int[0];
+
+  // the sort keys of the moves of each ply
+  private int[][] keys = new int[0][];
+
+  /**
+   * Constructs a MoveOrderer that also orders moves by mobility from MOBILITY_DEPTH on.
+   */
+  public MoveOrderer() {
+    this(MOBILITY_DEPTH);
+  }
+
+  /**
+   * Constructs a MoveOrderer that also orders moves by mobility from the given remaining depth
+   * on.
+   *
+   * @param mobilityDepth the remaining depth from which moves are ordered by mobility, or a depth
+   *                      deeper than any search to never order by mobility
+   * @throws IllegalArgumentException if the depth is not positive
+   */
+  public MoveOrderer(int mobilityDepth) {
+    if (mobilityDepth <= 0) {
+      throw new IllegalArgumentException("Mobility depth must be positive");
+    }
+    this.mobilityDepth = mobilityDepth;
+  }
+
+  /**
+   * Constructs a MoveOrderer with the killers and history of the given orderer, for a search
+   * that continues from the position it was in, such as a task forked by a parallel search.
+   *
+   * @param other the orderer to copy
+   * @throws IllegalArgumentException if the orderer is null
+   */
+  public MoveOrderer(MoveOrderer other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Orderer cannot be null");
+    }
+    this.mobilityDepth = other.mobilityDepth;
+    this.history = other.history.clone();
+    this.cells = other.cells;
+    this.killers = other.killers.clone();
+  }
+
+  /**
+   * Replaces the killers and history of this orderer with those of the given orderer, like the
+   * copy constructor but reusing the arrays of this orderer when they have the right size.
+   *
+   * @param other the orderer to copy
+   * @throws IllegalArgumentException if the orderer is null or orders by mobility from another
+   *                                  depth
+   */
+  public void load(MoveOrderer other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Orderer cannot be null");
+    } else if (other.mobilityDepth != this.mobilityDepth) {
+      throw new IllegalArgumentException("Orderers must order by mobility from the same depth");
+    }
+    this.history = copyInto(other.history, this.history);
+    this.cells = other.cells;
+    this.killers = copyInto(other.killers, this.killers);
+  }
+
+  /**
+   * Prepares the orderer for a search of a board with the given number of positions. The killers
+   * are forgotten, since the positions of the new search are other positions, and the history is
+   * halved, so it still guides the new search but gives way to what it learns. The history is
+   * cleared if the board has another size.
+   *
+   * @param cells the number of positions of the board
+   * @throws IllegalArgumentException if the number of positions is negative
+   */
+  public void newSearch(int cells) {
+    if (cells < 0) {
+      throw new IllegalArgumentException("Number of positions cannot be negative");
+    }
+    if (cells != this.cells) {
+      this.history = new int[2 * cells];
+      this.cells = cells;
+    } else {
+      this.age();
+    }
+    Arrays.fill(this.killers, Move.PASS);
+  }
+
+  /**
+   * Sorts the first count moves of the given list into the order they should be searched in.
+   * Moves that are neither the hash move nor a killer keep their order when their keys are equal.
+   *
+   * @param model    the model of the position, on which moves are made and taken back to order
+   *                 by mobility, and which is left as it was
+   * @param who      the player to move
+   * @param list     the legal moves of the position, sorted in place
+   * @param count    the number of moves of the list
+   * @param hashMove the best move remembered for the position, or Move.PASS if there is none
+   * @param ply      the number of moves made since the root of the search
+   * @param depth    the remaining depth the position is searched to
+   */
+  public void order(Reversi model, Player who, int[] list, int count, int hashMove, int ply,
+                    int depth) {
+    this.grow(ply);
+    if (this.keys[ply] == null || this.keys[ply].length < count) {
+      this.keys[ply] = new int[count];
+    }
+    int[] key = this.keys[ply];
+    int base = who == Player.A ? 0 : this.cells;
+    Player other = who == Player.A ? Player.B : Player.A;
+    boolean mobility = depth >= this.mobilityDepth && count > 1;
+    for (int k = 0; k < count; k++) {
+      int move = list[k];
+      if (move == hashMove) {
+        key[k] = HASH_KEY;
+      } else if (move == this.killers[KILLERS * ply]) {
+        key[k] = KILLER_KEY;
+      } else if (move == this.killers[KILLERS * ply + 1]) {
+        key[k] = KILLER_KEY - 1;
+      } else {
+        key[k] = move < this.cells ? this.history[base + move] : 0;
+        if (mobility) {
+          UndoRecord record = model.doMove(who, move);
+          int replies = model.legalMoveCount(other);
+          model.undoMove(record);
+          key[k] -= replies * HISTORY_LIMIT;
+        }
+      }
+    }
+    // insertion sort, highest key first, which is stable and fast for the few moves of a position
+    for (int k = 1; k < count; k++) {
+      int move = list[k];
+      int value = key[k];
+      int j = k - 1;
+      while (j >= 0 && key[j] < value) {
+        list[j + 1] = list[j];
+        key[j + 1] = key[j];
+        j--;
+      }
+      list[j + 1] = move;
+      key[j + 1] = value;
+    }
+  }
+
+  /**
+   * Records that the given move cut off the search of a position, making it a killer of the ply
+   * and raising its history score for the player.
+   *
+   * @param who   the player who made the move
+   * @param move  the move that cut off
+   * @param ply   the number of moves made since the root of the search
+   * @param depth the remaining depth the position was searched to
+   */
+  public void cutoff(Player who, int move, int ply, int depth) {
+    if (Move.isPass(move)) {
+      return;
+    }
+    this.grow(ply);
+    int slot = KILLERS * ply;
+    if (this.killers[slot] != move) {
+      this.killers[slot + 1] = this.killers[slot];
+      this.killers[slot] = move;
+    }
+    if (move < this.cells) {
+      int index = (who == Player.A ? 0 : this.cells) + move;
+      this.history[index] += depth * depth;
+      if (this.history[index] >= HISTORY_LIMIT) {
+        this.age();
+      }
+    }
+  }
+
+  /**
+   * Accesses the history score of a move.
+   * @param who  the player making the move
+   * @param move the position of the move
+   * @return how much the move has cut off for the player, or 0 if it is off the board the
+   *         orderer is sized for.
+   */
+  public int history(Player who, int move) {
+    if (move < 0 || move >= this.cells) {
+      return 0;
+    }
+    return this.history[(who == Player.A ? 0 : this.cells) + move];
+  }
+
+  /**
+   * Accesses a killer move of a ply.
+   * @param ply  the number of moves made since the root of the search
+   * @param slot 0 for the latest killer, 1 for the one before
+   * @return the killer move, or Move.PASS if the ply has none.
+   * @throws IllegalArgumentException if the ply is negative or the slot is not 0 or 1
+   */
+  public int killer(int ply, int slot) {
+    if (ply < 0 || slot < 0 || slot >= KILLERS) {
+      throw new IllegalArgumentException("Invalid ply or killer slot");
+    }
+    return KILLERS * ply < this.killers.length ? this.killers[KILLERS * ply + slot] : Move.PASS;
+  }
+
+  // copies the given array into the other array if it has the same length, or into a new one
+  private static int[] copyInto(int[] from, int[] to) {
+    if (to.length != from.length) {
+      return from.clone();
+    }
+    System.arraycopy(from, 0, to, 0, from.length);
+    return to;
+  }
+
+  // halves every history score
+  private void age() {
+    for (int k = 0; k < this.history.length; k++) {
+      this.history[k] >>= 1;
+    }
+  }
+
+  // makes room for the killers and keys of the given ply
+  private void grow(int ply) {
+    if (ply >= this.keys.length) {
+      this.keys = Arrays.copyOf(this.keys, Math.max(ply + 1, 2 * this.keys.length));
+    }
+    if (KILLERS * ply >= this.killers.length) {
+      int old = this.killers.length;
+      this.killers = Arrays.copyOf(this.killers, KILLERS * Math.max(ply + 1, old));
+      Arrays.fill(this.killers, old, this.killers.length, Move.PASS);
+    }
+  }
+}
@@ -24,4 +24,14 @@ public interface ReversiStrategy {
    */
   List<Integer> chooseTile(Reversi model, Player player);
 
+  /**
+   * Returns the move this strategy chooses for the given player as a packed move: the position
+   * of the tile in the grid of the model, or Move.PASS if the strategy has no tile to move to.
+   * chooseTile gives the coordinates of the same tile.
+   * @param model The Reversi model to choose a move on.
+   * @param player The player who is choosing a move.
+   * @return The packed move chosen for the player.
+   */
+  int chooseMove(Reversi model, Player player);
+
 }
@@ -0,0 +1,208 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable remembers what a search learned about the positions it visited, keyed by the
+ * Zobrist key of the position, so a position reached again through another order of moves is not
+ * searched again. Each entry holds the depth the position was searched to, whether its score is
+ * exact or a bound, the score and the best move. Scores are kept in 24 bits, which holds every
+ * score of AlphaBetaSearch, and moves in 24 bits, which holds every position of a board of up to
+ * 16,777,214 tiles.
+ *
+ * <p>The table is a fixed array of longs allocated once, with two longs per entry: the key XORed
+ * with the data, and the data. Entries are read and written without locks, so one table can be
+ * shared by several threads searching at once. An entry torn by two threads writing it at the same
+ * time no longer verifies against its key and reads as a miss. An entry is replaced by an entry of
+ * a search at least as deep, or by any entry once it is left over from an earlier search, so the
+ * table can be kept from move to move of a game.
+ */
+public final class TranspositionTable {
+
+  /**
+   * The bound type of a score that is at least the score of the position.
+   */
+  public static final int LOWER = 1;
+
+  /**
+   * The bound type of a score that is at most the score of the position.
+   */
+  public static final int UPPER = 2;
+
+  /**
+   * The bound type of the exact score of the position.
+   */
+  public static final int EXACT = 3;
+
+  /**
+   * The data returned by probe when the table has no entry for a key.
+   */
+  public static final long MISS = 0;
+
+  /**
+   * The largest score an entry can hold. The smallest is -MAX_SCORE - 1.
+   */
+  public static final int MAX_SCORE = (1 << 23) - 1;
+
+  /**
+   * The largest move an entry can hold.
+   */
+  public static final int MAX_MOVE = (1 << 24) - 2;
+
+  // the largest number of entries, which keeps the array within the largest array size
+  private static final int MAX_ENTRIES = 1 << 29;
+
+  // the layout of the data of an entry: the score in the low 24 bits, then the move plus one in
+  // 24 bits, the depth in 8 bits, the bound in 2 bits and the search generation in 6 bits. The
+  // bound is never 0, so the data of an entry is never MISS.
+  private static final int SCORE_BITS = 24;
+  private static final int MOVE_SHIFT = 24;
+  private static final int DEPTH_SHIFT = 48;
+  private static final int BOUND_SHIFT = 56;
+  private static final int GENERATION_SHIFT = 58;
+  private static final long SCORE_MASK = 0xFFFFFFL;
+  private static final int MOVE_MASK = 0xFFFFFF;
+  private static final int DEPTH_MASK = 0xFF;
+  private static final int BOUND_MASK = 0x3;
+  private static final int GENERATION_MASK = 0x3F;
+
+  // the entries, as the key XORed with the data followed by the data
+  private final long[] entries;
+
+  // the index of the entry of a key is the key masked with this
+  private final int mask;
+
+  // the generation of the current search, stored in its entries to tell them from older ones
+  private volatile int generation;
+
+  /**
+   * Constructs a TranspositionTable using about the given amount of memory. The number of entries
+   * is the largest power of two that fits, at 16 bytes an entry.
+   *
+   * @param megabytes the size of the table in megabytes
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public TranspositionTable(int megabytes) {
+    if (megabytes <= 0) {
+      throw new IllegalArgumentException("Table size must be positive");
+    }
+    long fit = ((long) megabytes << 20) / 16;
+    int count = (int) Math.min(Long.highestOneBit(fit), MAX_ENTRIES);
+    this.entries = new long[2 * count];
+    this.mask = count - 1;
+  }
+
+  /**
+   * Accesses the number of entries of the table.
+   * @return the number of positions the table can hold.
+   */
+  public int capacity() {
+    return this.mask + 1;
+  }
+
+  /**
+   * Starts a new search, so the entries stored so far may be replaced by any entry of it. The
+   * entries are kept, and are still found by probe until they are replaced.
+   */
+  public void newSearch() {
+    this.generation = (this.generation + 1) & GENERATION_MASK;
+  }
+
+  /**
+   * Removes every entry from the table.
+   */
+  public void clear() {
+    Arrays.fill(this.entries, 0);
+  }
+
+  /**
+   * Returns the data stored for the position with the given key.
+   *
+   * @param key the Zobrist key of the position
+   * @return the data of the entry, to be read with depth, bound, score and move, or MISS if the
+   *         table has no entry for the key
+   */
+  public long probe(long key) {
+    int index = 2 * ((int) key & this.mask);
+    long data = this.entries[index + 1];
+    if (data == MISS || (this.entries[index] ^ data) != key) {
+      return MISS;
+    }
+    return data;
+  }
+
+  /**
+   * Stores what a search learned about a position, unless the table holds a deeper entry of the
+   * current search in its place, for this position or another.
+   *
+   * @param key   the Zobrist key of the position
+   * @param depth the depth the position was searched to, which is kept up to 255
+   * @param bound LOWER, UPPER or EXACT
+   * @param score the score of the position, from -MAX_SCORE - 1 to MAX_SCORE
+   * @param move  the best move found in the position, up to MAX_MOVE, or a negative number if
+   *              there is none
+   * @throws IllegalArgumentException if the bound, the depth, the score or the move is invalid
+   */
+  public void store(long key, int depth, int bound, int score, int move) {
+    if (bound < LOWER || bound > EXACT || depth < 0) {
+      throw new IllegalArgumentException("Invalid bound or depth");
+    } else if (score > MAX_SCORE || score < -MAX_SCORE - 1 || move > MAX_MOVE) {
+      throw new IllegalArgumentException("Score or move out of range of an entry");
+    }
+    int index = 2 * ((int) key & this.mask);
+    long old = this.entries[index + 1];
+    int generation = this.generation;
+    if (old != MISS && generation(old) == generation && depth(old) > depth) {
+      return;
+    }
+    int stored = move < 0 ? 0 : move + 1;
+    long data = (score & SCORE_MASK)
+            | (long) stored << MOVE_SHIFT
+            | (long) Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT
+            | (long) bound << BOUND_SHIFT
+            | (long) generation << GENERATION_SHIFT;
+    this.entries[index] = key ^ data;
+    this.entries[index + 1] = data;
+  }
+
+  /**
+   * Reads the depth of the data of an entry.
+   * @param data the data returned by probe
+   * @return the depth the position was searched to
+   */
+  public static int depth(long data) {
+    return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+  }
+
+  /**
+   * Reads the bound type of the data of an entry.
+   * @param data the data returned by probe
+   * @return LOWER, UPPER or EXACT
+   */
+  public static int bound(long data) {
+    return (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+  }
+
+  /**
+   * Reads the score of the data of an entry.
+   * @param data the data returned by probe
+   * @return the score of the position
+   */
+  public static int score(long data) {
+    return (int) data << (32 - SCORE_BITS) >> (32 - SCORE_BITS);
+  }
+
+  /**
+   * Reads the best move of the data of an entry.
+   * @param data the data returned by probe
+   * @return the packed best move, or -1 if the entry has none
+   */
+  public static int move(long data) {
+    return ((int) (data >>> MOVE_SHIFT) & MOVE_MASK) - 1;
+  }
+
+  // reads the generation of the search that stored the data of an entry
+  private static int generation(long data) {
+    return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+  }
+}
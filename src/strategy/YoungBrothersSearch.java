@@ -0,0 +1,590 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.Move;
+import model.Player;
+import model.Reversi;
+import model.UndoRecord;
+
+/**
+ * An implementation of a strategy that searches ahead in parallel on a fork-join pool, as an
+ * alternative to the Lazy SMP threads of AlphaBetaSearch. Strategy: iterative-deepening alpha-beta
+ * with Young Brothers Wait. At each node the first move, the eldest brother, is searched first on
+ * its own. Once its score has narrowed the window, the other moves are forked as tasks for idle
+ * threads of the pool to steal. A move that cuts off cancels the tasks of the moves after it, and
+ * everything they would have searched below.
+ *
+ * <p>Each thread searches on a model of its own, copied once a search the first time the thread
+ * runs one of its tasks. A task that starts on a thread brings the model of the thread to the
+ * position of its move by taking back the moves off its path and replaying the rest from the
+ * root, which is a move or two when the last task of the thread searched a brother, so forking a
+ * task copies neither the model nor the move orderer.
+ *
+ * <p>The search is deterministic. Every younger brother is searched with the window left by the
+ * eldest brother, and the scores are combined in move order, stopping at the first cutoff. The
+ * nodes counted are those of the moves up to that cutoff, so a search with a depth limit gives
+ * the same move, score and node count whatever the number of threads and however the tasks were
+ * scheduled. For the same reason the search does not use a transposition table, whose contents
+ * would depend on the timing of the threads. Each task sorts its moves with a MoveOrderer of its
+ * own, copied from the task that forked it, for the same reason. Positions are scored with
+ * AlphaBetaSearch.evaluate.
+ *
+ * <p>A search keeps its counters in the strategy, so one instance must not search two models at
+ * the same time. A search built with a number of threads runs on a pool of its own, whose threads
+ * are kept until close is called.
+ */
+public class YoungBrothersSearch implements ReversiStrategy, AutoCloseable {
+
+  // the deepest search iterative deepening goes to when the caller does not limit it
+  private static final int MAX_DEPTH = 64;
+
+  // a score beyond any score of a position
+  private static final int INFINITY = 2 * AlphaBetaSearch.WIN;
+
+  // the clock and the cancellation of a task are checked once every (CHECK_MASK + 1) nodes
+  private static final long CHECK_MASK = 255;
+
+  // the younger brothers of a node are forked only if there are at least this many moves left to
+  // search below it, since smaller trees are searched faster than a task can be forked
+  private static final int SPLIT_DEPTH = 3;
+
+  // the time the search may spend on one move, in nanoseconds
+  private final long budget;
+
+  // the deepest depth iterative deepening goes to
+  private final int maxDepth;
+
+  // the pool the tasks of the search run on
+  private final ForkJoinPool pool;
+
+  // whether the pool was made for this search, so closing the search shuts it down
+  private final boolean ownsPool;
+
+  // the killers and history of the root task, which each task forked copies
+  private final MoveOrderer orderer = new MoveOrderer();
+
+  // the model and orderers of each thread of the running search
+  private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+
+  // a copy of the model of the running search and the player choosing a move, from which each
+  // thread copies its model
+  private Reversi root;
+  private Player player;
+
+  // the time after which the running search stops
+  private long deadline;
+
+  // whether the running search ran out of time
+  private volatile boolean aborted;
+
+  // the nodes counted by the last search, the last depth it completed and the score of its move
+  private long nodes;
+  private int completed;
+  private int score;
+
+  /**
+   * Constructs a YoungBrothersSearch that deepens its search until the time budget runs out, on
+   * the common fork-join pool.
+   *
+   * @param millis the time the search may spend on one move, in milliseconds
+   * @throws IllegalArgumentException if the time budget is not positive
+   */
+  public YoungBrothersSearch(long millis) {
+    this(millis, MAX_DEPTH);
+  }
+
+  /**
+   * Constructs a YoungBrothersSearch that deepens its search until the time budget runs out or
+   * the given depth is completed, on the common fork-join pool.
+   *
+   * @param millis   the time the search may spend on one move, in milliseconds
+   * @param maxDepth the deepest depth to search to, in moves
+   * @throws IllegalArgumentException if the time budget or the depth is not positive
+   */
+  public YoungBrothersSearch(long millis, int maxDepth) {
+    this(millis, maxDepth, ForkJoinPool.commonPool(), false);
+  }
+
+  /**
+   * Constructs a YoungBrothersSearch that deepens its search until the time budget runs out or
+   * the given depth is completed, on a pool of its own with the given number of threads. The
+   * threads of the pool are kept until the search is closed.
+   *
+   * @param millis      the time the search may spend on one move, in milliseconds
+   * @param maxDepth    the deepest depth to search to, in moves
+   * @param parallelism the number of threads of the pool
+   * @throws IllegalArgumentException if the time budget, the depth or the number of threads is
+   *                                  not positive
+   */
+  public YoungBrothersSearch(long millis, int maxDepth, int parallelism) {
+    this(millis, maxDepth, parallelism > 0 ? new ForkJoinPool(parallelism) : null, true);
+  }
+
+  // checks the settings and keeps the pool, which the search shuts down when it is closed if it
+  // owns it
+  private YoungBrothersSearch(long millis, int maxDepth, ForkJoinPool pool, boolean ownsPool) {
+    if (millis <= 0 || maxDepth <= 0) {
+      throw new IllegalArgumentException("Time budget and depth must be positive");
+    } else if (pool == null) {
+      throw new IllegalArgumentException("Number of threads must be positive");
+    }
+    this.budget = millis * 1_000_000L;
+    this.maxDepth = maxDepth;
+    this.pool = pool;
+    this.ownsPool = ownsPool;
+  }
+
+  /**
+   * Shuts down the pool of this search if the search made it, letting its threads end. A search
+   * on the common pool leaves the pool alone. Closing a search more than once has no effect.
+   */
+  @Override
+  public void close() {
+    if (this.ownsPool) {
+      this.pool.shutdown();
+    }
+  }
+
+  @Override
+  public List<Integer> chooseTile(Reversi model, Player player) {
+    return Move.toCoordinates(model, this.chooseMove(model, player));
+  }
+
+  /**
+   * Returns the packed move of the best move found for the given player. The search deepens one
+   * move at a time and stops when the time budget runs out, the depth limit is reached or the
+   * search reaches the end of the game, and the best move of the last completed depth is played.
+   * If not even the first depth completes in time, the first legal move is played.
+   * @param model The Reversi model to choose a move on, which is copied for the threads of the
+   *              search and left as it was.
+   * @param player The player who is choosing a move, whose turn it must be.
+   * @return The packed move chosen for the player, or Move.PASS if they have no legal move.
+   * @throws IllegalStateException if the search has been closed
+   */
+  @Override
+  public int chooseMove(Reversi model, Player player) {
+    if (this.pool.isShutdown()) {
+      throw new IllegalStateException("Search has been closed");
+    }
+    this.deadline = System.nanoTime() + this.budget;
+    this.aborted = false;
+    this.nodes = 0;
+    this.completed = 0;
+    this.score = 0;
+    int[] root = toMoves(model.legalMoves(player));
+    int count = root.length;
+    if (count <= 1) {
+      return count == 0 ? Move.PASS : root[0];
+    }
+    int cells = model.getCellCount();
+    this.orderer.newSearch(cells);
+    int empty = cells - model.getScore(Player.A) - model.getScore(Player.B);
+    this.root = model.copy();
+    this.player = player;
+    int best = root[0];
+    for (int depth = 1; depth <= this.maxDepth; depth++) {
+      Branch search = new Branch(player, Arrays.copyOf(root, count), depth);
+      int found = this.pool.invoke(search);
+      if (this.aborted) {
+        break;
+      }
+      this.nodes += search.nodes;
+      this.score = search.best;
+      this.completed = depth;
+      best = root[found];
+      // the best move of this depth is searched first at the next depth
+      System.arraycopy(root, 0, root, 1, found);
+      root[0] = best;
+      if (depth >= empty) {
+        // every line of play ends within this depth, so deeper searches give the same result
+        break;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Accesses the number of positions counted by the last search. Positions searched by tasks
+   * that were cancelled, and by a depth that ran out of time, are not counted, so the count only
+   * depends on the position and the depth limit.
+   * @return the number of nodes of the last call to chooseMove.
+   */
+  public long getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Accesses the last depth the last search completed.
+   * @return the depth of the move chosen by the last call to chooseMove, or 0 if the move was
+   *         chosen without completing a depth.
+   */
+  public int getCompletedDepth() {
+    return this.completed;
+  }
+
+  /**
+   * Accesses the score of the move chosen by the last search, from the point of view of the
+   * player who chose it.
+   * @return the score of the best move at the last completed depth, or 0 if no depth completed.
+   */
+  public int getScore() {
+    return this.score;
+  }
+
+  // returns the model and orderers of the calling thread for the running search, copying the root
+  // the first time the thread runs a task of the search
+  private Worker worker() {
+    Worker worker = this.workers.get();
+    if (worker == null || worker.source != this.root) {
+      // threads starting at the same time copy the same root
+      synchronized (this.root) {
+        worker = new Worker(this.root, this.player);
+      }
+      this.workers.set(worker);
+    }
+    return worker;
+  }
+
+  // returns the positions of the given legal moves, in order
+  private static int[] toMoves(BitSet legal) {
+    int[] list = new int[legal.cardinality()];
+    int k = 0;
+    for (int move = legal.nextSetBit(0); move >= 0; move = legal.nextSetBit(move + 1)) {
+      list[k++] = move;
+    }
+    return list;
+  }
+
+  // the model one thread searches on, the moves made on it since the root of the search, and the
+  // orderers of the tasks running on the thread: the one running now and those waiting below it
+  // in join for a task the thread runs meanwhile
+  private static final class Worker {
+
+    // the root the model was copied from, and the player to move at the root
+    private final Reversi source;
+    private final Player first;
+
+    // the model of the thread
+    private final Reversi model;
+
+    // the moves made on the model since the root, and the records to take them back with
+    private int[] moves = new int[16];
+    private UndoRecord[] records = new UndoRecord[16];
+    private int length;
+
+    // the orderers of the tasks running on the thread, kept once made, and how many run
+    private MoveOrderer[] orderers = new MoveOrderer[4];
+    private int running;
+
+    Worker(Reversi source, Player first) {
+      this.source = source;
+      this.first = first;
+      this.model = source.copy();
+    }
+
+    // makes the given move for the given player
+    void play(Player who, int move) {
+      if (this.length == this.moves.length) {
+        this.moves = Arrays.copyOf(this.moves, 2 * this.length);
+        this.records = Arrays.copyOf(this.records, 2 * this.length);
+      }
+      this.records[this.length] = this.model.doMove(who, move);
+      this.moves[this.length++] = move;
+    }
+
+    // takes back the last move made
+    void undo() {
+      this.model.undoMove(this.records[--this.length]);
+      this.records[this.length] = null;
+    }
+
+    // returns the moves made since the root
+    int[] path() {
+      return Arrays.copyOf(this.moves, this.length);
+    }
+
+    // brings the model to the position after the given moves from the root, taking back only the
+    // moves that are not on the path
+    void sync(int[] path) {
+      int common = 0;
+      int shared = Math.min(path.length, this.length);
+      while (common < shared && this.moves[common] == path[common]) {
+        common++;
+      }
+      while (this.length > common) {
+        this.undo();
+      }
+      Player other = this.first == Player.A ? Player.B : Player.A;
+      for (int k = common; k < path.length; k++) {
+        // a pass is a move too, so the players alternate along the path
+        this.play(k % 2 == 0 ? this.first : other, path[k]);
+      }
+    }
+
+    // returns the orderer of a task starting on the thread, with the killers and history of the
+    // given orderer
+    MoveOrderer enter(MoveOrderer forked) {
+      if (this.running == this.orderers.length) {
+        this.orderers = Arrays.copyOf(this.orderers, 2 * this.running);
+      }
+      if (this.orderers[this.running] == null) {
+        this.orderers[this.running] = new MoveOrderer();
+      }
+      MoveOrderer orderer = this.orderers[this.running++];
+      orderer.load(forked);
+      return orderer;
+    }
+
+    // ends the task that entered last
+    void leave() {
+      this.running--;
+    }
+  }
+
+  // a task searching one subtree on the model of the thread running it. The root task searches
+  // the root moves and returns the index of the best one; the other tasks make their move and
+  // return the score of the position after it for the player who made it. Tasks only live for one
+  // search and are never serialized.
+  @SuppressWarnings("serial")
+  private final class Branch extends RecursiveTask<Integer> {
+
+    // the player making the move of this task, or choosing among the root moves
+    private final Player who;
+
+    // the move of this task, or Move.PASS for the root
+    private final int move;
+
+    // the moves made since the root before the move of this task, shared by its brothers
+    private final int[] path;
+
+    // the root moves, or null if this is not the root
+    private final int[] roots;
+
+    // the depth to search the position after the move to, counting the move
+    private final int depth;
+
+    // the window of the score of the move
+    private final int alpha;
+    private final int beta;
+
+    // the task that forked this one, whose cancellation cancels this one too
+    private final Branch parent;
+
+    // the killers and history of the task that forked this one when it forked it, shared by the
+    // brothers of this task, so the order of the moves does not depend on what other tasks learn,
+    // or null for the root
+    private final MoveOrderer forked;
+
+    // whether the parent no longer needs the result of this task
+    private volatile boolean cancelled;
+
+    // the model and orderer of this task while it runs
+    private Worker worker;
+    private MoveOrderer orderer;
+
+    // the nodes of this task and of the tasks it joined, and whether it stopped before finishing
+    private long nodes;
+    private boolean halted;
+
+    // the score of the best root move, for the root task
+    private int best;
+
+    // constructs the root task
+    Branch(Player who, int[] roots, int depth) {
+      this(who, Move.PASS, new int[0], roots, depth, -INFINITY, INFINITY, null, null);
+    }
+
+    // constructs the task of a younger brother
+    Branch(Player who, int move, int[] path, int depth, int alpha, int beta, Branch parent,
+           MoveOrderer forked) {
+      this(who, move, path, null, depth, alpha, beta, parent, forked);
+    }
+
+    private Branch(Player who, int move, int[] path, int[] roots, int depth, int alpha, int beta,
+                   Branch parent, MoveOrderer forked) {
+      this.who = who;
+      this.move = move;
+      this.path = path;
+      this.roots = roots;
+      this.depth = depth;
+      this.alpha = alpha;
+      this.beta = beta;
+      this.parent = parent;
+      this.forked = forked;
+    }
+
+    @Override
+    protected Integer compute() {
+      Player other = this.who == Player.A ? Player.B : Player.A;
+      this.worker = YoungBrothersSearch.this.worker();
+      this.worker.sync(this.path);
+      if (this.roots != null) {
+        this.orderer = YoungBrothersSearch.this.orderer;
+        return this.searchRoot(other);
+      }
+      this.orderer = this.worker.enter(this.forked);
+      try {
+        this.worker.play(this.who, this.move);
+        return -this.search(other, this.depth - 1, -this.beta, -this.alpha,
+                this.path.length + 1);
+      } finally {
+        this.worker.leave();
+      }
+    }
+
+    // searches the root moves and returns the index of the best one, the first of the best if
+    // several have the same score
+    private int searchRoot(Player other) {
+      this.nodes++;
+      this.worker.play(this.who, this.roots[0]);
+      this.best = -this.search(other, this.depth - 1, -INFINITY, INFINITY, 1);
+      this.worker.undo();
+      if (this.halted) {
+        return 0;
+      }
+      Branch[] young = this.fork(this.who, this.roots, this.depth, this.best, INFINITY);
+      int found = 0;
+      for (int k = 0; k < young.length; k++) {
+        int value = young[k].join();
+        this.nodes += young[k].nodes;
+        if (young[k].halted || this.stopped()) {
+          this.halted = true;
+          return 0;
+        }
+        if (value > this.best) {
+          this.best = value;
+          found = k + 1;
+        }
+      }
+      return found;
+    }
+
+    // returns the score of the position for the player to move, searched to the given depth with
+    // the window (alpha, beta), the given number of moves after the root
+    private int search(Player who, int depth, int alpha, int beta, int ply) {
+      this.nodes++;
+      if ((this.nodes & CHECK_MASK) == 0 && this.stopped()) {
+        this.halted = true;
+      }
+      if (this.halted) {
+        return 0;
+      }
+      Reversi model = this.worker.model;
+      if (depth == 0) {
+        return AlphaBetaSearch.evaluate(model, who);
+      }
+      Player other = who == Player.A ? Player.B : Player.A;
+      BitSet legal = model.legalMoves(who);
+      if (legal.isEmpty()) {
+        if (!model.hasLegalMove(other)) {
+          return AlphaBetaSearch.evaluate(model, who);
+        }
+        // a pass is forced, so it does not use up depth
+        this.worker.play(who, Move.PASS);
+        int value = -this.search(other, depth, -beta, -alpha, ply + 1);
+        this.worker.undo();
+        return value;
+      }
+      int[] list = toMoves(legal);
+      this.orderer.order(model, who, list, list.length, Move.PASS, ply, depth);
+      // the eldest brother is searched first, on its own
+      this.worker.play(who, list[0]);
+      int best = -this.search(other, depth - 1, -beta, -alpha, ply + 1);
+      this.worker.undo();
+      if (!this.halted && best >= beta) {
+        this.orderer.cutoff(who, list[0], ply, depth);
+      }
+      if (this.halted || best >= beta || list.length == 1) {
+        return best;
+      }
+      alpha = Math.max(alpha, best);
+      if (depth >= SPLIT_DEPTH) {
+        // the younger brothers are searched in parallel with the window the eldest left
+        Branch[] young = this.fork(who, list, depth, alpha, beta);
+        for (int k = 0; k < young.length; k++) {
+          int value = young[k].join();
+          this.nodes += young[k].nodes;
+          if (young[k].halted) {
+            this.halted = true;
+            this.cancel(young, k + 1);
+            best = 0;
+            break;
+          }
+          if (value > best) {
+            best = value;
+            if (best >= beta) {
+              this.orderer.cutoff(who, list[k + 1], ply, depth);
+              this.cancel(young, k + 1);
+              break;
+            }
+          }
+        }
+        // the tasks joined may have run on this thread and left its model at their positions
+        this.worker.sync(young[0].path);
+        return best;
+      }
+      for (int k = 1; k < list.length; k++) {
+        this.worker.play(who, list[k]);
+        int value = -this.search(other, depth - 1, -beta, -alpha, ply + 1);
+        this.worker.undo();
+        if (this.halted) {
+          return 0;
+        }
+        if (value > best) {
+          best = value;
+          if (value > alpha) {
+            alpha = value;
+            if (alpha >= beta) {
+              this.orderer.cutoff(who, list[k], ply, depth);
+              break;
+            }
+          }
+        }
+      }
+      return best;
+    }
+
+    // forks a task for each of the given moves but the first, from the position the model of
+    // this task is in, and returns the tasks in move order
+    private Branch[] fork(Player who, int[] list, int depth, int alpha, int beta) {
+      int[] here = this.worker.path();
+      MoveOrderer snapshot = new MoveOrderer(this.orderer);
+      Branch[] young = new Branch[list.length - 1];
+      for (int k = 1; k < list.length; k++) {
+        young[k - 1] = new Branch(who, list[k], here, depth, alpha, beta, this, snapshot);
+        young[k - 1].fork();
+      }
+      return young;
+    }
+
+    // cancels the given tasks from the given index on, whose results are no longer needed
+    private void cancel(Branch[] young, int from) {
+      for (int k = from; k < young.length; k++) {
+        young[k].cancelled = true;
+        young[k].cancel(false);
+      }
+    }
+
+    // determines whether this task should stop: the search ran out of time, or this task or a
+    // task it was forked from was cancelled
+    private boolean stopped() {
+      if (System.nanoTime() - deadline > 0) {
+        aborted = true;
+      }
+      if (aborted) {
+        return true;
+      }
+      for (Branch task = this; task != null; task = task.parent) {
+        if (task.cancelled) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package view;
+
+import java.awt.Color;
+
+import model.Disc;
+
+/**
+ * DiscColors maps the discs of the model to the colors the views paint them with. The model only
+ * knows discs as cell states, so this is the one place a disc becomes a drawing color.
+ */
+public final class DiscColors {
+
+  private DiscColors() {
+  }
+
+  /**
+   * Returns the color a disc is painted with.
+   *
+   * @param disc the disc to paint
+   * @return black for a black disc, white for a white disc, and gray for an empty cell
+   * @throws IllegalArgumentException if the disc is null
+   */
+  public static Color of(Disc disc) {
+    if (disc == null) {
+      throw new IllegalArgumentException();
+    }
+    switch (disc) {
+      case BLACK:
+        return Color.BLACK;
+      case WHITE:
+        return Color.WHITE;
+      default:
+        return Color.GRAY;
+    }
+  }
+}
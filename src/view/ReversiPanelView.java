@@ -108,15 +108,9 @@ public class ReversiPanelView extends JPanel {
    * @param current The current hexagon that will be drawn.
    */
   public void fillBoard(Graphics2D g2d, int x, int y, AbstractHexagon current) {
-    if (current instanceof FilledHexagon
-            && ((FilledHexagon) current).getColor() == Color.BLACK) {
+    if (current instanceof FilledHexagon) {
       this.drawHexagon(g2d, x, y);
-      g2d.setColor(Color.BLACK);
-      g2d.fillOval((x - 10 + (int) Math.sqrt(3)), y - 10, 20, 20);
-    } else if (current instanceof FilledHexagon
-            && ((FilledHexagon) current).getColor() == Color.WHITE) {
-      this.drawHexagon(g2d, x, y);
-      g2d.setColor(Color.WHITE);
+      g2d.setColor(DiscColors.of(((FilledHexagon) current).getDisc()));
       g2d.fillOval((x - 10 + (int) Math.sqrt(3)), y - 10, 20, 20);
     } else {
       g2d.setColor(Color.GRAY);
@@ -1,8 +1,7 @@
 package view;
 
-import java.awt.Color;
-
 import model.AbstractHexagon;
+import model.Disc;
 import model.FilledHexagon;
 import model.ReadOnlyReversi;
 import model.ReversiModel;
@@ -82,10 +81,10 @@ public class ReversiTextualView {
   private String fillBoard(AbstractHexagon current) {
     String result = "";
     if (current instanceof FilledHexagon
-            && ((FilledHexagon) current).getColor() == Color.BLACK) {
+            && ((FilledHexagon) current).getDisc() == Disc.BLACK) {
       result += "X ";
     } else if (current instanceof FilledHexagon
-            && ((FilledHexagon) current).getColor() == Color.WHITE) {
+            && ((FilledHexagon) current).getDisc() == Disc.WHITE) {
       result += "O ";
     } else {
       result += "_ ";
@@ -0,0 +1,195 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import extracredit.model.SquareReversiModel;
+import model.Move;
+import model.Player;
+import model.Reversi;
+import model.ReversiModel;
+import model.UndoRecord;
+import strategy.AlphaBetaSearch;
+import strategy.TranspositionTable;
+
+/**
+ * A JUnit class for testing the AlphaBetaSearch strategy.
+ */
+public class AlphaBetaSearchTest {
+
+  // the score of the position for the player to move, searched to the given depth by trying
+  // every move, in the same way as the search but without pruning
+  private static int minimax(Reversi model, Player who, int depth) {
+    Player other = who == Player.A ? Player.B : Player.A;
+    if (depth == 0) {
+      return AlphaBetaSearch.evaluate(model, who);
+    }
+    BitSet legal = model.legalMoves(who);
+    if (legal.isEmpty()) {
+      if (!model.hasLegalMove(other)) {
+        return AlphaBetaSearch.evaluate(model, who);
+      }
+      UndoRecord record = model.doMove(who, Move.PASS);
+      int value = -minimax(model, other, depth);
+      model.undoMove(record);
+      return value;
+    }
+    int best = Integer.MIN_VALUE;
+    for (int move = legal.nextSetBit(0); move >= 0; move = legal.nextSetBit(move + 1)) {
+      UndoRecord record = model.doMove(who, move);
+      best = Math.max(best, -minimax(model, other, depth - 1));
+      model.undoMove(record);
+    }
+    return best;
+  }
+
+  // plays a whole game with searches of every depth up to the given depth, checking each search
+  // against minimax and checking that it leaves the model as it was
+  private void playAndCompare(Reversi model, int maxDepth) {
+    model.startGame();
+    Player p = Player.A;
+    while (!model.gameOver()) {
+      long key = model.getZobristKey();
+      int move = Move.PASS;
+      for (int depth = 1; depth <= maxDepth; depth++) {
+        AlphaBetaSearch search = new AlphaBetaSearch(60_000, depth);
+        move = search.chooseMove(model, p);
+        Assert.assertEquals(key, model.getZobristKey());
+        Assert.assertEquals(p, model.getPlayer());
+        if (Move.isPass(move)) {
+          Assert.assertFalse(model.hasLegalMove(p));
+          break;
+        }
+        Assert.assertTrue(model.legalMoves(p).get(move));
+        int completed = search.getCompletedDepth();
+        Assert.assertTrue(completed <= depth);
+        if (completed > 0) {
+          Assert.assertEquals(minimax(model, p, completed), search.getScore());
+          Player other = p == Player.A ? Player.B : Player.A;
+          UndoRecord record = model.doMove(p, move);
+          Assert.assertEquals(search.getScore(), -minimax(model, other, completed - 1));
+          model.undoMove(record);
+        }
+      }
+      model.doMove(p, move);
+      p = p == Player.A ? Player.B : Player.A;
+    }
+  }
+
+  /**
+   * Tests that the search scores every position of a game on a hexagonal board like a full
+   * minimax search of the same depth, and plays a move with that score.
+   */
+  @Test
+  public void testMatchesMinimaxOnHexagonalBoard() {
+    this.playAndCompare(new ReversiModel(4), 3);
+  }
+
+  /**
+   * Tests that the search scores every position of a game on a square board like a full minimax
+   * search of the same depth, and plays a move with that score.
+   */
+  @Test
+  public void testMatchesMinimaxOnSquareBoard() {
+    this.playAndCompare(new SquareReversiModel(6), 3);
+  }
+
+  /**
+   * Tests that a search without a depth limit stops soon after its time budget and still plays a
+   * legal move of a completed depth.
+   */
+  @Test
+  public void testTimeBudget() {
+    Reversi model = new ReversiModel();
+    model.startGame();
+    AlphaBetaSearch search = new AlphaBetaSearch(100);
+    long start = System.currentTimeMillis();
+    int move = search.chooseMove(model, Player.A);
+    Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+    Assert.assertTrue(model.legalMoves(Player.A).get(move));
+    Assert.assertTrue(search.getCompletedDepth() >= 1);
+  }
+
+  /**
+   * Tests that a search with a depth limit chooses the same move every time.
+   */
+  @Test
+  public void testDepthLimitIsDeterministic() {
+    Reversi model = new SquareReversiModel();
+    model.startGame();
+    AlphaBetaSearch search = new AlphaBetaSearch(60_000, 4);
+    int move = search.chooseMove(model, Player.A);
+    Assert.assertEquals(4, search.getCompletedDepth());
+    AlphaBetaSearch again = new AlphaBetaSearch(60_000, 4);
+    Assert.assertEquals(move, again.chooseMove(model, Player.A));
+    Assert.assertEquals(search.getNodes(), again.getNodes());
+    Assert.assertEquals(search.getScore(), again.getScore());
+    Assert.assertEquals(Move.toCoordinates(model, move),
+            new AlphaBetaSearch(60_000, 4).chooseTile(model, Player.A));
+  }
+
+  /**
+   * Tests that the transposition table gives the same scores as searching without one, in fewer
+   * nodes, and that keeping it for another search of the same position saves more nodes. The
+   * positions are taken from the middle of a game, where the trees are large enough for the
+   * table to pay off over the ordering of the moves without it.
+   */
+  @Test
+  public void testTranspositionTable() {
+    for (Reversi model : new Reversi[] {new ReversiModel(5), new SquareReversiModel()}) {
+      model.startGame();
+      for (int k = 0; k < 10; k++) {
+        BitSet legal = model.legalMoves(model.getPlayer());
+        model.doMove(model.getPlayer(), legal.length() - 1);
+      }
+      Assert.assertEquals(Player.A, model.getPlayer());
+      AlphaBetaSearch plain = new AlphaBetaSearch(60_000, 6, null);
+      AlphaBetaSearch hashed = new AlphaBetaSearch(60_000, 6, new TranspositionTable(1));
+      plain.chooseMove(model, Player.A);
+      hashed.chooseMove(model, Player.A);
+      Assert.assertEquals(plain.getScore(), hashed.getScore());
+      Assert.assertTrue(hashed.getNodes() < plain.getNodes());
+      long nodes = hashed.getNodes();
+      hashed.chooseMove(model, Player.A);
+      Assert.assertEquals(plain.getScore(), hashed.getScore());
+      Assert.assertTrue(hashed.getNodes() < nodes);
+    }
+  }
+
+  /**
+   * Tests that helper threads sharing the transposition table leave the depth-limited score of
+   * the main search unchanged and leave the model as it was.
+   */
+  @Test
+  public void testHelperThreads() {
+    for (Reversi model : new Reversi[] {new ReversiModel(5), new SquareReversiModel()}) {
+      model.startGame();
+      long key = model.getZobristKey();
+      AlphaBetaSearch single = new AlphaBetaSearch(60_000, 5);
+      AlphaBetaSearch parallel = new AlphaBetaSearch(60_000, 5, new TranspositionTable(4), 3);
+      single.chooseMove(model, Player.A);
+      int move = parallel.chooseMove(model, Player.A);
+      Assert.assertEquals(key, model.getZobristKey());
+      Assert.assertEquals(Player.A, model.getPlayer());
+      Assert.assertTrue(model.legalMoves(Player.A).get(move));
+      Assert.assertEquals(5, parallel.getCompletedDepth());
+      Assert.assertEquals(single.getScore(), parallel.getScore());
+    }
+  }
+
+  /**
+   * Tests that helper threads need a transposition table to share.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testHelpersWithoutTable() {
+    new AlphaBetaSearch(100, 4, null, 2);
+  }
+
+  /**
+   * Tests that the time budget must be positive.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBudget() {
+    new AlphaBetaSearch(0);
+  }
+}
@@ -0,0 +1,236 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import extracredit.model.SquareReversiModel;
+import model.Move;
+import model.Player;
+import model.Reversi;
+import model.ReversiModel;
+import model.UndoRecord;
+import strategy.AlphaBetaSearch;
+import strategy.MoveOrderer;
+
+/**
+ * A JUnit class for testing the MoveOrderer of the searches.
+ */
+public class MoveOrdererTest {
+
+  // the nodes visited by the last call to alphaBeta
+  private long nodes;
+
+  // returns the legal moves of the player in order of position
+  private static int[] moves(Reversi model, Player who) {
+    BitSet legal = model.legalMoves(who);
+    int[] list = new int[legal.cardinality()];
+    int k = 0;
+    for (int move = legal.nextSetBit(0); move >= 0; move = legal.nextSetBit(move + 1)) {
+      list[k++] = move;
+    }
+    return list;
+  }
+
+  // the score of the position for the player to move, searched to the given depth by a plain
+  // alpha-beta search that sorts its moves with the given orderer, or not at all if it is null
+  private int alphaBeta(Reversi model, Player who, int depth, int alpha, int beta, int ply,
+                        MoveOrderer orderer) {
+    this.nodes++;
+    Player other = who == Player.A ? Player.B : Player.A;
+    if (depth == 0) {
+      return AlphaBetaSearch.evaluate(model, who);
+    }
+    int[] list = moves(model, who);
+    if (list.length == 0) {
+      if (!model.hasLegalMove(other)) {
+        return AlphaBetaSearch.evaluate(model, who);
+      }
+      UndoRecord record = model.doMove(who, Move.PASS);
+      int value = -this.alphaBeta(model, other, depth, -beta, -alpha, ply + 1, orderer);
+      model.undoMove(record);
+      return value;
+    }
+    if (orderer != null) {
+      orderer.order(model, who, list, list.length, Move.PASS, ply, depth);
+    }
+    int best = -2 * AlphaBetaSearch.WIN;
+    for (int move : list) {
+      UndoRecord record = model.doMove(who, move);
+      int value = -this.alphaBeta(model, other, depth - 1, -beta, -alpha, ply + 1, orderer);
+      model.undoMove(record);
+      if (value > best) {
+        best = value;
+        alpha = Math.max(alpha, value);
+        if (alpha >= beta) {
+          if (orderer != null) {
+            orderer.cutoff(who, move, ply, depth);
+          }
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Tests that the hash move comes first, then the killers from the latest, then the other moves
+   * by history, keeping their order when they have none.
+   */
+  @Test
+  public void testHashMoveKillersAndHistory() {
+    Reversi model = new ReversiModel();
+    model.startGame();
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.newSearch(model.getBoardGame().size());
+    int[] legal = moves(model, Player.A);
+    Assert.assertEquals(6, legal.length);
+    int[] list = legal.clone();
+    orderer.order(model, Player.A, list, list.length, Move.PASS, 2, 1);
+    Assert.assertArrayEquals(legal, list);
+    orderer.cutoff(Player.A, legal[5], 3, 2);
+    orderer.cutoff(Player.A, legal[1], 2, 3);
+    orderer.cutoff(Player.A, legal[2], 2, 1);
+    Assert.assertEquals(legal[2], orderer.killer(2, 0));
+    Assert.assertEquals(legal[1], orderer.killer(2, 1));
+    Assert.assertEquals(4, orderer.history(Player.A, legal[5]));
+    Assert.assertEquals(0, orderer.history(Player.B, legal[5]));
+    orderer.order(model, Player.A, list, list.length, legal[4], 2, 1);
+    Assert.assertArrayEquals(new int[] {legal[4], legal[2], legal[1], legal[5], legal[0],
+        legal[3]}, list);
+  }
+
+  /**
+   * Tests that a new search forgets the killers and halves the history, and that the history of
+   * a board of another size is cleared.
+   */
+  @Test
+  public void testNewSearch() {
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.newSearch(10);
+    orderer.cutoff(Player.B, 7, 0, 4);
+    Assert.assertEquals(7, orderer.killer(0, 0));
+    Assert.assertEquals(Move.PASS, orderer.killer(0, 1));
+    Assert.assertEquals(Move.PASS, orderer.killer(40, 1));
+    orderer.newSearch(10);
+    Assert.assertEquals(Move.PASS, orderer.killer(0, 0));
+    Assert.assertEquals(8, orderer.history(Player.B, 7));
+    MoveOrderer copy = new MoveOrderer(orderer);
+    orderer.newSearch(20);
+    Assert.assertEquals(0, orderer.history(Player.B, 7));
+    Assert.assertEquals(8, copy.history(Player.B, 7));
+  }
+
+  /**
+   * Tests that loading an orderer takes its killers and history, whatever the size of the board
+   * the loading orderer was used for, and that the two then learn apart.
+   */
+  @Test
+  public void testLoad() {
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.newSearch(10);
+    orderer.cutoff(Player.A, 3, 2, 4);
+    MoveOrderer loaded = new MoveOrderer();
+    loaded.newSearch(30);
+    loaded.cutoff(Player.B, 20, 0, 4);
+    loaded.load(orderer);
+    Assert.assertEquals(16, loaded.history(Player.A, 3));
+    Assert.assertEquals(0, loaded.history(Player.B, 20));
+    Assert.assertEquals(3, loaded.killer(2, 0));
+    Assert.assertEquals(Move.PASS, loaded.killer(0, 0));
+    loaded.cutoff(Player.A, 5, 2, 4);
+    Assert.assertEquals(3, orderer.killer(2, 0));
+    Assert.assertEquals(0, orderer.history(Player.A, 5));
+    try {
+      loaded.load(new MoveOrderer(2));
+      Assert.fail("Orderers with other mobility depths should not load");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(16, loaded.history(Player.A, 3));
+    }
+  }
+
+  /**
+   * Tests that the history stays bounded however often a move cuts off.
+   */
+  @Test
+  public void testHistoryIsBounded() {
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.newSearch(4);
+    for (int k = 0; k < 100_000; k++) {
+      orderer.cutoff(Player.A, 3, 0, 60);
+      Assert.assertTrue(orderer.history(Player.A, 3) < 1 << 16);
+    }
+    Assert.assertTrue(orderer.history(Player.A, 3) > 0);
+  }
+
+  /**
+   * Tests that deep enough in the tree the moves leaving the opponent the fewest replies come
+   * first, and that the model is left as it was.
+   */
+  @Test
+  public void testMobilityOrdering() {
+    for (Reversi model : new Reversi[] {new ReversiModel(), new SquareReversiModel()}) {
+      model.startGame();
+      model.doMove(Player.A, moves(model, Player.A)[0]);
+      long key = model.getZobristKey();
+      MoveOrderer orderer = new MoveOrderer();
+      orderer.newSearch(model.getBoardGame().size());
+      int[] list = moves(model, Player.B);
+      orderer.order(model, Player.B, list, list.length, Move.PASS, 0, MoveOrderer.MOBILITY_DEPTH);
+      Assert.assertEquals(key, model.getZobristKey());
+      Assert.assertEquals(Player.B, model.getPlayer());
+      int last = -1;
+      for (int move : list) {
+        UndoRecord record = model.doMove(Player.B, move);
+        int replies = model.legalMoves(Player.A).cardinality();
+        model.undoMove(record);
+        Assert.assertTrue(replies >= last);
+        last = replies;
+      }
+    }
+  }
+
+  /**
+   * Tests that sorting the moves gives an alpha-beta search the same score in the middle of a
+   * game in less than half the nodes, counting the shallower searches that fill the history.
+   */
+  @Test
+  public void testCutsNodes() {
+    for (Reversi model : new Reversi[] {new ReversiModel(), new SquareReversiModel()}) {
+      model.startGame();
+      for (int k = 0; k < 10; k++) {
+        int[] list = moves(model, model.getPlayer());
+        model.doMove(model.getPlayer(), list[list.length - 1]);
+      }
+      Assert.assertEquals(Player.A, model.getPlayer());
+      int infinity = 2 * AlphaBetaSearch.WIN;
+      this.nodes = 0;
+      int plain = this.alphaBeta(model, Player.A, 8, -infinity, infinity, 0, null);
+      long plainNodes = this.nodes;
+      MoveOrderer orderer = new MoveOrderer();
+      orderer.newSearch(model.getBoardGame().size());
+      this.nodes = 0;
+      int ordered = 0;
+      for (int depth = 1; depth <= 8; depth++) {
+        ordered = this.alphaBeta(model, Player.A, depth, -infinity, infinity, 0, orderer);
+      }
+      Assert.assertEquals(plain, ordered);
+      Assert.assertTrue(2 * this.nodes < plainNodes);
+    }
+  }
+
+  /**
+   * Tests that the mobility depth must be positive.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMobilityDepth() {
+    new MoveOrderer(0);
+  }
+
+  /**
+   * Tests that a ply has only two killer slots.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidKillerSlot() {
+    new MoveOrderer().killer(0, 2);
+  }
+}
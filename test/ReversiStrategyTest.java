@@ -1,8 +1,9 @@
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.awt.Color;
+import model.Disc;
 import model.FilledHexagon;
+import model.Move;
 import model.NoDiscHexagon;
 import model.Player;
 import model.Reversi;
@@ -47,11 +48,11 @@ public class ReversiStrategyTest {
   public void testStrategiesDefaultGrid() {
     this.init();
     this.mock.makeMove(Player.A, model.getHex(4, 3));
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.model.getHex(5, 4)).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.model.getHex(6, 5)).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.model.getHex(5, 4)).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.model.getHex(6, 5)).getDisc());
     Assert.assertEquals("diagonal = 4, row = 2\n", log.toString());
     this.mock.makeMove(Player.B, model.getHex(4, 6));
-    Assert.assertEquals(Color.WHITE, ((FilledHexagon) this.model.getHex(4, 5)).getColor());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.model.getHex(4, 5)).getDisc());
     Assert.assertEquals("diagonal = 4, row = 2\n", log.toString());
   }
 
@@ -109,7 +110,7 @@ public class ReversiStrategyTest {
             hex.getRight(), hex.getLeft(),
             hex.getTopRight(), hex.getTopLeft(),
             hex.getBottomRight(), hex.getBottomLeft(),
-            Color.BLACK);
+            Disc.BLACK);
     model.getGrid().set(model.getGrid().indexOf(hex), filledHex);
     this.mock.makeMove(Player.A, model.getHex(4, 3));
     this.mock.makeMove(Player.B, model.getHex(4, 7));
@@ -139,7 +140,7 @@ public class ReversiStrategyTest {
             hex.getRight(), hex.getLeft(),
             hex.getTopRight(), hex.getTopLeft(),
             hex.getBottomRight(), hex.getBottomLeft(),
-            Color.BLACK);
+            Disc.BLACK);
     model.getGrid().set(model.getGrid().indexOf(hex), filledHex);
     this.mock.makeMove(Player.A, model.getHex(4, 3));
     this.mock.makeMove(Player.B, model.getHex(4, 7));
@@ -170,7 +171,7 @@ public class ReversiStrategyTest {
             hex.getRight(), hex.getLeft(),
             hex.getTopRight(), hex.getTopLeft(),
             hex.getBottomRight(), hex.getBottomLeft(),
-            Color.BLACK);
+            Disc.BLACK);
     model.getGrid().set(model.getGrid().indexOf(hex), filledHex);
     this.mock.makeMove(Player.A, model.getHex(4, 3));
     this.mock.makeMove(Player.B, model.getHex(4, 7));
@@ -200,7 +201,7 @@ public class ReversiStrategyTest {
     FilledHexagon filledHex = new FilledHexagon(hex.getDiagonal(),
             hex.getRow(), hex.getRight(), hex.getLeft(),
             hex.getTopRight(), hex.getTopLeft(), hex.getBottomRight(),
-            hex.getBottomLeft(), Color.BLACK);
+            hex.getBottomLeft(), Disc.BLACK);
     model.getGrid().set(model.getGrid().indexOf(hex), filledHex);
     this.mock.makeMove(Player.A, model.getHex(4, 3));
     this.mock.makeMove(Player.B, model.getHex(4, 7));
@@ -233,7 +234,7 @@ public class ReversiStrategyTest {
             hex.getRight(), hex.getLeft(),
             hex.getTopRight(), hex.getTopLeft(),
             hex.getBottomRight(), hex.getBottomLeft(),
-            Color.BLACK);
+            Disc.BLACK);
     model.getGrid().set(model.getGrid().indexOf(hex), filledHex);
     this.mock.makeMove(Player.A, model.getHex(4, 3));
     this.mock.makeMove(Player.B, model.getHex(4, 7));
@@ -264,7 +265,7 @@ public class ReversiStrategyTest {
             hex.getRight(), hex.getLeft(),
             hex.getTopRight(), hex.getTopLeft(),
             hex.getBottomRight(), hex.getBottomLeft(),
-            Color.BLACK);
+            Disc.BLACK);
     model.getGrid().set(model.getGrid().indexOf(hex), filledHex);
     this.mock.makeMove(Player.A, model.getHex(4, 3));
     this.mock.makeMove(Player.B, model.getHex(4, 7));
@@ -354,4 +355,24 @@ public class ReversiStrategyTest {
     Assert.assertTrue(m.model.getHex(4, 3) instanceof FilledHexagon);
   }
 
+  /**
+   * Tests that the packed move chosen by the CaptureMaxTiles strategy is the tile given by
+   * chooseTile in every position of a whole game.
+   */
+  @Test
+  public void testChooseMoveMatchesChooseTile() {
+    this.init();
+    while (!this.model.gameOver()) {
+      Player p = this.model.getPlayer();
+      int move = this.strategy1.chooseMove(this.model, p);
+      Assert.assertEquals(Move.toCoordinates(this.model, move),
+              this.strategy1.chooseTile(this.model, p));
+      int legal = this.model.legalMoves(p).nextSetBit(0);
+      if (legal < 0) {
+        this.model.nextPlayer(p);
+      } else {
+        this.model.makeMove(p, legal);
+      }
+    }
+  }
 }
@@ -0,0 +1,123 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import strategy.AlphaBetaSearch;
+import strategy.TranspositionTable;
+
+/**
+ * A JUnit class for testing the TranspositionTable used by search strategies.
+ */
+public class TranspositionTableTest {
+
+  /**
+   * Tests that a stored entry is found with its depth, bound, score and move, and that other keys
+   * miss.
+   */
+  @Test
+  public void testStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(1);
+    Assert.assertEquals(1 << 16, table.capacity());
+    long key = 0x123456789ABCDEFL;
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(key));
+    table.store(key, 7, TranspositionTable.LOWER, -1_000_042, 95);
+    long data = table.probe(key);
+    Assert.assertNotEquals(TranspositionTable.MISS, data);
+    Assert.assertEquals(7, TranspositionTable.depth(data));
+    Assert.assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+    Assert.assertEquals(-1_000_042, TranspositionTable.score(data));
+    Assert.assertEquals(95, TranspositionTable.move(data));
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(key + 1));
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(key ^ 1L << 40));
+    table.store(key, 7, TranspositionTable.EXACT, 3, -1);
+    Assert.assertEquals(-1, TranspositionTable.move(table.probe(key)));
+    table.clear();
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(key));
+  }
+
+  /**
+   * Tests that a deeper entry of the current search is kept over a shallower one in the same slot,
+   * and that entries of an earlier search can be replaced by any entry.
+   */
+  @Test
+  public void testDepthPreferredReplacement() {
+    TranspositionTable table = new TranspositionTable(1);
+    long deep = 5;
+    long shallow = deep + table.capacity();
+    table.store(deep, 6, TranspositionTable.EXACT, 10, 1);
+    table.store(shallow, 2, TranspositionTable.EXACT, 20, 2);
+    Assert.assertEquals(10, TranspositionTable.score(table.probe(deep)));
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(shallow));
+    table.store(shallow, 6, TranspositionTable.UPPER, 30, 3);
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(deep));
+    Assert.assertEquals(30, TranspositionTable.score(table.probe(shallow)));
+    table.newSearch();
+    Assert.assertEquals(30, TranspositionTable.score(table.probe(shallow)));
+    table.store(deep, 1, TranspositionTable.EXACT, 40, 4);
+    Assert.assertEquals(40, TranspositionTable.score(table.probe(deep)));
+  }
+
+  /**
+   * Tests that an entry whose key and data do not belong together, as when two threads write the
+   * same slot at once, reads as a miss.
+   */
+  @Test
+  public void testSharedAcrossThreads() throws InterruptedException {
+    TranspositionTable table = new TranspositionTable(1);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      int id = t;
+      threads[t] = new Thread(() -> {
+        for (int k = 0; k < 200_000; k++) {
+          long key = (long) id << 40 | (k & 1023);
+          table.store(key, k & 15, TranspositionTable.EXACT, (int) key, id);
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (int id = 0; id < threads.length; id++) {
+      for (int k = 0; k < 1024; k++) {
+        long key = (long) id << 40 | k;
+        long data = table.probe(key);
+        if (data != TranspositionTable.MISS) {
+          Assert.assertEquals((int) key, TranspositionTable.score(data));
+          Assert.assertEquals(id, TranspositionTable.move(data));
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that moves of boards with more than 65535 tiles and the scores of won and lost games
+   * are kept, and that a score or move the entry cannot hold is rejected.
+   */
+  @Test
+  public void testLargeMovesAndScores() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.store(1, 3, TranspositionTable.EXACT, -2 * AlphaBetaSearch.WIN, 70_000);
+    Assert.assertEquals(-2 * AlphaBetaSearch.WIN, TranspositionTable.score(table.probe(1)));
+    Assert.assertEquals(70_000, TranspositionTable.move(table.probe(1)));
+    table.store(2, 3, TranspositionTable.UPPER, TranspositionTable.MAX_SCORE,
+            TranspositionTable.MAX_MOVE);
+    Assert.assertEquals(TranspositionTable.MAX_SCORE, TranspositionTable.score(table.probe(2)));
+    Assert.assertEquals(TranspositionTable.MAX_MOVE, TranspositionTable.move(table.probe(2)));
+    Assert.assertEquals(3, TranspositionTable.depth(table.probe(2)));
+    Assert.assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(table.probe(2)));
+    try {
+      table.store(3, 3, TranspositionTable.EXACT, 0, TranspositionTable.MAX_MOVE + 1);
+      Assert.fail("A move the entry cannot hold should be rejected");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(TranspositionTable.MISS, table.probe(3));
+    }
+  }
+
+  /**
+   * Tests that the size of the table must be positive.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new TranspositionTable(0);
+  }
+}
@@ -0,0 +1,150 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import extracredit.model.SquareReversiModel;
+import model.Player;
+import model.Reversi;
+import model.ReversiModel;
+import strategy.AlphaBetaSearch;
+import strategy.YoungBrothersSearch;
+
+/**
+ * A JUnit class for testing the YoungBrothersSearch strategy.
+ */
+public class YoungBrothersSearchTest {
+
+  /**
+   * Tests that the parallel search scores positions like the alpha-beta search of the same depth
+   * over a whole game, and leaves the model as it was.
+   */
+  @Test
+  public void testMatchesAlphaBetaOverGame() {
+    for (Reversi model : new Reversi[] {new ReversiModel(4), new SquareReversiModel(6)}) {
+      model.startGame();
+      Player p = Player.A;
+      while (!model.gameOver()) {
+        long key = model.getZobristKey();
+        AlphaBetaSearch serial = new AlphaBetaSearch(60_000, 4, null);
+        int move;
+        try (YoungBrothersSearch parallel = new YoungBrothersSearch(60_000, 4, 4)) {
+          serial.chooseMove(model, p);
+          move = parallel.chooseMove(model, p);
+          Assert.assertEquals(serial.getCompletedDepth(), parallel.getCompletedDepth());
+          Assert.assertEquals(serial.getScore(), parallel.getScore());
+        }
+        Assert.assertEquals(key, model.getZobristKey());
+        Assert.assertEquals(p, model.getPlayer());
+        if (!model.hasLegalMove(p)) {
+          model.nextPlayer(p);
+        } else {
+          Assert.assertTrue(model.legalMoves(p).get(move));
+          model.doMove(p, move);
+        }
+        p = p == Player.A ? Player.B : Player.A;
+      }
+    }
+  }
+
+  /**
+   * Tests that a search with a depth limit chooses the same move with the same score and node
+   * count whatever the number of threads.
+   */
+  @Test
+  public void testDeterministicNodeCounts() {
+    for (Reversi model : new Reversi[] {new ReversiModel(8), new SquareReversiModel()}) {
+      model.startGame();
+      YoungBrothersSearch single = new YoungBrothersSearch(60_000, 5, 1);
+      int move = single.chooseMove(model, Player.A);
+      single.close();
+      Assert.assertEquals(5, single.getCompletedDepth());
+      for (int threads : new int[] {1, 2, 4, 8}) {
+        try (YoungBrothersSearch search = new YoungBrothersSearch(60_000, 5, threads)) {
+          Assert.assertEquals(move, search.chooseMove(model, Player.A));
+          Assert.assertEquals(single.getNodes(), search.getNodes());
+          Assert.assertEquals(single.getScore(), search.getScore());
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that the parallel search, with a thread for each processor, spends less than twice the
+   * time of the alpha-beta search on each node, so forking costs little even when no thread
+   * steals, and that it completes the depth sooner than the alpha-beta search when there are
+   * processors to share the tree.
+   */
+  @Test
+  public void testOutpacesSerialSearch() {
+    int threads = Runtime.getRuntime().availableProcessors();
+    long parallelTime = Long.MAX_VALUE;
+    long serialTime = Long.MAX_VALUE;
+    long parallelNodes = 0;
+    long serialNodes = 0;
+    try (YoungBrothersSearch parallel = new YoungBrothersSearch(60_000, 8, threads)) {
+      // the best of several runs, so the time of the first runs goes to the compiler
+      for (int run = 0; run < 5; run++) {
+        Reversi model = new SquareReversiModel(8);
+        model.startGame();
+        long start = System.nanoTime();
+        parallel.chooseMove(model, Player.A);
+        parallelTime = Math.min(parallelTime, System.nanoTime() - start);
+        parallelNodes = parallel.getNodes();
+        AlphaBetaSearch serial = new AlphaBetaSearch(60_000, 8, null);
+        start = System.nanoTime();
+        serial.chooseMove(model, Player.A);
+        serialTime = Math.min(serialTime, System.nanoTime() - start);
+        serialNodes = serial.getNodes();
+      }
+    }
+    Assert.assertTrue(parallelTime * serialNodes < 2 * serialTime * parallelNodes);
+    if (threads >= 4) {
+      Assert.assertTrue(parallelTime < serialTime);
+    }
+  }
+
+  /**
+   * Tests that a search without a depth limit stops soon after its time budget and still plays a
+   * legal move of a completed depth.
+   */
+  @Test
+  public void testTimeBudget() {
+    Reversi model = new ReversiModel(10);
+    model.startGame();
+    YoungBrothersSearch search = new YoungBrothersSearch(100);
+    long start = System.currentTimeMillis();
+    int move = search.chooseMove(model, Player.A);
+    Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+    Assert.assertTrue(model.legalMoves(Player.A).get(move));
+    Assert.assertTrue(search.getCompletedDepth() >= 1);
+  }
+
+  /**
+   * Tests that the pool must have at least one thread.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidParallelism() {
+    new YoungBrothersSearch(100, 4, 0);
+  }
+
+  /**
+   * Tests that closing a search with a pool of its own stops it from searching again, and that
+   * closing a search on the common pool leaves it usable.
+   */
+  @Test
+  public void testClose() {
+    Reversi model = new ReversiModel(4);
+    model.startGame();
+    YoungBrothersSearch common = new YoungBrothersSearch(60_000, 2);
+    common.close();
+    Assert.assertTrue(model.legalMoves(Player.A).get(common.chooseMove(model, Player.A)));
+    YoungBrothersSearch own = new YoungBrothersSearch(60_000, 2, 2);
+    own.close();
+    own.close();
+    try {
+      own.chooseMove(model, Player.A);
+      Assert.fail("A closed search should not search");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals(Player.A, model.getPlayer());
+    }
+  }
+}
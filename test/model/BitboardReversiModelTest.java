@@ -0,0 +1,389 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * A JUnit class for testing methods in BitboardReversiModel.
+ */
+public class BitboardReversiModelTest {
+
+  BitboardReversiModel rm;
+  Player player1;
+  Player player2;
+
+  /**
+   * Initializes the ReversiGame.
+   */
+  private void init() {
+    this.rm = new BitboardReversiModel();
+    this.player1 = Player.A;
+    this.player2 = Player.B;
+    this.rm.startGame();
+  }
+
+  /**
+   * Tests whether the default grid is constructed.
+   */
+  @Test
+  public void testInitialGrid() {
+    init();
+    Assert.assertEquals(91, this.rm.getGrid().size());
+    Assert.assertEquals(3, this.rm.getScore(this.player1));
+    Assert.assertEquals(3, this.rm.getScore(this.player2));
+  }
+
+  /**
+   * Tests whether the grid is constructed when the user
+   * inputs different sizes.
+   */
+  @Test
+  public void testInitialGridWithDifferentSizes() {
+    Assert.assertEquals(19, new BitboardReversiModel(3).getGrid().size());
+    Assert.assertEquals(271, new BitboardReversiModel(10).getGrid().size());
+    Assert.assertEquals(19, new BitboardReversiModel(3).getCellCount());
+    Assert.assertEquals(271, new BitboardReversiModel(10).getCellCount());
+    Assert.assertEquals(271, new ReversiModel(10).getCellCount());
+  }
+
+  /**
+   * Tests whether the grid is listed in the same order as the grid of a ReversiModel.
+   */
+  @Test
+  public void testGridMatchesReversiModel() {
+    init();
+    ReversiModel model = new ReversiModel();
+    for (int i = 0; i < model.getGrid().size(); i++) {
+      NoDiscHexagon expected = model.getGrid().get(i);
+      NoDiscHexagon actual = this.rm.getGrid().get(i);
+      Assert.assertEquals(expected.getDiagonal(), actual.getDiagonal());
+      Assert.assertEquals(expected.getRow(), actual.getRow());
+      Assert.assertEquals(expected instanceof FilledHexagon, actual instanceof FilledHexagon);
+    }
+  }
+
+  /**
+   * Tests whether an IllegalArgumentException is thrown when the size is too small.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new BitboardReversiModel(1);
+  }
+
+  /**
+   * Tests whether an IllegalArgumentException is thrown when
+   * the makeMove method has invalid arguments.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeMoveInvalidArgs() {
+    init();
+    this.rm.makeMove(null, new NoDiscHexagon(3, 4));
+  }
+
+  /**
+   * Tests whether an IllegalArgumentException is thrown when it is not
+   * the given player's turn.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeMoveWrongPlayer() {
+    init();
+    this.rm.makeMove(player2, this.rm.getHex(4, 3));
+  }
+
+  /**
+   * Tests whether an IllegalStateException is thrown
+   * when a player moves a disc to an empty tile.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testMakeMoveInvalid() {
+    init();
+    this.rm.makeMove(player1, new EmptyHexagon(-1, -1));
+  }
+
+  /**
+   * Tests whether an IllegalStateException is thrown
+   * when a player moves a disc to a tile that's already filled.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testMakeMoveOnFilledTile() {
+    init();
+    this.rm.makeMove(player1, 4, 4);
+  }
+
+  /**
+   * Tests whether an IllegalStateException is thrown when a move is made
+   * before the game has been started.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testMakeMoveBeforeGameStart() {
+    BitboardReversiModel rm = new BitboardReversiModel();
+    rm.makeMove(Player.A, rm.getHex(4, 3));
+  }
+
+  /**
+   * Tests a valid move made by the player with black discs.
+   */
+  @Test
+  public void testValidMakeMove() {
+    init();
+    this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    Assert.assertTrue(this.rm.getHex(4, 3) instanceof FilledHexagon);
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHex(5, 4)).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHex(6, 5)).getDisc());
+    Assert.assertEquals(Player.B, this.rm.getPlayer());
+  }
+
+  /**
+   * Tests that a move which does not flip any discs is not possible.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeMoveNotPossible() {
+    init();
+    this.rm.makeMove(player1, this.rm.getHex(5, 5));
+  }
+
+  /**
+   * Tests a valid move by adding to a line from the top right.
+   */
+  @Test
+  public void testValidMakeMoveToTopRight() {
+    init();
+    this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    this.rm.makeMove(player2, this.rm.getHex(4, 6));
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHex(4, 6)).getDisc());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHex(4, 5)).getDisc());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHex(5, 6)).getDisc());
+    this.rm.makeMove(player1, this.rm.getHex(4, 7));
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHex(4, 6)).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHex(4, 5)).getDisc());
+  }
+
+  /**
+   * Tests a valid move given as the position of the tile in the grid, and a pass given as a
+   * packed move.
+   */
+  @Test
+  public void testPackedMove() {
+    init();
+    int move = Move.of(this.rm, 4, 3);
+    UndoRecord record = this.rm.doMove(player1, move);
+    this.rm.undoMove(record);
+    Assert.assertEquals(move, this.rm.makeMove(player1, move).getCell());
+    Assert.assertTrue(this.rm.getHex(4, 3) instanceof FilledHexagon);
+    Assert.assertTrue(this.rm.doMove(player2, Move.PASS).isPass());
+    Assert.assertEquals(Player.A, this.rm.getPlayer());
+  }
+
+  /**
+   * Tests a valid move to add to a line from the left.
+   */
+  @Test
+  public void testValidMoveLeft() {
+    init();
+    this.rm.makeMove(player1, this.rm.getHex(3, 4));
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHex(3, 4)).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHex(4, 4)).getDisc());
+  }
+
+  /**
+   * Tests that the tiles returned for a position are linked to their neighbors.
+   */
+  @Test
+  public void testGridIsLinked() {
+    init();
+    NoDiscHexagon corner = this.rm.getGrid().get(0);
+    Assert.assertEquals(this.rm.getGrid().get(6), corner.getRight());
+    Assert.assertEquals(this.rm.getGrid().get(1), corner.getBottomLeft());
+    Assert.assertEquals(this.rm.getGrid().get(7), corner.getBottomRight());
+    Assert.assertTrue(corner.getLeft() instanceof EmptyHexagon);
+    Assert.assertEquals(1, ((NoDiscHexagon) this.rm.getHex(4, 3)).getValidMoves(player1));
+  }
+
+  /**
+   * Tests the getScore method.
+   */
+  @Test
+  public void testGetScore() {
+    init();
+    this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    Assert.assertEquals(5, this.rm.getScore(this.player1));
+    this.rm.makeMove(player2, this.rm.getHex(4, 6));
+    Assert.assertEquals(4, this.rm.getScore(this.player2));
+  }
+
+  /**
+   * Tests the number of discs flipped by potential moves.
+   */
+  @Test
+  public void testGetPotentialTiles() {
+    init();
+    Assert.assertEquals(1, this.rm.getPotentialTiles(4, 3));
+    Assert.assertEquals(1, this.rm.getPotentialTiles(3, 4));
+    Assert.assertEquals(0, this.rm.getPotentialTiles(0, 0));
+    Assert.assertEquals(0, this.rm.getPotentialTiles(4, 4));
+    Assert.assertEquals(0, this.rm.getPotentialTiles(-1, 20));
+  }
+
+  /**
+   * Tests whether the game is not over before it has been started.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testGameOverBeforeGameStart() {
+    new BitboardReversiModel().gameOver();
+  }
+
+  /**
+   * Tests whether the game is not over when there are still
+   * moves to be made.
+   */
+  @Test
+  public void testGameOverGameNotOver() {
+    init();
+    this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    Assert.assertFalse(this.rm.gameOver());
+  }
+
+  /**
+   * Tests whether the game is over when there are no moves
+   * to be made.
+   */
+  @Test
+  public void testGameOverNoMoreMoves() {
+    BitboardReversiModel rm = new BitboardReversiModel(2);
+    rm.startGame();
+    Assert.assertTrue(rm.gameOver());
+  }
+
+  /**
+   * Tests that the bitboard model plays the same game as ReversiModel on a board that needs
+   * several words per bitset.
+   */
+  @Test
+  public void testSameGameAsReversiModel() {
+    ReversiModel model = new ReversiModel(10);
+    BitboardReversiModel bits = new BitboardReversiModel(10);
+    model.startGame();
+    bits.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      Assert.assertArrayEquals(model.getFlipCounts(p), bits.getFlipCounts(p));
+      Assert.assertEquals(model.legalMoves(p), bits.legalMoves(p));
+      int best = -1;
+      int diagonal = 0;
+      int row = 0;
+      for (NoDiscHexagon hex : model.getGrid()) {
+        if (!(hex instanceof FilledHexagon)) {
+          int flipped = hex.getValidMoves(p);
+          Assert.assertEquals(flipped, bits.getPotentialTiles(hex.getDiagonal(), hex.getRow()));
+          if (flipped > best) {
+            best = flipped;
+            diagonal = hex.getDiagonal();
+            row = hex.getRow();
+          }
+        }
+      }
+      if (best == 0) {
+        model.nextPlayer(p);
+        bits.nextPlayer(p);
+      } else {
+        MoveResult expected = model.makeMove(p, model.getHex(diagonal, row));
+        MoveResult actual = bits.makeMove(p, diagonal, row);
+        Assert.assertEquals(expected.getCell(), actual.getCell());
+        Assert.assertEquals(expected.getFlipCount(), actual.getFlipCount());
+        Assert.assertEquals(expected.getScore(Player.A), actual.getScore(Player.A));
+        Assert.assertEquals(expected.nextMustPass(), actual.nextMustPass());
+      }
+      Assert.assertEquals(model.getScore(Player.A), bits.getScore(Player.A));
+      Assert.assertEquals(model.getScore(Player.B), bits.getScore(Player.B));
+      Assert.assertEquals(model.getZobristKey(), bits.getZobristKey());
+    }
+    Assert.assertTrue(bits.gameOver());
+  }
+
+  /**
+   * Tests that a board with a size in the hundreds, whose rows span several longs, plays the same
+   * opening as ReversiModel.
+   */
+  @Test
+  public void testLargeBoardMatchesReversiModel() {
+    ReversiModel model = new ReversiModel(100);
+    BitboardReversiModel bits = new BitboardReversiModel(100);
+    model.startGame();
+    bits.startGame();
+    Assert.assertEquals(model.getGrid().size(), bits.getGrid().size());
+    for (int move = 0; move < 20 && !model.gameOver(); move++) {
+      Player p = model.getPlayer();
+      for (NoDiscHexagon hex : model.getGrid()) {
+        if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > 0) {
+          MoveResult expected = model.makeMove(p, hex);
+          MoveResult actual = bits.makeMove(p, hex.getDiagonal(), hex.getRow());
+          Assert.assertEquals(expected.getCell(), actual.getCell());
+          Assert.assertEquals(expected.getFlipCount(), actual.getFlipCount());
+          Assert.assertEquals(expected.nextMustPass(), actual.nextMustPass());
+          break;
+        }
+      }
+      Assert.assertEquals(model.getScore(Player.A), bits.getScore(Player.A));
+      Assert.assertEquals(model.getZobristKey(), bits.getZobristKey());
+      for (Player who : Player.values()) {
+        Assert.assertEquals(model.legalMoves(who).cardinality(), model.legalMoveCount(who));
+        Assert.assertEquals(model.legalMoveCount(who), bits.legalMoveCount(who));
+      }
+    }
+  }
+
+  // describes the discs on the board, the scores, the turn and the legal moves of the given model
+  private String state(BitboardReversiModel model) {
+    StringBuilder sb = new StringBuilder();
+    for (NoDiscHexagon hex : model.getGrid()) {
+      sb.append(hex instanceof FilledHexagon
+              ? (((FilledHexagon) hex).getDisc() == Disc.BLACK ? 'X' : 'O') : '_');
+    }
+    return sb.append(model.getScore(Player.A)).append(' ').append(model.getScore(Player.B))
+            .append(model.getPlayer()).append(model.getZobristKey())
+            .append(model.hasLegalMove(Player.A))
+            .append(model.hasLegalMove(Player.B)).append(model.gameOver()).toString();
+  }
+
+  /**
+   * Tests that undoing every possible move puts the board back exactly as it was, over a whole
+   * game.
+   */
+  @Test
+  public void testUndoMoveRestoresBoard() {
+    BitboardReversiModel model = new BitboardReversiModel(5);
+    model.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      String before = this.state(model);
+      NoDiscHexagon move = null;
+      for (NoDiscHexagon hex : model.getGrid()) {
+        if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > 0) {
+          int flipped = hex.getValidMoves(p);
+          UndoRecord record = model.doMove(p, model.getHex(hex.getDiagonal(), hex.getRow()));
+          Assert.assertEquals(flipped, record.getFlipCount());
+          Assert.assertNotEquals(before, this.state(model));
+          model.undoMove(record);
+          Assert.assertEquals(before, this.state(model));
+          move = hex;
+        }
+      }
+      UndoRecord record = model.doMove(p, move == null ? null
+              : model.getHex(move.getDiagonal(), move.getRow()));
+      Assert.assertEquals(move == null, record.isPass());
+      Assert.assertNotEquals(p, model.getPlayer());
+    }
+  }
+
+  /**
+   * Tests that a move cannot be undone once the turn has gone back to the player who made it.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testUndoMoveOutOfOrder() {
+    BitboardReversiModel model = new BitboardReversiModel();
+    model.startGame();
+    UndoRecord record = model.doMove(Player.A, model.getHex(4, 3));
+    model.undoMove(record);
+    model.undoMove(record);
+  }
+}
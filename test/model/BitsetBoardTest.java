@@ -0,0 +1,97 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * A JUnit test class for the bitset layout of boards and its move generators.
+ */
+public class BitsetBoardTest {
+
+  private static final int[] SQUARE_DIAGONAL = {1, -1, 1, -1, 1, -1, 0, 0};
+  private static final int[] SQUARE_ROW = {0, 0, -1, -1, 1, 1, -1, 1};
+
+  // fills the cells of the board at random with discs of own, discs of opp or nothing
+  private void randomDiscs(BitsetBoard board, int width, int height, Random random, long[] own,
+                           long[] opp) {
+    for (int j = 0; j < height; j++) {
+      for (int i = 0; i < width; i++) {
+        int r = random.nextInt(3);
+        if (board.onBoard(i, j) && r == 1) {
+          BitsetBoard.set(own, board.bit(i, j));
+        } else if (board.onBoard(i, j) && r == 2) {
+          BitsetBoard.set(opp, board.bit(i, j));
+        }
+      }
+    }
+  }
+
+  // checks that the moves generated by the board are exactly the empty cells that flip a disc
+  private void assertMovesMatchFlips(BitsetBoard board, int width, int height, long[] own,
+                                     long[] opp) {
+    long[] moves = board.bitset();
+    long[] flips = board.bitset();
+    board.generateMoves(own, opp, moves);
+    for (int j = 0; j < height; j++) {
+      for (int i = 0; i < width; i++) {
+        int bit = board.bit(i, j);
+        boolean legal = board.onBoard(i, j) && !BitsetBoard.isSet(own, bit)
+                && !BitsetBoard.isSet(opp, bit) && board.generateFlips(bit, own, opp, flips) > 0;
+        Assert.assertEquals(legal, BitsetBoard.isSet(moves, bit));
+      }
+    }
+  }
+
+  /**
+   * Tests that the scalar and vectorized generators find the same moves on large square boards,
+   * and that those are the moves that flip discs.
+   */
+  @Test
+  public void testVectorizedMovesMatchScalarMoves() {
+    Random random = new Random(12);
+    BitsetBoard scalar = new BitsetBoard(150, 150, SQUARE_DIAGONAL, SQUARE_ROW, (i, j) -> true);
+    BitsetBoard vector = new BitsetBoard(150, 150, SQUARE_DIAGONAL, SQUARE_ROW, (i, j) -> true);
+    Assert.assertEquals(BitsetBoard.vectorApiAvailable(), vector.setVectorized(true));
+    Assert.assertFalse(scalar.isVectorized());
+    for (int k = 0; k < 5; k++) {
+      long[] own = scalar.bitset();
+      long[] opp = scalar.bitset();
+      randomDiscs(scalar, 150, 150, random, own, opp);
+      long[] expected = scalar.bitset();
+      long[] actual = vector.bitset();
+      Assert.assertEquals(scalar.generateMoves(own, opp, expected),
+              vector.generateMoves(own, opp, actual));
+      Assert.assertArrayEquals(expected, actual);
+      assertMovesMatchFlips(vector, 150, 150, own, opp);
+    }
+  }
+
+  /**
+   * Tests that the vectorized generator finds the moves that flip discs on a hexagonal board.
+   */
+  @Test
+  public void testVectorizedMovesOnHexagon() {
+    Random random = new Random(3);
+    int size = 40;
+    int width = 2 * size - 1;
+    BitsetBoard hex = new BitsetBoard(width, width, new int[] {1, -1, 0, -1, 1, 0},
+            new int[] {0, 0, -1, -1, 1, 1}, (i, j) -> Math.abs(i - j) <= size - 1);
+    hex.setVectorized(true);
+    long[] own = hex.bitset();
+    long[] opp = hex.bitset();
+    randomDiscs(hex, width, width, random, own, opp);
+    assertMovesMatchFlips(hex, width, width, own, opp);
+    hex.setVectorized(false);
+    assertMovesMatchFlips(hex, width, width, own, opp);
+  }
+
+  /**
+   * Tests that directions moving more than one column are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDirection() {
+    new BitsetBoard(8, 8, new int[] {2}, new int[] {0}, (i, j) -> true);
+  }
+}
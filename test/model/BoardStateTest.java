@@ -0,0 +1,158 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A JUnit test class for the discs and legal moves shared by the hexagonal and square models.
+ */
+public class BoardStateTest {
+
+  // returns a board of the given topology with the given discs in the given cells
+  private static BoardState board(BoardTopology topology, int[] black, int[] white) {
+    BoardState board = new BoardState(topology);
+    for (int cell : black) {
+      board.set(cell, BoardTopology.BLACK);
+    }
+    for (int cell : white) {
+      board.set(cell, BoardTopology.WHITE);
+    }
+    return board;
+  }
+
+  // returns a board of the given topology with the four discs the game starts with, taken from
+  // the grid of a ReversiModel for a hexagonal board
+  private static BoardState start(BoardTopology topology) {
+    if (topology.directions() == 8) {
+      return board(topology, new int[] {topology.cellAt(3, 3), topology.cellAt(4, 4)},
+              new int[] {topology.cellAt(3, 4), topology.cellAt(4, 3)});
+    }
+    BoardState board = new BoardState(topology);
+    List<NoDiscHexagon> grid = new ReversiModel(5).getGrid();
+    for (int cell = 0; cell < grid.size(); cell++) {
+      if (grid.get(cell) instanceof FilledHexagon) {
+        board.set(cell, ((FilledHexagon) grid.get(cell)).getDisc().getState());
+      }
+    }
+    return board;
+  }
+
+  // returns the legal moves of the given disc found by trying every empty cell
+  private static BitSet scanLegal(BoardState board, byte disc) {
+    BitSet legal = new BitSet();
+    for (int cell = 0; cell < board.cells(); cell++) {
+      if (board.get(cell) == BoardTopology.EMPTY && board.flipCount(cell, disc) > 0) {
+        legal.set(cell);
+      }
+    }
+    return legal;
+  }
+
+  /**
+   * Tests that placing a disc flips the sandwiched discs and updates the counts.
+   */
+  @Test
+  public void testPlaceFlips() {
+    BoardTopology square = BoardTopology.square(8);
+    BoardState board = board(square, new int[] {square.cellAt(3, 3), square.cellAt(4, 4)},
+            new int[] {square.cellAt(3, 4), square.cellAt(4, 3)});
+    Assert.assertEquals(4, board.legalMoveCount(BoardTopology.BLACK));
+    int flipped = board.place(square.cellAt(2, 4), BoardTopology.BLACK);
+    Assert.assertEquals(1, flipped);
+    Assert.assertEquals(square.cellAt(2, 4), board.lastMove());
+    Assert.assertArrayEquals(new int[] {square.cellAt(3, 4)}, board.lastFlips(flipped));
+    Assert.assertEquals(4, board.count(BoardTopology.BLACK));
+    Assert.assertEquals(1, board.count(BoardTopology.WHITE));
+    Assert.assertEquals(BoardTopology.BLACK, board.get(square.cellAt(3, 4)));
+  }
+
+  /**
+   * Tests that placing a disc that flips nothing or in a filled cell is rejected.
+   */
+  @Test
+  public void testPlaceRejectsIllegalMoves() {
+    BoardTopology square = BoardTopology.square(8);
+    BoardState board = board(square, new int[] {square.cellAt(3, 3)},
+            new int[] {square.cellAt(3, 4)});
+    try {
+      board.place(square.cellAt(0, 0), BoardTopology.BLACK);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      board.place(square.cellAt(3, 3), BoardTopology.WHITE);
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Tests that undoing random games move by move restores the discs, counts, key and legal moves
+   * of every earlier position, and that the legal moves kept up to date match a scan of the board.
+   */
+  @Test
+  public void testUndoRestoresEveryPosition() {
+    for (BoardTopology topology : new BoardTopology[] {BoardTopology.hexagon(5),
+        BoardTopology.square(8)}) {
+      BoardState board = start(topology);
+      Random random = new Random(7);
+      byte disc = BoardTopology.BLACK;
+      List<BoardState> before = new ArrayList<>();
+      List<UndoRecord> records = new ArrayList<>();
+      while (board.legalMoveCount(BoardTopology.BLACK) + board.legalMoveCount(BoardTopology.WHITE)
+              > 0) {
+        if (board.legalMoveCount(disc) == 0) {
+          disc = disc == BoardTopology.BLACK ? BoardTopology.WHITE : BoardTopology.BLACK;
+        }
+        Assert.assertEquals(scanLegal(board, disc), board.legalMoves(disc));
+        BitSet legal = board.legalMoves(disc);
+        int move = legal.nextSetBit(0);
+        for (int skip = random.nextInt(legal.cardinality()); skip > 0; skip--) {
+          move = legal.nextSetBit(move + 1);
+        }
+        before.add(board.copy());
+        int flipped = board.place(move, disc);
+        records.add(new UndoRecord(disc == BoardTopology.BLACK ? Player.A : Player.B, move,
+                board.lastFlips(flipped)));
+        disc = disc == BoardTopology.BLACK ? BoardTopology.WHITE : BoardTopology.BLACK;
+      }
+      for (int k = records.size() - 1; k >= 0; k--) {
+        UndoRecord record = records.get(k);
+        board.undo(record, record.getPlayer().getDisc().getState());
+        BoardState expected = before.get(k);
+        Assert.assertEquals(expected.key(), board.key());
+        for (byte d = BoardTopology.EMPTY; d <= BoardTopology.WHITE; d++) {
+          Assert.assertEquals(expected.count(d), board.count(d));
+        }
+        for (byte d = BoardTopology.BLACK; d <= BoardTopology.WHITE; d++) {
+          Assert.assertEquals(expected.legalMoves(d), board.legalMoves(d));
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that a copy can be changed without changing the board it was copied from.
+   */
+  @Test
+  public void testCopyIsIndependent() {
+    BoardTopology square = BoardTopology.square(8);
+    BoardState board = board(square, new int[] {square.cellAt(3, 3), square.cellAt(4, 4)},
+            new int[] {square.cellAt(3, 4), square.cellAt(4, 3)});
+    BoardState copy = board.copy();
+    Assert.assertSame(board.topology(), copy.topology());
+    Assert.assertEquals(board.key(), copy.key());
+    copy.place(square.cellAt(2, 4), BoardTopology.BLACK);
+    Assert.assertEquals(BoardTopology.WHITE, board.get(square.cellAt(3, 4)));
+    Assert.assertEquals(2, board.count(BoardTopology.BLACK));
+    Assert.assertEquals(4, board.legalMoveCount(BoardTopology.BLACK));
+    Assert.assertNotEquals(board.key(), copy.key());
+  }
+}
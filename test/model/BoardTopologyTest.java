@@ -0,0 +1,136 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * A JUnit test class for the shared board core describing hexagonal and square boards.
+ */
+public class BoardTopologyTest {
+
+  // the opposite of each direction, which is the same for hexagonal and square boards
+  private static final int[] OPPOSITE = {1, 0, 5, 4, 3, 2, 7, 6};
+
+  /**
+   * Tests that the cells of a hexagonal board are numbered like the grid of a ReversiModel.
+   */
+  @Test
+  public void testHexagonMatchesReversiModelGrid() {
+    BoardTopology hex = BoardTopology.hexagon(6);
+    ReversiModel model = new ReversiModel(6);
+    Assert.assertEquals(model.getGrid().size(), hex.cells());
+    Assert.assertEquals(6, hex.directions());
+    for (int cell = 0; cell < hex.cells(); cell++) {
+      Assert.assertEquals(model.getGrid().get(cell).getDiagonal(), hex.diagonal(cell));
+      Assert.assertEquals(model.getGrid().get(cell).getRow(), hex.row(cell));
+      Assert.assertEquals(cell, hex.cellAt(hex.diagonal(cell), hex.row(cell)));
+    }
+    Assert.assertEquals(-1, hex.cellAt(10, 0));
+    Assert.assertEquals(-1, hex.cellAt(-1, 0));
+  }
+
+  /**
+   * Tests that every neighbor relation goes both ways, in the opposite direction.
+   */
+  @Test
+  public void testNeighborsAreSymmetric() {
+    for (BoardTopology board : new BoardTopology[] {BoardTopology.hexagon(4),
+        BoardTopology.square(6)}) {
+      for (int cell = 0; cell < board.cells(); cell++) {
+        for (int d = 0; d < board.directions(); d++) {
+          int next = board.neighbor(cell, d);
+          if (next >= 0) {
+            Assert.assertEquals(cell, board.neighbor(next, OPPOSITE[d]));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests flip counting on the starting position of a square board.
+   */
+  @Test
+  public void testSquareFlips() {
+    BoardTopology square = BoardTopology.square(8);
+    byte[] state = new byte[square.cells()];
+    state[square.cellAt(3, 4)] = BoardTopology.WHITE;
+    state[square.cellAt(4, 3)] = BoardTopology.WHITE;
+    state[square.cellAt(3, 3)] = BoardTopology.BLACK;
+    state[square.cellAt(4, 4)] = BoardTopology.BLACK;
+    Assert.assertEquals(1, square.flipCount(state, square.cellAt(2, 4), BoardTopology.BLACK));
+    Assert.assertEquals(0, square.flipCount(state, square.cellAt(0, 0), BoardTopology.BLACK));
+    int[] out = new int[4];
+    Assert.assertEquals(1, square.flips(state, square.cellAt(2, 4), BoardTopology.BLACK, out, 1));
+    Assert.assertEquals(square.cellAt(3, 4), out[1]);
+    Assert.assertTrue(square.nextToDisc(state, square.cellAt(2, 2)));
+    Assert.assertFalse(square.nextToDisc(state, square.cellAt(0, 0)));
+  }
+
+  /**
+   * Tests that two cells cannot have the same coordinates.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateCells() {
+    new BoardTopology(new int[] {0, 0}, new int[] {1, 1}, new int[] {1}, new int[] {0});
+  }
+
+  /**
+   * Tests that finding flips from the line masks gives the same flips as walking the rays, on
+   * random positions of the default hexagonal board, the 8x8 square board and the largest boards
+   * whose lines fit in the masks.
+   */
+  @Test
+  public void testLineMasksMatchRayWalk() {
+    Random random = new Random(5);
+    for (BoardTopology board : new BoardTopology[] {BoardTopology.hexagon(6),
+        BoardTopology.square(8), BoardTopology.hexagon(16), BoardTopology.square(32)}) {
+      Assert.assertTrue(board.hasLineMasks());
+      byte[] state = new byte[board.cells()];
+      int[] lines = board.emptyLines();
+      for (int k = 0; k < 2000; k++) {
+        int cell = random.nextInt(board.cells());
+        byte disc = (byte) random.nextInt(3);
+        board.updateLines(lines, cell, state[cell], disc);
+        state[cell] = disc;
+        int target = random.nextInt(board.cells());
+        for (byte player = BoardTopology.BLACK; player <= BoardTopology.WHITE; player++) {
+          int[] expected = new int[board.cells()];
+          int[] actual = new int[board.cells()];
+          Assert.assertEquals(board.flipCount(state, target, player),
+                  board.maskFlipCount(lines, target, player));
+          Assert.assertEquals(board.flips(state, target, player, expected, 0),
+                  board.maskFlips(lines, target, player, actual, 0));
+          Assert.assertArrayEquals(expected, actual);
+        }
+      }
+    }
+    Assert.assertFalse(BoardTopology.hexagon(17).hasLineMasks());
+  }
+
+  /**
+   * Tests that the one-pass flip counts of a board match counting the flips of each empty cell on
+   * random positions, including a board too large for the line masks.
+   */
+  @Test
+  public void testFlipCountsMatchEachCell() {
+    Random random = new Random(9);
+    for (BoardTopology board : new BoardTopology[] {BoardTopology.hexagon(6),
+        BoardTopology.hexagon(17), BoardTopology.square(8)}) {
+      byte[] state = new byte[board.cells()];
+      for (int k = 0; k < 500; k++) {
+        state[random.nextInt(board.cells())] = (byte) random.nextInt(3);
+        for (byte player = BoardTopology.BLACK; player <= BoardTopology.WHITE; player++) {
+          int[] counts = board.flipCounts(state, player);
+          for (int cell = 0; cell < board.cells(); cell++) {
+            int expected = state[cell] == BoardTopology.EMPTY
+                    ? board.flipCount(state, cell, player) : 0;
+            Assert.assertEquals(expected, counts[cell]);
+          }
+        }
+      }
+    }
+  }
+}
@@ -3,10 +3,10 @@ package model;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.awt.Color;
 import java.util.List;
 
 import model.AbstractHexagon;
+import model.Disc;
 import model.EmptyHexagon;
 import model.FilledHexagon;
 import model.NoDiscHexagon;
@@ -88,15 +88,133 @@ public class ReversiHelperTest {
   }
 
   /**
-   * Tests the getColor() method.
+   * Tests the getDisc() method.
    */
   @Test
-  public void testGetColor() {
+  public void testGetDisc() {
     init();
     this.rm.makeMove(player1, this.rm.getHexagon(4, 3, this.rm.getGrid()));
     this.rm.makeMove(player2, this.rm.getHexagon(4, 6, this.rm.getGrid()));
     Assert.assertTrue(this.rm.getHexagon(4, 6, this.rm.getGrid()) instanceof FilledHexagon);
-    Assert.assertEquals(Color.WHITE, ((FilledHexagon) this.rm.getHexagon(4, 6,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHexagon(4, 6,
+            this.rm.getGrid())).getDisc());
+  }
+
+  /**
+   * Tests that the discs of the players match the byte cell states of the board.
+   */
+  @Test
+  public void testDiscStates() {
+    Assert.assertEquals(Disc.BLACK, Player.A.getDisc());
+    Assert.assertEquals(Disc.WHITE, Player.B.getDisc());
+    for (Disc disc : Disc.values()) {
+      Assert.assertEquals(disc, Disc.of(disc.getState()));
+    }
+    Assert.assertEquals(BoardTopology.EMPTY, Disc.EMPTY.getState());
+    Assert.assertEquals(BoardTopology.BLACK, Disc.BLACK.getState());
+    Assert.assertEquals(BoardTopology.WHITE, Disc.WHITE.getState());
+    Assert.assertEquals(Disc.WHITE, Disc.BLACK.opponent());
+    Assert.assertEquals(Disc.BLACK, Disc.WHITE.opponent());
+    Assert.assertEquals(Disc.EMPTY, Disc.EMPTY.opponent());
+  }
+
+  /**
+   * Tests that a byte that is not a cell state has no disc.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDiscOfInvalidState() {
+    Disc.of((byte) 3);
+  }
+
+  /**
+   * Tests that a filled tile cannot hold an empty cell state.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testFilledHexagonWithoutDisc() {
+    new FilledHexagon(0, 0, Disc.EMPTY);
+  }
+
+  /**
+   * Tests that every tile of the grid is found by its coordinates and that coordinates off the
+   * board give an EmptyHexagon.
+   */
+  @Test
+  public void testGetHexByCoordinates() {
+    init();
+    ReversiModel large = new ReversiModel(30);
+    for (NoDiscHexagon hex : large.getGrid()) {
+      Assert.assertSame(hex, large.getHex(hex.getDiagonal(), hex.getRow()));
+      Assert.assertSame(hex, large.getHexagon(hex.getDiagonal(), hex.getRow(), large.getGrid()));
+    }
+    Assert.assertTrue(this.rm.getHex(0, 6) instanceof EmptyHexagon);
+    Assert.assertTrue(this.rm.getHex(11, 0) instanceof EmptyHexagon);
+    Assert.assertTrue(this.rm.getHex(-1, 3) instanceof EmptyHexagon);
+  }
+
+  /**
+   * Tests that every position off the board is the shared off-board tile.
+   */
+  @Test
+  public void testOffBoardTileIsShared() {
+    init();
+    Assert.assertSame(EmptyHexagon.OFF_BOARD, this.rm.getHex(-1, 3));
+    Assert.assertSame(EmptyHexagon.OFF_BOARD, this.rm.getHex(0, 6));
+    Assert.assertSame(EmptyHexagon.OFF_BOARD, this.rm.getGrid().get(0).getLeft());
+    Assert.assertSame(EmptyHexagon.OFF_BOARD, new NoDiscHexagon(2, 3).getBottomRight());
+    for (NoDiscHexagon hex : this.rm.linkedGrid(this.rm.initialGrid(6))) {
+      Assert.assertFalse(hex.getTopLeft() instanceof EmptyHexagon
+              && hex.getTopLeft() != EmptyHexagon.OFF_BOARD);
+    }
+  }
+
+  /**
+   * Tests the neighbor masks of a tile whose neighbors are the tiles linked to it.
+   */
+  @Test
+  public void testNeighborMasksOfLinkedTile() {
+    NoDiscHexagon hex = new NoDiscHexagon(2, 2, new FilledHexagon(3, 2, Disc.WHITE),
+            new FilledHexagon(1, 2, Disc.BLACK), EmptyHexagon.OFF_BOARD, EmptyHexagon.OFF_BOARD,
+            new NoDiscHexagon(3, 3), EmptyHexagon.OFF_BOARD);
+    Assert.assertEquals(0b11, hex.getDiscNeighbors());
+    Assert.assertEquals(0b01, hex.getOpponentNeighbors(Disc.BLACK));
+    Assert.assertEquals(0b10, hex.getOpponentNeighbors(Disc.WHITE));
+    Assert.assertFalse(hex.allNeighborsEmpty());
+    Assert.assertTrue(new NoDiscHexagon(2, 3).allNeighborsEmpty());
+  }
+
+  /**
+   * Tests that the neighbor masks of the tiles of a board match their neighbors over a whole game.
+   */
+  @Test
+  public void testNeighborMasksMatchNeighborsOverGame() {
+    ReversiModel model = new ReversiModel(5);
+    model.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      for (NoDiscHexagon hex : model.getGrid()) {
+        AbstractHexagon[] neighbors = {hex.getRight(), hex.getLeft(), hex.getTopRight(),
+            hex.getTopLeft(), hex.getBottomRight(), hex.getBottomLeft()};
+        int discs = 0;
+        int opponents = 0;
+        for (int d = 0; d < neighbors.length; d++) {
+          if (neighbors[d] instanceof FilledHexagon) {
+            discs |= 1 << d;
+            if (((FilledHexagon) neighbors[d]).getDisc() != p.getDisc()) {
+              opponents |= 1 << d;
+            }
+          }
+        }
+        Assert.assertEquals(discs, hex.getDiscNeighbors());
+        Assert.assertEquals(opponents, hex.getOpponentNeighbors(p.getDisc()));
+        Assert.assertEquals(Integer.bitCount(opponents),
+                hex.getFilledHexagons(p.getDisc()).size());
+      }
+      int move = model.legalMoves(p).nextSetBit(0);
+      if (move < 0) {
+        model.nextPlayer(p);
+      } else {
+        model.makeMove(p, move);
+      }
+    }
   }
 }
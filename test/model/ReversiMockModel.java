@@ -1,5 +1,6 @@
 package model;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -33,6 +34,31 @@ public class ReversiMockModel implements Reversi {
     return false;
   }
 
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return this.model.hasLegalMove(who);
+  }
+
+  @Override
+  public int[] getFlipCounts(Player who) {
+    return this.model.getFlipCounts(who);
+  }
+
+  @Override
+  public BitSet legalMoves(Player who) {
+    return this.model.legalMoves(who);
+  }
+
+  @Override
+  public int legalMoveCount(Player who) {
+    return this.model.legalMoveCount(who);
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.model.getZobristKey();
+  }
+
   @Override
   public int getScore(Player who) {
     return 0;
@@ -48,6 +74,26 @@ public class ReversiMockModel implements Reversi {
     return 0;
   }
 
+  @Override
+  public int getCellCount() {
+    return this.model.getCellCount();
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return this.model.getPosition(i, j);
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return this.model.getDiagonal(position);
+  }
+
+  @Override
+  public int getRow(int position) {
+    return this.model.getRow(position);
+  }
+
   @Override
   public List<NoDiscHexagon> getGrid() {
     return null;
@@ -64,9 +110,9 @@ public class ReversiMockModel implements Reversi {
   }
 
   @Override
-  public void makeMove(Player who, AbstractHexagon where) {
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
     this.model.startGame();
-    this.model.makeMove(who, where);
+    MoveResult result = this.model.makeMove(who, where);
     CaptureMaxTiles c = new CaptureMaxTiles();
     this.model.nextPlayer(who);
     List<Integer> capturedTile = c.chooseTile(this.model, this.model.getPlayer());
@@ -100,6 +146,7 @@ public class ReversiMockModel implements Reversi {
       log.append(String.format("diagonal = %s, row = %d\n",
               move.getDiagonal(), move.getRow()));
     }*/
+    return result;
   }
 
   @Override
@@ -107,6 +154,31 @@ public class ReversiMockModel implements Reversi {
     this.model.nextPlayer(player);
   }
 
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    return this.model.doMove(who, where);
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    return this.model.makeMove(who, move);
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    return this.model.doMove(who, move);
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    this.model.undoMove(record);
+  }
+
+  @Override
+  public Reversi copy() {
+    return this.model.copy();
+  }
+
   @Override
   public int getPotentialTiles(int x, int y) {
     return 0;
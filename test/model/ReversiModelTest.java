@@ -3,12 +3,15 @@ package model;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.awt.Color;
+import java.util.BitSet;
 import java.util.List;
 
 import model.AbstractHexagon;
+import model.Disc;
 import model.EmptyHexagon;
 import model.FilledHexagon;
+import model.Move;
+import model.MoveResult;
 import model.NoDiscHexagon;
 import model.Player;
 import model.ReversiModel;
@@ -33,8 +36,8 @@ public class ReversiModelTest {
    */
   private void init() {
     this.rm = new ReversiModel();
-    this.initialGridTopLeft = new FilledHexagon(4, 4, Color.BLACK);
-    this.initialGridTopRight = new FilledHexagon(5, 5, Color.WHITE);
+    this.initialGridTopLeft = new FilledHexagon(4, 4, Disc.BLACK);
+    this.initialGridTopRight = new FilledHexagon(5, 5, Disc.WHITE);
     this.toMove = new NoDiscHexagon(3, 4);
     this.grid = this.rm.getGrid();
     this.empty = new EmptyHexagon(-1,-1);
@@ -116,10 +119,10 @@ public class ReversiModelTest {
     init();
     this.rm.makeMove(player1, this.rm.getHexagon(4, 3, this.rm.getGrid()));
     Assert.assertTrue(this.rm.getHexagon(4, 3, this.grid) instanceof FilledHexagon);
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(5, 4,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(6, 5,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(5, 4,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(6, 5,
+            this.rm.getGrid())).getDisc());
   }
 
 
@@ -144,17 +147,17 @@ public class ReversiModelTest {
     this.rm.makeMove(player1, this.rm.getHexagon(4, 3, this.rm.getGrid()));
     this.rm.makeMove(player2, this.rm.getHexagon(4, 6, this.rm.getGrid()));
     Assert.assertTrue(this.rm.getHexagon(4, 6, this.rm.getGrid()) instanceof FilledHexagon);
-    Assert.assertEquals(Color.WHITE, ((FilledHexagon) this.rm.getHexagon(4, 6,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.WHITE, ((FilledHexagon) this.rm.getHexagon(4, 5,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.WHITE, ((FilledHexagon) this.rm.getHexagon(5, 6,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHexagon(4, 6,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHexagon(4, 5,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHexagon(5, 6,
+            this.rm.getGrid())).getDisc());
     this.rm.makeMove(player1, this.rm.getHexagon(4, 7, this.rm.getGrid()));
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 6,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 5,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 6,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 5,
+            this.rm.getGrid())).getDisc());
   }
 
   /**
@@ -166,12 +169,12 @@ public class ReversiModelTest {
     this.rm.makeMove(player1, this.rm.getHexagon(4, 3, this.rm.getGrid()));
     this.rm.makeMove(player2, this.rm.getHexagon(4, 6, this.rm.getGrid()));
     this.rm.makeMove(player1, this.rm.getHexagon(7, 6, this.rm.getGrid()));
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(6, 5,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(5, 4,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 3,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(6, 5,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(5, 4,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 3,
+            this.rm.getGrid())).getDisc());
   }
 
   /**
@@ -183,10 +186,10 @@ public class ReversiModelTest {
     this.rm.makeMove(player1, this.rm.getHexagon(4, 6, this.rm.getGrid()));
     this.rm.makeMove(player2, this.rm.getHexagon(5, 5, this.rm.getGrid()));
     this.rm.makeMove(player1, this.rm.getHexagon(6, 7, this.rm.getGrid()));
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(5, 6,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(6, 7,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(5, 6,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(6, 7,
+            this.rm.getGrid())).getDisc());
   }
 
   /**
@@ -197,10 +200,10 @@ public class ReversiModelTest {
     init();
     this.rm.makeMove(player1, this.rm.getHexagon(3, 4, this.rm.getGrid()));
     this.rm.makeMove(player2, this.rm.getHexagon(4, 6, this.rm.getGrid()));
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(3, 4,
-            this.rm.getGrid())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 4,
-            this.rm.getGrid())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(3, 4,
+            this.rm.getGrid())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon(4, 4,
+            this.rm.getGrid())).getDisc());
   }
 
 
@@ -250,6 +253,461 @@ public class ReversiModelTest {
     rm.makeMove(Player.A, rm.getGrid().get(5));
     Assert.assertTrue(rm.gameOver());
   }
-}
 
+  /**
+   * Tests that a move changes the discs of the existing tiles without creating new ones and that
+   * the neighbors of a tile are the current tiles around it.
+   */
+  @Test
+  public void testMakeMoveReusesTiles() {
+    init();
+    AbstractHexagon unchanged = this.rm.getHex(4, 4);
+    AbstractHexagon flipped = this.rm.getHex(5, 4);
+    this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    this.rm.makeMove(player2, this.rm.getHex(4, 6));
+    Assert.assertSame(unchanged, this.rm.getHex(4, 4));
+    Assert.assertNotSame(flipped, this.rm.getHex(5, 4));
+    NoDiscHexagon hex = (NoDiscHexagon) this.rm.getHex(5, 4);
+    Assert.assertSame(this.rm.getHex(4, 3), hex.getTopLeft());
+    Assert.assertSame(hex, this.grid.get(this.grid.indexOf(hex)));
+  }
 
+  /**
+   * Tests that the model constructed from the grid of another model does not share its tiles.
+   */
+  @Test
+  public void testCopiedModelIsIndependent() {
+    init();
+    ReversiModel copy = new ReversiModel(true, Player.A, 6, this.rm.getGrid());
+    copy.makeMove(player1, copy.getHex(4, 3));
+    Assert.assertTrue(copy.getHex(4, 3) instanceof FilledHexagon);
+    Assert.assertFalse(this.rm.getHex(4, 3) instanceof FilledHexagon);
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHex(5, 4)).getDisc());
+  }
+
+  /**
+   * Tests that the scores stay equal to the number of discs on the board over a whole game and
+   * when a disc is placed through the grid. With assertions enabled getScore also checks its count
+   * against a scan of the board.
+   */
+  @Test
+  public void testScoreMatchesBoardOverGame() {
+    init();
+    while (!this.rm.gameOver()) {
+      Player p = this.rm.getPlayer();
+      NoDiscHexagon move = null;
+      for (NoDiscHexagon hex : this.rm.getGrid()) {
+        if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > 0) {
+          move = hex;
+          break;
+        }
+      }
+      if (move == null) {
+        this.rm.nextPlayer(p);
+      } else {
+        this.rm.makeMove(p, move);
+      }
+      int black = 0;
+      int white = 0;
+      for (NoDiscHexagon hex : this.rm.getGrid()) {
+        if (hex instanceof FilledHexagon) {
+          if (((FilledHexagon) hex).getDisc() == Disc.BLACK) {
+            black++;
+          } else {
+            white++;
+          }
+        }
+      }
+      Assert.assertEquals(black, this.rm.getScore(player1));
+      Assert.assertEquals(white, this.rm.getScore(player2));
+    }
+    this.grid.set(this.grid.indexOf(this.rm.getHex(0, 0)), new FilledHexagon(0, 0, Disc.WHITE));
+    Assert.assertEquals(Disc.WHITE, ((FilledHexagon) this.rm.getHex(0, 0)).getDisc());
+  }
+
+  // whether the player has a legal move, found by asking every empty tile of the grid
+  private boolean scanForMove(Player p) {
+    for (NoDiscHexagon hex : this.rm.getGrid()) {
+      if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tests that the legal moves kept up to date after every move match a scan of the board.
+   */
+  @Test
+  public void testHasLegalMoveMatchesBoardOverGame() {
+    this.rm = new ReversiModel(8);
+    this.rm.startGame();
+    boolean over = false;
+    while (!over) {
+      Player p = this.rm.getPlayer();
+      Assert.assertEquals(this.scanForMove(Player.A), this.rm.hasLegalMove(Player.A));
+      Assert.assertEquals(this.scanForMove(Player.B), this.rm.hasLegalMove(Player.B));
+      NoDiscHexagon move = null;
+      int best = 0;
+      for (NoDiscHexagon hex : this.rm.getGrid()) {
+        if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > best) {
+          best = hex.getValidMoves(p);
+          move = hex;
+        }
+      }
+      if (move == null) {
+        this.rm.nextPlayer(p);
+      } else {
+        this.rm.makeMove(p, move);
+      }
+      over = this.rm.gameOver();
+      Assert.assertEquals(!this.scanForMove(Player.A) && !this.scanForMove(Player.B), over);
+    }
+  }
+
+  /**
+   * Tests the legal moves of each player at the start of the game, and that changing the returned
+   * set does not change the legal moves of the model.
+   */
+  @Test
+  public void testLegalMoves() {
+    init();
+    BitSet legal = this.rm.legalMoves(Player.A);
+    Assert.assertEquals(6, legal.cardinality());
+    Assert.assertTrue(legal.get(this.rm.getGrid().indexOf(this.rm.getHex(4, 3))));
+    Assert.assertEquals(6, this.rm.legalMoves(Player.B).cardinality());
+    legal.clear();
+    Assert.assertEquals(6, this.rm.legalMoves(Player.A).cardinality());
+    this.rm.makeMove(Player.A, this.rm.getHex(4, 3));
+    Assert.assertFalse(this.rm.legalMoves(Player.A).get(this.rm.getGrid().indexOf(
+            this.rm.getHex(4, 3))));
+  }
+
+  /**
+   * Tests that the flip counts of the whole board match the flips of each empty tile for both
+   * players over a whole game.
+   */
+  @Test
+  public void testFlipCountsMatchTilesOverGame() {
+    this.rm = new ReversiModel(6);
+    this.rm.startGame();
+    while (!this.rm.gameOver()) {
+      Player p = this.rm.getPlayer();
+      for (Player who : new Player[] {Player.A, Player.B}) {
+        int[] counts = this.rm.getFlipCounts(who);
+        Assert.assertEquals(this.rm.getGrid().size(), counts.length);
+        for (int k = 0; k < counts.length; k++) {
+          NoDiscHexagon hex = this.rm.getGrid().get(k);
+          Assert.assertEquals(hex instanceof FilledHexagon ? 0 : hex.getValidMoves(who), counts[k]);
+        }
+      }
+      int[] counts = this.rm.getFlipCounts(p);
+      BitSet legal = this.rm.legalMoves(p);
+      for (int k = 0; k < counts.length; k++) {
+        Assert.assertEquals(counts[k] > 0, legal.get(k));
+      }
+      Assert.assertEquals(this.rm.hasLegalMove(p), !legal.isEmpty());
+      int move = 0;
+      for (int k = 1; k < counts.length; k++) {
+        move = counts[k] > counts[move] ? k : move;
+      }
+      if (counts[move] == 0) {
+        this.rm.nextPlayer(p);
+      } else {
+        this.rm.makeMove(p, this.rm.getGrid().get(move));
+      }
+    }
+  }
+
+  /**
+   * Tests that legal moves are recomputed when tiles are replaced through the grid.
+   */
+  @Test
+  public void testHasLegalMoveAfterGridChange() {
+    init();
+    Assert.assertTrue(this.rm.hasLegalMove(player1));
+    for (int i = 0; i < this.grid.size(); i++) {
+      NoDiscHexagon hex = this.grid.get(i);
+      if (hex instanceof FilledHexagon) {
+        this.grid.set(i, new FilledHexagon(hex.getDiagonal(), hex.getRow(), Disc.WHITE));
+      }
+    }
+    Assert.assertFalse(this.rm.hasLegalMove(player1));
+    Assert.assertFalse(this.rm.hasLegalMove(player2));
+    Assert.assertTrue(this.rm.gameOver());
+  }
+
+  /**
+   * Tests that the legal moves rebuilt from the frontier after tiles are replaced through the grid
+   * match the flip counts of the board, including tiles that only joined the frontier through the
+   * replaced tiles, and that they are then kept up to date by moves.
+   */
+  @Test
+  public void testLegalMovesAfterGridChangeMatchFlipCounts() {
+    init();
+    this.grid.set(this.grid.indexOf(this.rm.getHex(0, 0)), new FilledHexagon(0, 0, Disc.WHITE));
+    this.grid.set(this.grid.indexOf(this.rm.getHex(1, 1)), new FilledHexagon(1, 1, Disc.BLACK));
+    this.grid.set(this.grid.indexOf(this.rm.getHex(4, 3)), new NoDiscHexagon(4, 3));
+    for (int k = 0; k < 6; k++) {
+      Player p = this.rm.getPlayer();
+      for (Player who : new Player[] {Player.A, Player.B}) {
+        int[] counts = this.rm.getFlipCounts(who);
+        BitSet legal = this.rm.legalMoves(who);
+        for (int position = 0; position < counts.length; position++) {
+          Assert.assertEquals(counts[position] > 0, legal.get(position));
+        }
+      }
+      BitSet legal = this.rm.legalMoves(p);
+      if (legal.isEmpty()) {
+        this.rm.nextPlayer(p);
+      } else {
+        this.rm.makeMove(p, legal.nextSetBit(0));
+      }
+    }
+  }
+
+  /**
+   * Tests that the discs counted through the rays of the board match the lines of discs found by
+   * following the neighbors of every tile over a whole game.
+   */
+  @Test
+  public void testRaysMatchNeighborsOverGame() {
+    init();
+    while (!this.rm.gameOver()) {
+      Player p = this.rm.getPlayer();
+      NoDiscHexagon move = null;
+      for (NoDiscHexagon hex : this.rm.getGrid()) {
+        int linked = 0;
+        for (List<FilledHexagon> line
+                : hex.checkAll(hex.getFilledHexagons(p.getDisc()), hex, p.getDisc())) {
+          linked += line.size();
+        }
+        Assert.assertEquals(linked, hex.getValidMoves(p));
+        if (move == null && !(hex instanceof FilledHexagon) && linked > 0) {
+          move = hex;
+        }
+      }
+      if (move == null) {
+        this.rm.nextPlayer(p);
+      } else {
+        this.rm.makeMove(p, move);
+      }
+    }
+  }
+
+  // describes the discs on the board, the scores, the turn and the legal moves of the given model
+  private String state(ReversiModel model) {
+    StringBuilder sb = new StringBuilder();
+    for (NoDiscHexagon hex : model.getGrid()) {
+      sb.append(hex instanceof FilledHexagon
+              ? (((FilledHexagon) hex).getDisc() == Disc.BLACK ? 'X' : 'O') : '_');
+    }
+    return sb.append(model.getScore(Player.A)).append(' ').append(model.getScore(Player.B))
+            .append(model.getPlayer()).append(model.getZobristKey())
+            .append(model.hasLegalMove(Player.A))
+            .append(model.hasLegalMove(Player.B)).append(model.gameOver()).toString();
+  }
+
+  /**
+   * Tests that undoing every possible move puts the board back exactly as it was, over a whole
+   * game.
+   */
+  @Test
+  public void testUndoMoveRestoresBoard() {
+    ReversiModel model = new ReversiModel(5);
+    model.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      String before = this.state(model);
+      NoDiscHexagon move = null;
+      for (NoDiscHexagon hex : model.getGrid()) {
+        if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > 0) {
+          int flipped = hex.getValidMoves(p);
+          UndoRecord record = model.doMove(p, model.getHex(hex.getDiagonal(), hex.getRow()));
+          Assert.assertEquals(flipped, record.getFlipCount());
+          Assert.assertNotEquals(before, this.state(model));
+          model.undoMove(record);
+          Assert.assertEquals(before, this.state(model));
+          move = hex;
+        }
+      }
+      UndoRecord record = model.doMove(p, move == null ? null
+              : model.getHex(move.getDiagonal(), move.getRow()));
+      Assert.assertEquals(move == null, record.isPass());
+      Assert.assertNotEquals(p, model.getPlayer());
+    }
+  }
+
+  /**
+   * Tests that a copy of every hexagonal model has the same position as the model at every turn of
+   * a game, and that moves made on the copy leave the model alone.
+   */
+  @Test
+  public void testCopyMatchesModelOverGame() {
+    Reversi[] models = {new ReversiModel(5), new BitboardReversiModel(5)};
+    for (Reversi model : models) {
+      model.startGame();
+      while (!model.gameOver()) {
+        Player p = model.getPlayer();
+        Reversi copy = model.copy();
+        Assert.assertEquals(model.getClass(), copy.getClass());
+        Assert.assertEquals(model.getZobristKey(), copy.getZobristKey());
+        Assert.assertEquals(p, copy.getPlayer());
+        Assert.assertEquals(model.getScore(Player.A), copy.getScore(Player.A));
+        Assert.assertEquals(model.getScore(Player.B), copy.getScore(Player.B));
+        Assert.assertEquals(model.legalMoves(p), copy.legalMoves(p));
+        int move = model.legalMoves(p).nextSetBit(0);
+        long key = model.getZobristKey();
+        copy.doMove(p, move < 0 ? Move.PASS : move);
+        Assert.assertEquals(key, model.getZobristKey());
+        Assert.assertEquals(p, model.getPlayer());
+        model.doMove(p, move < 0 ? Move.PASS : move);
+        Assert.assertEquals(model.getZobristKey(), copy.getZobristKey());
+      }
+    }
+  }
+
+  /**
+   * Tests that packed moves play the same game as moves given as tiles, including passes, and that
+   * moves convert to and from coordinates.
+   */
+  @Test
+  public void testPackedMovesMatchTileMoves() {
+    ReversiModel model = new ReversiModel(5);
+    ReversiModel packed = new ReversiModel(5);
+    model.startGame();
+    packed.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      int move = model.legalMoves(p).nextSetBit(0);
+      String before = this.state(packed);
+      if (move < 0) {
+        Assert.assertTrue(packed.doMove(p, Move.PASS).isPass());
+        model.doMove(p, null);
+      } else {
+        NoDiscHexagon hex = model.getGrid().get(move);
+        Assert.assertEquals(move, Move.of(model, hex.getDiagonal(), hex.getRow()));
+        Assert.assertEquals(List.of(hex.getDiagonal(), hex.getRow()),
+                Move.toCoordinates(model, move));
+        packed.undoMove(packed.doMove(p, move));
+        Assert.assertEquals(before, this.state(packed));
+        MoveResult expected = model.makeMove(p, hex);
+        MoveResult actual = packed.makeMove(p, move);
+        Assert.assertEquals(expected.getCell(), actual.getCell());
+        Assert.assertEquals(expected.getFlipCount(), actual.getFlipCount());
+      }
+      Assert.assertEquals(this.state(model), this.state(packed));
+    }
+    Assert.assertNull(Move.toCoordinates(model, Move.PASS));
+  }
+
+  /**
+   * Tests that a pass cannot be made through makeMove.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeMovePass() {
+    init();
+    this.rm.makeMove(player1, Move.PASS);
+  }
+
+  /**
+   * Tests that a packed move must be a position of the grid.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testMakeMoveOffBoard() {
+    init();
+    this.rm.makeMove(player1, this.rm.getGrid().size());
+  }
+
+  /**
+   * Tests that a move cannot be undone once the turn has gone back to the player who made it.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testUndoMoveOutOfOrder() {
+    ReversiModel model = new ReversiModel();
+    model.startGame();
+    UndoRecord record = model.doMove(Player.A, model.getHex(4, 3));
+    model.undoMove(record);
+    model.undoMove(record);
+  }
+
+  /**
+   * Tests that the Zobrist key depends only on the discs on the board and the player to move.
+   */
+  @Test
+  public void testZobristKeyIdentifiesPosition() {
+    init();
+    long start = this.rm.getZobristKey();
+    Assert.assertEquals(start, new ReversiModel().getZobristKey());
+    this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    Assert.assertNotEquals(start, this.rm.getZobristKey());
+    ReversiModel copy = new ReversiModel(true, Player.B, 6, this.rm.getGrid());
+    Assert.assertEquals(this.rm.getZobristKey(), copy.getZobristKey());
+    copy.nextPlayer(Player.B);
+    Assert.assertNotEquals(this.rm.getZobristKey(), copy.getZobristKey());
+    this.grid.set(this.grid.indexOf(this.rm.getHex(4, 3)), new NoDiscHexagon(4, 3));
+    this.grid.set(this.grid.indexOf(this.rm.getHex(5, 4)), new FilledHexagon(5, 4, Disc.WHITE));
+    this.rm.nextPlayer(player2);
+    Assert.assertEquals(start, this.rm.getZobristKey());
+  }
+
+  /**
+   * Tests that makeMove reports the placed tile, the flipped tiles and the new scores.
+   */
+  @Test
+  public void testMakeMoveResult() {
+    init();
+    MoveResult result = this.rm.makeMove(player1, this.rm.getHex(4, 3));
+    Assert.assertEquals(this.grid.indexOf(this.rm.getHex(4, 3)), result.getCell());
+    Assert.assertEquals(1, result.getFlipCount());
+    Assert.assertEquals(this.grid.indexOf(this.rm.getHex(5, 4)), result.getFlipped(0));
+    Assert.assertEquals(5, result.getScore(player1));
+    Assert.assertEquals(2, result.getScore(player2));
+    Assert.assertFalse(result.nextMustPass());
+  }
+
+  /**
+   * Tests that the results of the moves of a whole game match the board after each move.
+   */
+  @Test
+  public void testMakeMoveResultMatchesBoardOverGame() {
+    init();
+    while (!this.rm.gameOver()) {
+      Player p = this.rm.getPlayer();
+      NoDiscHexagon move = null;
+      for (NoDiscHexagon hex : this.grid) {
+        if (!(hex instanceof FilledHexagon) && hex.getValidMoves(p) > 0) {
+          move = hex;
+        }
+      }
+      if (move == null) {
+        this.rm.nextPlayer(p);
+        continue;
+      }
+      int flips = move.getValidMoves(p);
+      MoveResult result = this.rm.makeMove(p, move);
+      Assert.assertEquals(flips, result.getFlipCount());
+      Assert.assertEquals(p.getDisc(),
+              ((FilledHexagon) this.grid.get(result.getCell())).getDisc());
+      for (int k = 0; k < result.getFlipCount(); k++) {
+        Assert.assertEquals(p.getDisc(),
+                ((FilledHexagon) this.grid.get(result.getFlipped(k))).getDisc());
+      }
+      Assert.assertEquals(this.rm.getScore(Player.A), result.getScore(Player.A));
+      Assert.assertEquals(this.rm.getScore(Player.B), result.getScore(Player.B));
+      Assert.assertEquals(!this.rm.hasLegalMove(this.rm.getPlayer()), result.nextMustPass());
+    }
+  }
+
+  /**
+   * Tests that a hexagonal board has no square tiles and finds its own tiles through
+   * getHexagon2.
+   */
+  @Test
+  public void testSquareBoardOfHexagonalModel() {
+    this.init();
+    Assert.assertTrue(this.rm.getBoard().isEmpty());
+    Assert.assertSame(this.rm.getHex(4, 3), this.rm.getHexagon2(4, 3, this.rm.getBoard()));
+    Assert.assertEquals(EmptyHexagon.OFF_BOARD, this.rm.getHexagon2(0, 10, this.rm.getBoard()));
+  }
+}
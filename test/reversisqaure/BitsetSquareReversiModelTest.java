@@ -0,0 +1,135 @@
+package reversisqaure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import extracredit.model.BitsetSquareReversiModel;
+import extracredit.model.FilledSquare;
+import extracredit.model.NoDiscSquare;
+import extracredit.model.SquareReversiModel;
+import model.Disc;
+import model.EmptyHexagon;
+import model.MoveResult;
+import model.Player;
+import model.UndoRecord;
+
+/**
+ * A JUnit test class for the multi-word bitset version of square Reversi.
+ */
+public class BitsetSquareReversiModelTest {
+
+  BitsetSquareReversiModel rm;
+
+  private void init(int size) {
+    this.rm = new BitsetSquareReversiModel(size);
+    this.rm.startGame();
+  }
+
+  /**
+   * Tests the starting discs and scores.
+   */
+  @Test
+  public void testInitialBoard() {
+    init(10);
+    Assert.assertEquals(10, this.rm.getBoardSize());
+    Assert.assertEquals(100, this.rm.getBoard().size());
+    Assert.assertEquals(2, this.rm.getScore(Player.A));
+    Assert.assertEquals(2, this.rm.getScore(Player.B));
+    Assert.assertEquals(Disc.WHITE, ((FilledSquare) this.rm.getHex(4, 5)).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.rm.getHex(5, 5)).getDisc());
+    Assert.assertSame(EmptyHexagon.OFF_BOARD, this.rm.getHex(10, 0));
+  }
+
+  /**
+   * Tests that odd sizes are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new BitsetSquareReversiModel(7);
+  }
+
+  /**
+   * Tests that a move which does not flip any discs is not possible.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeMoveNotPossible() {
+    init(8);
+    this.rm.makeMove(Player.A, this.rm.getHex(0, 0));
+  }
+
+  /**
+   * Tests that a move cannot be made in a tile that already has a disc.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testMakeMoveOnFilledTile() {
+    init(8);
+    this.rm.makeMove(Player.A, new NoDiscSquare(3, 3));
+  }
+
+  /**
+   * Tests that a board with hundreds of tiles along each side, whose rows span several longs, can
+   * be played.
+   */
+  @Test
+  public void testLargeBoard() {
+    init(300);
+    Assert.assertTrue(this.rm.hasLegalMove(Player.A));
+    Assert.assertEquals(1, this.rm.getPotentialTiles(148, 150));
+    MoveResult result = this.rm.makeMove(Player.A, new NoDiscSquare(148, 150));
+    Assert.assertEquals(148 * 300 + 150, result.getCell());
+    Assert.assertEquals(149 * 300 + 150, result.getFlipped(0));
+    Assert.assertEquals(4, this.rm.getScore(Player.A));
+    Assert.assertEquals(1, this.rm.getScore(Player.B));
+    Assert.assertFalse(this.rm.gameOver());
+  }
+
+  /**
+   * Tests that the bitset board plays the same game as SquareReversiModel, move for move, and that
+   * every move can be undone.
+   */
+  @Test
+  public void testSameGameAsSquareReversiModel() {
+    init(10);
+    SquareReversiModel model = new SquareReversiModel(10);
+    model.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      Assert.assertFalse(this.rm.gameOver());
+      Assert.assertEquals(model.hasLegalMove(p), this.rm.hasLegalMove(p));
+      Assert.assertArrayEquals(model.getFlipCounts(p), this.rm.getFlipCounts(p));
+      Assert.assertEquals(model.legalMoves(p), this.rm.legalMoves(p));
+      NoDiscSquare move = null;
+      int best = 0;
+      for (NoDiscSquare hex : model.getBoard()) {
+        if (!(hex instanceof FilledSquare)) {
+          int flipped = hex.getValidMoves(p);
+          Assert.assertEquals(flipped,
+                  this.rm.getPotentialTiles(hex.getDiagonal(), hex.getRow()));
+          if (flipped > best) {
+            best = flipped;
+            move = hex;
+          }
+        }
+      }
+      if (move == null) {
+        model.nextPlayer(p);
+        this.rm.nextPlayer(p);
+      } else {
+        long key = this.rm.getZobristKey();
+        UndoRecord record = this.rm.doMove(p, this.rm.getHex(move.getDiagonal(), move.getRow()));
+        this.rm.undoMove(record);
+        Assert.assertEquals(key, this.rm.getZobristKey());
+        MoveResult expected = model.makeMove(p, move);
+        MoveResult actual = this.rm.makeMove(p, this.rm.getHex(move.getDiagonal(),
+                move.getRow()));
+        Assert.assertEquals(expected.getCell(), actual.getCell());
+        Assert.assertEquals(expected.getFlipCount(), actual.getFlipCount());
+        Assert.assertEquals(expected.nextMustPass(), actual.nextMustPass());
+      }
+      Assert.assertEquals(model.getScore(Player.A), this.rm.getScore(Player.A));
+      Assert.assertEquals(model.getScore(Player.B), this.rm.getScore(Player.B));
+      Assert.assertEquals(model.getZobristKey(), this.rm.getZobristKey());
+    }
+    Assert.assertTrue(this.rm.gameOver());
+  }
+}
@@ -1,14 +1,17 @@
 package reversisqaure;
 
+import java.util.BitSet;
 import java.util.List;
 
 import controller.ModelStatusObservers;
 import extracredit.model.NoDiscSquare;
 import extracredit.model.SquareReversiModel;
 import model.AbstractHexagon;
+import model.MoveResult;
 import model.NoDiscHexagon;
 import model.Player;
 import model.Reversi;
+import model.UndoRecord;
 import strategy.CaptureMaxTiles;
 
 /**
@@ -29,6 +32,31 @@ public class ReversiSquareModelMock implements Reversi {
     return this.model.gameOver();
   }
 
+  @Override
+  public boolean hasLegalMove(Player who) {
+    return this.model.hasLegalMove(who);
+  }
+
+  @Override
+  public int[] getFlipCounts(Player who) {
+    return this.model.getFlipCounts(who);
+  }
+
+  @Override
+  public BitSet legalMoves(Player who) {
+    return this.model.legalMoves(who);
+  }
+
+  @Override
+  public int legalMoveCount(Player who) {
+    return this.model.legalMoveCount(who);
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.model.getZobristKey();
+  }
+
   @Override
   public int getScore(Player who) {
     return this.model.getScore(who);
@@ -44,6 +72,26 @@ public class ReversiSquareModelMock implements Reversi {
     return this.model.getBoardSize();
   }
 
+  @Override
+  public int getCellCount() {
+    return this.model.getCellCount();
+  }
+
+  @Override
+  public int getPosition(int i, int j) {
+    return this.model.getPosition(i, j);
+  }
+
+  @Override
+  public int getDiagonal(int position) {
+    return this.model.getDiagonal(position);
+  }
+
+  @Override
+  public int getRow(int position) {
+    return this.model.getRow(position);
+  }
+
   @Override
   public List<NoDiscHexagon> getGrid() {
     return this.model.getGrid();
@@ -85,16 +133,16 @@ public class ReversiSquareModelMock implements Reversi {
   }
 
   @Override
-  public void makeMove(Player who, AbstractHexagon where) {
+  public MoveResult makeMove(Player who, AbstractHexagon where) {
     this.model.startGame();
-    this.model.makeMove(who, where);
+    MoveResult result = this.model.makeMove(who, where);
     CaptureMaxTiles c = new CaptureMaxTiles();
     this.model.nextPlayer(who);
     List<Integer> capturedTile = c.chooseTile(this.model, this.model.getPlayer());
     log.append(String.format("diagonal = %s, row = %d\n",
             capturedTile.get(0), capturedTile.get(1)));
     this.model.nextPlayer(who);
-
+    return result;
   }
 
   @Override
@@ -102,6 +150,31 @@ public class ReversiSquareModelMock implements Reversi {
     this.model.nextPlayer(player);
   }
 
+  @Override
+  public UndoRecord doMove(Player who, AbstractHexagon where) {
+    return this.model.doMove(who, where);
+  }
+
+  @Override
+  public MoveResult makeMove(Player who, int move) {
+    return this.model.makeMove(who, move);
+  }
+
+  @Override
+  public UndoRecord doMove(Player who, int move) {
+    return this.model.doMove(who, move);
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    this.model.undoMove(record);
+  }
+
+  @Override
+  public Reversi copy() {
+    return this.model.copy();
+  }
+
   @Override
   public void addObservers(ModelStatusObservers rc) {
     this.model.addObservers(rc);
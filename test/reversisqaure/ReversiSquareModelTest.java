@@ -3,17 +3,26 @@ package reversisqaure;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.awt.Color;
+import java.util.BitSet;
 import java.util.List;
 
+import extracredit.model.BitboardSquareReversiModel;
+import extracredit.model.BitsetSquareReversiModel;
 import extracredit.model.FilledSquare;
 import extracredit.model.NoDiscSquare;
 import extracredit.model.SquareReversiModel;
+import model.AbstractHexagon;
+import model.BitboardReversiModel;
+import model.Disc;
 import model.EmptyHexagon;
 import model.FilledHexagon;
+import model.Move;
+import model.MoveResult;
 import model.NoDiscHexagon;
 import model.Player;
+import model.ReversiModel;
 import model.Reversi;
+import model.UndoRecord;
 
 /**
  * A JUnit test class to determine whether a given
@@ -58,9 +67,13 @@ public class ReversiSquareModelTest {
   public void testInitialGridWithDifferentSizes() {
     SquareReversiModel smallGrid = new SquareReversiModel(10);
     Assert.assertEquals(100, smallGrid.getBoard().size());
+    Assert.assertEquals(100, smallGrid.getCellCount());
 
     SquareReversiModel largeGrid = new SquareReversiModel(100);
     Assert.assertEquals(10000, largeGrid.getBoard().size());
+    Assert.assertEquals(10000, largeGrid.getCellCount());
+    Assert.assertEquals(64, new BitboardSquareReversiModel().getCellCount());
+    Assert.assertEquals(100, new BitsetSquareReversiModel(10).getCellCount());
   }
 
 
@@ -91,7 +104,7 @@ public class ReversiSquareModelTest {
     // invalid to make a move in an empty hexagon
     this.rm.makeMove(Player.A, new EmptyHexagon(-1, -1));
     // invalid to make a move in a hexagon with a disc inside it already
-    this.rm.makeMove(Player.A, new FilledSquare(3, 3, Color.WHITE));
+    this.rm.makeMove(Player.A, new FilledSquare(3, 3, Disc.WHITE));
   }
 
 
@@ -117,8 +130,8 @@ public class ReversiSquareModelTest {
     this.rm.startGame();
     this.rm.makeMove(Player.A, this.rm.getHexagon2(2, 4, this.rm.getBoard()));
     Assert.assertTrue(this.rm.getHexagon2(2, 4, this.grid) instanceof FilledSquare);
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.rm.getHexagon2(3, 4,
-            this.rm.getBoard())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.rm.getHexagon2(3, 4,
+            this.rm.getBoard())).getDisc());
   }
 
 
@@ -146,12 +159,12 @@ public class ReversiSquareModelTest {
     this.rm.makeMove(Player.A, this.rm.getHexagon2(2, 4, this.rm.getBoard()));
     this.rm.makeMove(Player.B, this.rm.getHexagon2(2, 5, this.rm.getBoard()));
     Assert.assertTrue(this.rm.getHexagon2(2, 5, this.rm.getBoard()) instanceof FilledSquare);
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.rm.getHexagon2(2, 4,
-            this.rm.getBoard())).getColor());
-    Assert.assertEquals(Color.WHITE, ((FilledSquare) this.rm.getHexagon2(2, 5,
-            this.rm.getBoard())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.rm.getHexagon2(2, 4,
-            this.rm.getBoard())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.rm.getHexagon2(2, 4,
+            this.rm.getBoard())).getDisc());
+    Assert.assertEquals(Disc.WHITE, ((FilledSquare) this.rm.getHexagon2(2, 5,
+            this.rm.getBoard())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.rm.getHexagon2(2, 4,
+            this.rm.getBoard())).getDisc());
   }
 
 
@@ -164,12 +177,12 @@ public class ReversiSquareModelTest {
     this.rm.makeMove(Player.A, this.rm.getHexagon2(4, 3, this.rm.getBoard()));
     this.rm.makeMove(Player.B, this.rm.getHexagon2(4, 6, this.rm.getBoard()));
     this.rm.makeMove(Player.A, this.rm.getHexagon2(7, 6, this.rm.getBoard()));
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon2(6, 5,
-            this.rm.getBoard())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon2(5, 4,
-            this.rm.getBoard())).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledHexagon) this.rm.getHexagon2(4, 3,
-            this.rm.getBoard())).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon2(6, 5,
+            this.rm.getBoard())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon2(5, 4,
+            this.rm.getBoard())).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledHexagon) this.rm.getHexagon2(4, 3,
+            this.rm.getBoard())).getDisc());
   }
 
 
@@ -224,4 +237,325 @@ public class ReversiSquareModelTest {
     Assert.assertTrue(rm.gameOver());
   }
 
+  /**
+   * Tests that the scores stay equal to the number of discs on the board over a whole game. With
+   * assertions enabled getScore also checks its count against a scan of the board.
+   */
+  @Test
+  public void testScoreMatchesBoardOverGame() {
+    SquareReversiModel rm = new SquareReversiModel(6);
+    rm.startGame();
+    int passes = 0;
+    while (passes < 2) {
+      Player p = rm.getPlayer();
+      NoDiscSquare move = null;
+      for (NoDiscSquare hex : rm.getBoard()) {
+        if (!(hex instanceof FilledSquare) && hex.getValidMoves(p) > 0) {
+          move = hex;
+          break;
+        }
+      }
+      if (move == null) {
+        passes++;
+        rm.nextPlayer(p);
+      } else {
+        passes = 0;
+        rm.makeMove(p, move);
+      }
+      int black = 0;
+      int white = 0;
+      for (NoDiscSquare hex : rm.getBoard()) {
+        if (hex instanceof FilledSquare) {
+          if (((FilledSquare) hex).getDisc() == Disc.BLACK) {
+            black++;
+          } else {
+            white++;
+          }
+        }
+      }
+      Assert.assertEquals(black, rm.getScore(Player.A));
+      Assert.assertEquals(white, rm.getScore(Player.B));
+    }
+  }
+
+  /**
+   * Tests that the discs counted through the rays of the board match the lines of discs found by
+   * following the linked neighbors of every tile, including the tiles along the edges, over a
+   * whole game.
+   */
+  @Test
+  public void testRaysMatchLinkedNeighborsOverGame() {
+    SquareReversiModel rm = new SquareReversiModel(6);
+    rm.startGame();
+    int passes = 0;
+    while (passes < 2) {
+      Player p = rm.getPlayer();
+      NoDiscSquare move = null;
+      for (NoDiscSquare hex : rm.getBoard()) {
+        int linked = 0;
+        for (List<FilledSquare> line
+                : hex.checkAll(hex.getFilledHexagons(p.getDisc()), hex, p.getDisc())) {
+          linked += line.size();
+        }
+        Assert.assertEquals(linked, hex.getValidMoves(p));
+        if (move == null && !(hex instanceof FilledSquare) && linked > 0) {
+          move = hex;
+        }
+      }
+      if (move == null) {
+        passes++;
+        rm.nextPlayer(p);
+      } else {
+        passes = 0;
+        rm.makeMove(p, move);
+      }
+    }
+  }
+
+  /**
+   * Tests that the neighbor masks of every tile match its linked neighbors over a whole game.
+   */
+  @Test
+  public void testNeighborMasksMatchLinkedNeighborsOverGame() {
+    SquareReversiModel rm = new SquareReversiModel(6);
+    rm.startGame();
+    while (!rm.gameOver()) {
+      Player p = rm.getPlayer();
+      for (NoDiscSquare hex : rm.getBoard()) {
+        AbstractHexagon[] neighbors = {hex.getRight(), hex.getLeft(), hex.getTopRight(),
+            hex.getTopLeft(), hex.getBottomRight(), hex.getBottomLeft(), hex.getTop(),
+            hex.getBottom()};
+        int discs = 0;
+        int opponents = 0;
+        for (int d = 0; d < neighbors.length; d++) {
+          if (neighbors[d] instanceof FilledSquare) {
+            discs |= 1 << d;
+            if (((FilledSquare) neighbors[d]).getDisc() != p.getDisc()) {
+              opponents |= 1 << d;
+            }
+          }
+        }
+        Assert.assertEquals(discs, hex.getDiscNeighbors());
+        Assert.assertEquals(opponents, hex.getOpponentNeighbors(p.getDisc()));
+      }
+      int move = rm.legalMoves(p).nextSetBit(0);
+      if (move < 0) {
+        rm.nextPlayer(p);
+      } else {
+        rm.makeMove(p, move);
+      }
+    }
+  }
+
+  /**
+   * Tests that the flip counts of the whole board match the flips of each empty tile over a whole
+   * game.
+   */
+  @Test
+  public void testFlipCountsMatchTilesOverGame() {
+    SquareReversiModel rm = new SquareReversiModel(8);
+    rm.startGame();
+    while (!rm.gameOver()) {
+      Player p = rm.getPlayer();
+      int[] counts = rm.getFlipCounts(p);
+      BitSet legal = rm.legalMoves(p);
+      Assert.assertEquals(rm.hasLegalMove(p), !legal.isEmpty());
+      int move = 0;
+      for (int k = 0; k < counts.length; k++) {
+        Assert.assertEquals(counts[k] > 0, legal.get(k));
+        NoDiscSquare hex = rm.getBoard().get(k);
+        Assert.assertEquals(hex instanceof FilledSquare ? 0 : hex.getValidMoves(p), counts[k]);
+        move = counts[k] > counts[move] ? k : move;
+      }
+      if (counts[move] == 0) {
+        rm.nextPlayer(p);
+      } else {
+        rm.makeMove(p, rm.getBoard().get(move));
+      }
+    }
+  }
+
+  // describes the discs on the board, the scores, the turn and the legal moves of the given model
+  private String state(SquareReversiModel model) {
+    StringBuilder sb = new StringBuilder();
+    for (NoDiscSquare hex : model.getBoard()) {
+      sb.append(hex instanceof FilledSquare
+              ? (((FilledSquare) hex).getDisc() == Disc.BLACK ? 'X' : 'O') : '_');
+    }
+    return sb.append(model.getScore(Player.A)).append(' ').append(model.getScore(Player.B))
+            .append(model.getPlayer()).append(model.getZobristKey())
+            .append(model.hasLegalMove(Player.A))
+            .append(model.hasLegalMove(Player.B)).toString();
+  }
+
+  /**
+   * Tests that undoing every possible move puts the board back exactly as it was, over a whole
+   * game.
+   */
+  @Test
+  public void testUndoMoveRestoresBoard() {
+    SquareReversiModel model = new SquareReversiModel(6);
+    model.startGame();
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      String before = this.state(model);
+      NoDiscSquare move = null;
+      for (NoDiscSquare hex : model.getBoard()) {
+        if (!(hex instanceof FilledSquare) && hex.getValidMoves(p) > 0) {
+          UndoRecord record = model.doMove(p, hex);
+          Assert.assertNotEquals(before, this.state(model));
+          model.undoMove(record);
+          Assert.assertEquals(before, this.state(model));
+          move = hex;
+        }
+      }
+      model.doMove(p, move == null ? null : model.getHexagon2(move.getDiagonal(), move.getRow(),
+              model.getBoard()));
+    }
+  }
+
+  /**
+   * Tests that every square model plays the same game with packed moves as SquareReversiModel
+   * plays with tiles, and that packed moves can be undone.
+   */
+  @Test
+  public void testPackedMovesMatchTileMoves() {
+    SquareReversiModel model = new SquareReversiModel(8);
+    Reversi[] packed = {new SquareReversiModel(8), new BitboardSquareReversiModel(),
+        new BitsetSquareReversiModel(8)};
+    model.startGame();
+    for (Reversi other : packed) {
+      other.startGame();
+    }
+    while (!model.gameOver()) {
+      Player p = model.getPlayer();
+      int move = model.legalMoves(p).nextSetBit(0);
+      for (Reversi other : packed) {
+        long key = other.getZobristKey();
+        other.undoMove(other.doMove(p, move < 0 ? Move.PASS : move));
+        Assert.assertEquals(key, other.getZobristKey());
+        if (move < 0) {
+          other.nextPlayer(p);
+        } else {
+          Assert.assertEquals(move, other.makeMove(p, move).getCell());
+        }
+      }
+      if (move < 0) {
+        model.nextPlayer(p);
+      } else {
+        model.makeMove(p, model.getBoard().get(move));
+      }
+      for (Reversi other : packed) {
+        Assert.assertEquals(model.getZobristKey(), other.getZobristKey());
+        Assert.assertEquals(model.getScore(Player.A), other.getScore(Player.A));
+      }
+    }
+  }
+
+  /**
+   * Tests that a copy of every square model has the same position as the model at every turn of a
+   * game, and that moves made on the copy leave the model alone.
+   */
+  @Test
+  public void testCopyMatchesModelOverGame() {
+    Reversi[] models = {new SquareReversiModel(8), new BitboardSquareReversiModel(),
+        new BitsetSquareReversiModel(8)};
+    for (Reversi model : models) {
+      model.startGame();
+      while (!model.gameOver()) {
+        Player p = model.getPlayer();
+        Reversi copy = model.copy();
+        Assert.assertEquals(model.getClass(), copy.getClass());
+        Assert.assertEquals(model.getZobristKey(), copy.getZobristKey());
+        Assert.assertEquals(p, copy.getPlayer());
+        Assert.assertEquals(model.getScore(Player.A), copy.getScore(Player.A));
+        Assert.assertEquals(model.getScore(Player.B), copy.getScore(Player.B));
+        Assert.assertEquals(model.legalMoves(p), copy.legalMoves(p));
+        Assert.assertEquals(model.legalMoves(p).cardinality(), model.legalMoveCount(p));
+        Assert.assertEquals(model.legalMoveCount(p), copy.legalMoveCount(p));
+        int move = model.legalMoves(p).nextSetBit(0);
+        long key = model.getZobristKey();
+        copy.doMove(p, move < 0 ? Move.PASS : move);
+        Assert.assertEquals(key, model.getZobristKey());
+        Assert.assertEquals(p, model.getPlayer());
+        model.doMove(p, move < 0 ? Move.PASS : move);
+        Assert.assertEquals(model.getZobristKey(), copy.getZobristKey());
+      }
+    }
+  }
+
+  /**
+   * Tests that every model maps the position of each tile to its coordinates and back, and that
+   * packed moves are built and read through that mapping.
+   */
+  @Test
+  public void testPositionsMatchTileCoordinates() {
+    Reversi[] models = {new SquareReversiModel(8), new BitboardSquareReversiModel(),
+        new BitsetSquareReversiModel(10), new ReversiModel(5), new BitboardReversiModel(4)};
+    for (Reversi model : models) {
+      List<AbstractHexagon> tiles = model.getBoardGame();
+      Assert.assertEquals(tiles.size(), model.getCellCount());
+      for (int position = 0; position < tiles.size(); position++) {
+        AbstractHexagon tile = tiles.get(position);
+        Assert.assertEquals(tile.getDiagonal(), model.getDiagonal(position));
+        Assert.assertEquals(tile.getRow(), model.getRow(position));
+        Assert.assertEquals(position, model.getPosition(tile.getDiagonal(), tile.getRow()));
+        Assert.assertEquals(position, Move.of(model, tile.getDiagonal(), tile.getRow()));
+        Assert.assertEquals(List.of(tile.getDiagonal(), tile.getRow()),
+                Move.toCoordinates(model, position));
+      }
+      Assert.assertEquals(-1, model.getPosition(-1, 0));
+      Assert.assertEquals(-1, model.getPosition(0, 100));
+      try {
+        model.getDiagonal(tiles.size());
+        Assert.fail();
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  /**
+   * Tests that makeMove reports the placed tile, the flipped tiles and the new scores.
+   */
+  @Test
+  public void testMakeMoveResult() {
+    SquareReversiModel model = new SquareReversiModel(4);
+    model.startGame();
+    MoveResult result = model.makeMove(Player.A, model.getHex(0, 2));
+    Assert.assertEquals(model.getBoard().indexOf(model.getHex(0, 2)), result.getCell());
+    Assert.assertEquals(1, result.getFlipCount());
+    Assert.assertEquals(model.getBoard().indexOf(model.getHex(1, 2)), result.getFlipped(0));
+    Assert.assertEquals(4, result.getScore(Player.A));
+    Assert.assertEquals(1, result.getScore(Player.B));
+    Assert.assertFalse(result.nextMustPass());
+  }
+
+  /**
+   * Tests that the board is a live view of the position: its tiles change as moves are made and
+   * undone, replacing a tile through the board changes the legal moves, and the hexagonal grid of
+   * a square board is empty.
+   */
+  @Test
+  public void testBoardIsLiveView() {
+    SquareReversiModel model = new SquareReversiModel(6);
+    model.startGame();
+    List<NoDiscSquare> board = model.getBoard();
+    Assert.assertTrue(model.getGrid().isEmpty());
+    int position = model.legalMoves(Player.A).nextSetBit(0);
+    NoDiscSquare empty = board.get(position);
+    UndoRecord record = model.doMove(Player.A, position);
+    Assert.assertTrue(board.get(position) instanceof FilledSquare);
+    Assert.assertSame(board.get(position), model.getHex(empty.getDiagonal(), empty.getRow()));
+    model.undoMove(record);
+    Assert.assertSame(empty, board.get(position));
+    board.set(position, new FilledSquare(empty.getDiagonal(), empty.getRow(), Disc.WHITE));
+    Assert.assertEquals(Disc.WHITE, ((FilledSquare) board.get(position)).getDisc());
+    Assert.assertFalse(model.legalMoves(Player.A).get(position));
+    Assert.assertEquals(3, model.getScore(Player.B));
+    for (int k = 0; k < board.size(); k++) {
+      Assert.assertEquals(model.getFlipCounts(Player.A)[k] > 0
+              && !(board.get(k) instanceof FilledSquare), model.legalMoves(Player.A).get(k));
+    }
+  }
 }
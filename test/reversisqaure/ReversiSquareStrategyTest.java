@@ -3,10 +3,9 @@ package reversisqaure;
 import org.junit.Assert;
 import org.junit.Test;
 
-import java.awt.Color;
-
 import extracredit.model.FilledSquare;
 import extracredit.model.SquareReversiModel;
+import model.Disc;
 import model.Player;
 import model.Reversi;
 import strategy.CaptureMaxTiles;
@@ -42,8 +41,8 @@ public class ReversiSquareStrategyTest {
   public void testStrategiesDefaultGrid() {
     this.init();
     this.mock.makeMove(Player.A, model.getHex(2, 4));
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.model.getHex(2, 4)).getColor());
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.model.getHex(3, 4)).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.model.getHex(2, 4)).getDisc());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.model.getHex(3, 4)).getDisc());
     Assert.assertEquals("diagonal = 2, row = 3\n", log.toString());
   }
 
@@ -57,7 +56,7 @@ public class ReversiSquareStrategyTest {
     this.mock.makeMove(Player.A, model.getHex(2, 4));
     this.mock.makeMove(Player.B, model.getHex(2, 5));
     Assert.assertEquals("diagonal = 2, row = 3\n" +
-                                 "diagonal = 2, row = 4\n", log.toString());
+                                 "diagonal = 2, row = 6\n", log.toString());
   }
 
   /**
@@ -68,7 +67,7 @@ public class ReversiSquareStrategyTest {
   public void testStrategiesMoveToBottom() {
     this.init();
     this.mock.makeMove(Player.A, model.getHex(4, 2));
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.model.getHex(4, 2)).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.model.getHex(4, 2)).getDisc());
     Assert.assertEquals("diagonal = 3, row = 2\n", log.toString());
   }
 
@@ -80,7 +79,7 @@ public class ReversiSquareStrategyTest {
   public void testStrategiesInvalidMove() {
     this.init();
     this.mock.makeMove(Player.A, model.getHex(5, 4));
-    Assert.assertEquals(Color.BLACK, ((FilledSquare) this.model.getHex(4, 2)).getColor());
+    Assert.assertEquals(Disc.BLACK, ((FilledSquare) this.model.getHex(4, 2)).getDisc());
     Assert.assertEquals("diagonal = 3, row = 2\n", log.toString());
   }
 }